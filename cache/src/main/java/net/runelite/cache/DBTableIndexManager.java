@@ -24,18 +24,17 @@
  */
 package net.runelite.cache;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import net.runelite.cache.definitions.DBTableIndex;
 import net.runelite.cache.definitions.loaders.DBTableIndexLoader;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.ArchiveFiles;
 import net.runelite.cache.fs.FSFile;
 import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class DBTableIndexManager
@@ -49,28 +48,29 @@ public class DBTableIndexManager
 	}
 
 	public void load() throws IOException
+	{
+		load(MoreExecutors.directExecutor());
+	}
+
+	public void load(Executor executor) throws IOException
 	{
 		DBTableIndexLoader loader = new DBTableIndexLoader();
 
-		Storage storage = store.getStorage();
 		Index index = store.getIndex(IndexType.DBTABLEINDEX);
 		if (index == null)
 		{
 			return;
 		}
 
-		for (Archive archive : index.getArchives())
+		store.loadAll(index, executor, (archive, files) ->
 		{
-			byte[] archiveData = storage.loadArchive(archive);
-			ArchiveFiles files = archive.getFiles(archiveData);
-
 			for (FSFile f : files.getFiles())
 			{
 				// file 0 = master index, all others are fileId - 1 = columnId
 				DBTableIndex row = loader.load(archive.getArchiveId(), f.getFileId() - 1, f.getContents());
 				indexes.put(archive.getArchiveId() << 16 | f.getFileId(), row);
 			}
-		}
+		});
 	}
 
 	public Collection<DBTableIndex> getIndexes()
@@ -30,11 +30,17 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
@@ -125,6 +131,14 @@ public class MapImageDumper
 	@Setter
 	private boolean lowMemory = true;
 
+	/**
+	 * Whether {@link #load()} loads every region up front. This is required by {@link #drawMap(int)},
+	 * but not by {@link #drawMapTiles(int, int, File, Executor)}, which loads regions as it needs them.
+	 */
+	@Getter
+	@Setter
+	private boolean preloadRegions = true;
+
 	public MapImageDumper(Store store, KeyProvider keyProvider)
 	{
 		this(store, new RegionLoader(store, keyProvider));
@@ -145,6 +159,7 @@ public class MapImageDumper
 		options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
 		options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+		options.addOption(Option.builder().longOpt("tilesize").hasArg().build());
 
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
@@ -162,6 +177,7 @@ public class MapImageDumper
 		final String cacheDirectory = cmd.getOptionValue("cachedir");
 		final String xteaJSONPath = cmd.getOptionValue("xteapath");
 		final String outputDirectory = cmd.getOptionValue("outputdir");
+		final String tileSize = cmd.getOptionValue("tilesize");
 
 		XteaKeyManager xteaKeyManager = new XteaKeyManager();
 		try (FileInputStream fin = new FileInputStream(xteaJSONPath))
@@ -178,6 +194,19 @@ public class MapImageDumper
 			store.load();
 
 			MapImageDumper dumper = new MapImageDumper(store, xteaKeyManager);
+
+			if (tileSize != null)
+			{
+				dumper.setPreloadRegions(false);
+				dumper.load();
+
+				for (int i = 0; i < Region.Z; ++i)
+				{
+					dumper.drawMapTiles(i, Integer.parseInt(tileSize), outDir);
+				}
+				return;
+			}
+
 			dumper.load();
 
 			for (int i = 0; i < Region.Z; ++i)
@@ -214,7 +243,10 @@ public class MapImageDumper
 		textureManager.load();
 		rsTextureProvider = new RSTextureProvider(textureManager, sprites);
 
-		loadRegions();
+		if (preloadRegions)
+		{
+			loadRegions();
+		}
 		areas.load();
 		sprites.load();
 		loadSprites();
@@ -291,6 +323,156 @@ public class MapImageDumper
 		return image;
 	}
 
+	public void drawMapTiles(int z, int tileRegions, File outDir) throws IOException
+	{
+		drawMapTiles(z, tileRegions, outDir, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Draw a plane as square tiles of tileRegions x tileRegions regions, writing each tile
+	 * to outDir as img-z-x-y.png once it is finished. Tiles are drawn in parallel on the
+	 * executor, and only the regions of the tiles being drawn, plus a one region border for
+	 * ground blending and overlapping objects, are kept loaded.
+	 */
+	public void drawMapTiles(int z, int tileRegions, File outDir, Executor executor) throws IOException
+	{
+		if (tileRegions <= 0)
+		{
+			throw new IllegalArgumentException("tileRegions must be positive");
+		}
+
+		Map<Integer, List<Integer>> tiles = new TreeMap<>();
+		for (int id : regionLoader.findRegionIds())
+		{
+			int tileX = (id >> 8) / tileRegions;
+			int tileY = (id & 0xFF) / tileRegions;
+			tiles.computeIfAbsent(tileX << 16 | tileY, k -> new ArrayList<>()).add(id);
+		}
+
+		log.info("Drawing {} tiles of {}px x {}px for plane {}", tiles.size(),
+			tileRegions * Region.X * MAP_SCALE, tileRegions * Region.Y * MAP_SCALE, z);
+
+		ResidentRegions resident = new ResidentRegions();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(tiles.size());
+		for (int tile : tiles.keySet())
+		{
+			futures.add(CompletableFuture.runAsync(() ->
+			{
+				try
+				{
+					drawMapTile(resident, z, tileRegions, tile >>> 16, tile & 0xFFFF, outDir);
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}, executor));
+		}
+
+		try
+		{
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			throw ex;
+		}
+	}
+
+	private void drawMapTile(ResidentRegions resident, int z, int tileRegions, int tileX, int tileY, File outDir) throws IOException
+	{
+		int minRegionX = tileX * tileRegions;
+		int minRegionY = tileY * tileRegions;
+		int maxRegionX = minRegionX + tileRegions - 1;
+		int maxRegionY = minRegionY + tileRegions - 1;
+
+		List<Integer> acquired = new ArrayList<>();
+		try
+		{
+			List<Region> regions = new ArrayList<>();
+			List<Region> border = new ArrayList<>();
+			for (int rx = Math.max(0, minRegionX - 1); rx <= Math.min(255, maxRegionX + 1); ++rx)
+			{
+				for (int ry = Math.max(0, minRegionY - 1); ry <= Math.min(255, maxRegionY + 1); ++ry)
+				{
+					int id = rx << 8 | ry;
+					acquired.add(id);
+
+					Region region = resident.acquire(id);
+					if (region == null)
+					{
+						continue;
+					}
+
+					if (rx >= minRegionX && rx <= maxRegionX && ry >= minRegionY && ry <= maxRegionY)
+					{
+						regions.add(region);
+					}
+					else
+					{
+						border.add(region);
+					}
+				}
+			}
+
+			if (regions.isEmpty())
+			{
+				return;
+			}
+
+			int pixelsX = tileRegions * Region.X * MAP_SCALE;
+			int pixelsY = tileRegions * Region.Y * MAP_SCALE;
+
+			BufferedImage image = new BufferedImage(pixelsX, pixelsY, transparency ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+			// to pixel X, relative to the west most region of the tile. the top most
+			// y is 0, but the top most region has the greatest y, so invert
+			for (Region region : regions)
+			{
+				drawMap(image, region.getBaseX() - minRegionX * Region.X, maxRegionY * Region.Y - region.getBaseY(), z, region);
+			}
+
+			// objects and icons in the border may overlap the edge of the tile
+			for (Region region : border)
+			{
+				drawObjects(image, region.getBaseX() - minRegionX * Region.X, maxRegionY * Region.Y - region.getBaseY(), region, z);
+			}
+			for (Region region : regions)
+			{
+				drawObjects(image, region.getBaseX() - minRegionX * Region.X, maxRegionY * Region.Y - region.getBaseY(), region, z);
+			}
+
+			for (Region region : border)
+			{
+				drawMapIcons(image, region, z, region.getBaseX() - minRegionX * Region.X, maxRegionY * Region.Y - region.getBaseY());
+			}
+			for (Region region : regions)
+			{
+				drawMapIcons(image, region.getBaseX() - minRegionX * Region.X, maxRegionY * Region.Y - region.getBaseY(), region, z);
+			}
+
+			File imageFile = new File(outDir, "img-" + z + "-" + tileX + "-" + tileY + ".png");
+			ImageIO.write(image, "png", imageFile);
+			log.debug("Wrote tile {}", imageFile);
+		}
+		finally
+		{
+			for (int id : acquired)
+			{
+				resident.release(id);
+			}
+		}
+	}
+
 	private void drawMap(BufferedImage image, int drawBaseX, int drawBaseY, int z, Region region)
 	{
 		if (!renderMap)
@@ -1065,6 +1247,69 @@ public class MapImageDumper
 		}
 	}
 
+	/**
+	 * Reference counted regions used by the tiles being drawn. A region is loaded by the first
+	 * tile which needs it, and unloaded once the last tile using it is done, unless it was
+	 * already loaded before drawing started.
+	 */
+	private class ResidentRegions
+	{
+		private final Map<Integer, ResidentRegion> regions = new HashMap<>();
+
+		Region acquire(int id)
+		{
+			ResidentRegion resident;
+			synchronized (this)
+			{
+				resident = regions.computeIfAbsent(id, k -> new ResidentRegion());
+				++resident.refs;
+			}
+
+			synchronized (resident)
+			{
+				if (!resident.loaded)
+				{
+					resident.region = regionLoader.findRegionForRegionCoordinates(id >> 8, id & 0xFF);
+					if (resident.region == null)
+					{
+						try
+						{
+							resident.region = regionLoader.loadRegionFromArchive(id);
+							resident.owned = true;
+						}
+						catch (IOException ex)
+						{
+							log.debug("Can't decrypt region " + id, ex);
+						}
+					}
+					resident.loaded = true;
+				}
+				return resident.region;
+			}
+		}
+
+		synchronized void release(int id)
+		{
+			ResidentRegion resident = regions.get(id);
+			if (--resident.refs == 0)
+			{
+				regions.remove(id);
+				if (resident.owned)
+				{
+					regionLoader.unloadRegion(id);
+				}
+			}
+		}
+	}
+
+	private static class ResidentRegion
+	{
+		private int refs;
+		private boolean loaded;
+		private boolean owned;
+		private Region region;
+	}
+
 	private void loadRegions() throws IOException
 	{
 		regionLoader.loadRegions();
@@ -26,18 +26,17 @@ package net.runelite.cache;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.Executor;
 import net.runelite.cache.definitions.SpriteDefinition;
 import net.runelite.cache.definitions.exporters.SpriteExporter;
 import net.runelite.cache.definitions.loaders.SpriteLoader;
 import net.runelite.cache.definitions.providers.SpriteProvider;
-import net.runelite.cache.fs.Archive;
-import net.runelite.cache.fs.Index;
-import net.runelite.cache.fs.Storage;
 import net.runelite.cache.fs.Store;
 
 public class SpriteManager implements SpriteProvider
@@ -52,21 +51,24 @@ public class SpriteManager implements SpriteProvider
 
 	public void load() throws IOException
 	{
-		Storage storage = store.getStorage();
-		Index index = store.getIndex(IndexType.SPRITES);
+		load(MoreExecutors.directExecutor());
+	}
 
-		for (Archive a : index.getArchives())
-		{
-			byte[] contents = a.decompress(storage.loadArchive(a));
+	public void load(Executor executor) throws IOException
+	{
+		SpriteLoader loader = new SpriteLoader();
 
-			SpriteLoader loader = new SpriteLoader();
-			SpriteDefinition[] defs = loader.load(a.getArchiveId(), contents);
+		store.loadAll(IndexType.SPRITES, executor, (archive, files) ->
+		{
+			// sprite archives contain a single file
+			byte[] contents = files.getFiles().get(0).getContents();
+			SpriteDefinition[] defs = loader.load(archive.getArchiveId(), contents);
 
 			for (SpriteDefinition sprite : defs)
 			{
 				sprites.put(sprite.getId(), sprite);
 			}
-		}
+		});
 	}
 
 	public Collection<SpriteDefinition> getSprites()
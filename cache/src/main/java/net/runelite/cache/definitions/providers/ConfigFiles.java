@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+
+/**
+ * The files of the config archives of a store, each decoded once on first use and
+ * shared between the lazy config providers.
+ */
+public class ConfigFiles
+{
+	private final Store store;
+	private final Map<ConfigType, ArchiveFiles> files = new EnumMap<>(ConfigType.class);
+
+	public ConfigFiles(Store store)
+	{
+		this.store = store;
+	}
+
+	public synchronized ArchiveFiles getFiles(ConfigType type) throws IOException
+	{
+		ArchiveFiles archiveFiles = files.get(type);
+		if (archiveFiles == null)
+		{
+			Index index = store.getIndex(IndexType.CONFIGS);
+			Archive archive = index.getArchive(type.getId());
+
+			archiveFiles = archive == null
+				? new ArchiveFiles()
+				: archive.getFiles(store.getStorage().loadArchive(archive));
+			files.put(type, archiveFiles);
+		}
+		return archiveFiles;
+	}
+
+	public synchronized void clear()
+	{
+		files.clear();
+	}
+}
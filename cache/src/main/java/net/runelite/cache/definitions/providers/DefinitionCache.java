@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size bounded cache of decoded definitions, evicting the least recently used
+ * definition once full.
+ *
+ * @param <T> the definition type
+ */
+public class DefinitionCache<T>
+{
+	@FunctionalInterface
+	public interface Loader<T>
+	{
+		/**
+		 * Load a definition
+		 *
+		 * @param id the definition id
+		 * @return the definition, or null if it does not exist
+		 * @throws IOException
+		 */
+		T load(int id) throws IOException;
+	}
+
+	private final int maximumSize;
+	private final Map<Integer, T> definitions;
+	private long hits;
+	private long misses;
+
+	public DefinitionCache(int maximumSize)
+	{
+		if (maximumSize <= 0)
+		{
+			throw new IllegalArgumentException("maximumSize must be positive");
+		}
+
+		this.maximumSize = maximumSize;
+		this.definitions = new LinkedHashMap<Integer, T>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest)
+			{
+				return size() > DefinitionCache.this.maximumSize;
+			}
+		};
+	}
+
+	/**
+	 * Get a definition, loading it if it is not cached. Definitions which do not
+	 * exist are not cached.
+	 */
+	public T get(int id, Loader<T> loader) throws IOException
+	{
+		synchronized (this)
+		{
+			T definition = definitions.get(id);
+			if (definition != null)
+			{
+				++hits;
+				return definition;
+			}
+			++misses;
+		}
+
+		// load outside of the lock so other definitions can be served in the meantime
+		T definition = loader.load(id);
+		if (definition == null)
+		{
+			return null;
+		}
+
+		synchronized (this)
+		{
+			T existing = definitions.putIfAbsent(id, definition);
+			return existing != null ? existing : definition;
+		}
+	}
+
+	public synchronized void clear()
+	{
+		definitions.clear();
+	}
+
+	public synchronized int size()
+	{
+		return definitions.size();
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		return "DefinitionCache{" + "size=" + definitions.size() + ", maximumSize=" + maximumSize + ", hits=" + hits + ", misses=" + misses + '}';
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.fs.FSFile;
+
+/**
+ * Base for providers which decode config definitions on first request instead of
+ * loading the whole config archive up front.
+ *
+ * @param <T> the definition type
+ */
+public abstract class LazyConfigProvider<T>
+{
+	public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+	private final ConfigFiles configFiles;
+	private final ConfigType type;
+	private final DefinitionCache<T> cache;
+
+	protected LazyConfigProvider(ConfigFiles configFiles, ConfigType type, int maximumSize)
+	{
+		this.configFiles = configFiles;
+		this.type = type;
+		this.cache = new DefinitionCache<>(maximumSize);
+	}
+
+	protected abstract T load(int id, byte[] data);
+
+	protected T get(int id)
+	{
+		try
+		{
+			return cache.get(id, this::load);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private T load(int id) throws IOException
+	{
+		FSFile file = configFiles.getFiles(type).findFile(id);
+		if (file == null)
+		{
+			return null;
+		}
+
+		return load(id, file.getContents());
+	}
+
+	public DefinitionCache<T> getCache()
+	{
+		return cache;
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.definitions.ItemDefinition;
+import net.runelite.cache.definitions.loaders.ItemLoader;
+
+/**
+ * An item provider which decodes items on first request. Items are linked to their note,
+ * bought and placeholder templates as they are decoded, as by {@link net.runelite.cache.ItemManager#link()}.
+ */
+public class LazyItemProvider extends LazyConfigProvider<ItemDefinition> implements ItemProvider
+{
+	private final ItemLoader loader = new ItemLoader();
+
+	public LazyItemProvider(ConfigFiles configFiles)
+	{
+		this(configFiles, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public LazyItemProvider(ConfigFiles configFiles, int maximumSize)
+	{
+		super(configFiles, ConfigType.ITEM, maximumSize);
+	}
+
+	@Override
+	protected ItemDefinition load(int id, byte[] data)
+	{
+		ItemDefinition item = loader.load(id, data);
+		link(item);
+		return item;
+	}
+
+	private void link(ItemDefinition item)
+	{
+		if (item.notedTemplate != -1)
+		{
+			item.linkNote(get(item.notedTemplate), get(item.notedID));
+		}
+		if (item.boughtTemplateId != -1)
+		{
+			item.linkBought(get(item.boughtTemplateId), get(item.boughtId));
+		}
+		if (item.placeholderTemplateId != -1)
+		{
+			item.linkPlaceholder(get(item.placeholderTemplateId), get(item.placeholderId));
+		}
+	}
+
+	@Override
+	public ItemDefinition provide(int itemId)
+	{
+		return get(itemId);
+	}
+}
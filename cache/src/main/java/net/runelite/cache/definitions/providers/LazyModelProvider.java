@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.IOException;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.loaders.ModelLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+
+/**
+ * A model provider which reads models from the store on first request. Callers modify
+ * the models they are given, for example by recoloring them, so the decompressed model
+ * data is cached and a new definition is decoded from it for every request.
+ */
+public class LazyModelProvider implements ModelProvider
+{
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	private final Store store;
+	private final ModelLoader loader = new ModelLoader();
+	private final DefinitionCache<byte[]> cache;
+
+	public LazyModelProvider(Store store)
+	{
+		this(store, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public LazyModelProvider(Store store, int maximumSize)
+	{
+		this.store = store;
+		this.cache = new DefinitionCache<>(maximumSize);
+	}
+
+	@Override
+	public ModelDefinition provide(int modelId) throws IOException
+	{
+		byte[] data = cache.get(modelId, this::load);
+		if (data == null)
+		{
+			return null;
+		}
+
+		return loader.load(modelId, data);
+	}
+
+	private byte[] load(int modelId) throws IOException
+	{
+		Index index = store.getIndex(IndexType.MODELS);
+		Archive archive = index.getArchive(modelId);
+		if (archive == null)
+		{
+			return null;
+		}
+
+		return archive.decompress(store.getStorage().loadArchive(archive));
+	}
+
+	public DefinitionCache<byte[]> getCache()
+	{
+		return cache;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.definitions.SpriteDefinition;
+import net.runelite.cache.definitions.loaders.SpriteLoader;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+
+/**
+ * A sprite provider which decodes a sprite archive, with all of its frames, on first request.
+ */
+public class LazySpriteProvider implements SpriteProvider
+{
+	public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+	private final Store store;
+	private final SpriteLoader loader = new SpriteLoader();
+	private final DefinitionCache<SpriteDefinition[]> cache;
+
+	public LazySpriteProvider(Store store)
+	{
+		this(store, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public LazySpriteProvider(Store store, int maximumSize)
+	{
+		this.store = store;
+		this.cache = new DefinitionCache<>(maximumSize);
+	}
+
+	@Override
+	public SpriteDefinition provide(int spriteId, int frameId)
+	{
+		SpriteDefinition[] sprites;
+		try
+		{
+			sprites = cache.get(spriteId, this::load);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+
+		if (sprites == null)
+		{
+			return null;
+		}
+
+		for (SpriteDefinition sprite : sprites)
+		{
+			if (sprite.getFrame() == frameId)
+			{
+				return sprite;
+			}
+		}
+		return null;
+	}
+
+	private SpriteDefinition[] load(int spriteId) throws IOException
+	{
+		Index index = store.getIndex(IndexType.SPRITES);
+		Archive archive = index.getArchive(spriteId);
+		if (archive == null)
+		{
+			return null;
+		}
+
+		// sprite archives contain a single file
+		ArchiveFiles files = archive.getFiles(store.getStorage().loadArchive(archive));
+		return loader.load(archive.getArchiveId(), files.getFiles().get(0).getContents());
+	}
+
+	public DefinitionCache<SpriteDefinition[]> getCache()
+	{
+		return cache;
+	}
+}
@@ -27,8 +27,8 @@ package net.runelite.cache.fs;
 import static com.google.common.primitives.Bytes.concat;
 import com.google.common.primitives.Ints;
 import java.io.IOException;
+import java.util.Arrays;
 import net.runelite.cache.fs.jagex.CompressionType;
-import net.runelite.cache.io.InputStream;
 import net.runelite.cache.io.OutputStream;
 import net.runelite.cache.util.BZip2;
 import net.runelite.cache.util.Crc32;
@@ -41,6 +41,13 @@ public class Container
 {
 	private static final Logger logger = LoggerFactory.getLogger(Container.class);
 
+	/**
+	 * largest decryption buffer kept around per thread
+	 */
+	private static final int MAX_SCRATCH_SIZE = 1 << 20;
+
+	private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[4096]);
+
 	public byte[] data;
 	public int compression; // compression
 	public int revision;
@@ -92,98 +99,75 @@ public class Container
 
 	public static Container decompress(byte[] b, int[] keys) throws IOException
 	{
-		InputStream stream = new InputStream(b);
-
-		int compression = stream.readUnsignedByte();
-		int compressedLength = stream.readInt();
-		if (compressedLength < 0 || compressedLength > 1000000)
+		if (b.length < 5)
 		{
 			throw new RuntimeException("Invalid data");
 		}
 
-		Crc32 crc32 = new Crc32();
-		crc32.update(b, 0, 5); // compression + length
+		int compression = b[0] & 0xFF;
+		int compressedLength = Ints.fromBytes(b[1], b[2], b[3], b[4]);
 
-		byte[] data;
-		int revision = -1;
+		// compressed containers are prefixed with their decompressed length
+		int encryptedLength;
 		switch (compression)
 		{
 			case CompressionType.NONE:
-			{
-				byte[] encryptedData = new byte[compressedLength];
-				stream.readBytes(encryptedData, 0, compressedLength);
-
-				crc32.update(encryptedData, 0, compressedLength);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				data = decryptedData;
-
+				encryptedLength = compressedLength;
 				break;
-			}
 			case CompressionType.BZ2:
-			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
+			case CompressionType.GZ:
+				encryptedLength = compressedLength + 4;
+				break;
+			default:
+				throw new RuntimeException("Unknown decompression type");
+		}
 
-				int decompressedLength = stream.readInt();
-				data = BZip2.decompress(stream.getRemaining(), compressedLength);
+		if (compressedLength < 0 || encryptedLength > b.length - 5)
+		{
+			throw new RuntimeException("Invalid data");
+		}
 
-				if (data == null)
-				{
-					return null;
-				}
+		Crc32 crc32 = new Crc32();
+		crc32.update(b, 0, 5 + encryptedLength); // compression + length + data
 
-				assert data.length == decompressedLength;
+		int revision = -1;
+		int end = 5 + encryptedLength;
+		if (b.length - end >= 2)
+		{
+			revision = ((b[end] & 0xFF) << 8) | (b[end + 1] & 0xFF);
+		}
 
-				break;
+		byte[] data;
+		if (compression == CompressionType.NONE)
+		{
+			data = Arrays.copyOfRange(b, 5, end);
+			if (keys != null)
+			{
+				new Xtea(keys).decrypt(data, 0, data.length);
 			}
-			case CompressionType.GZ:
+		}
+		else
+		{
+			byte[] src = b;
+			int offset = 5;
+			if (keys != null)
 			{
-				byte[] encryptedData = new byte[compressedLength + 4];
-				stream.readBytes(encryptedData);
-
-				crc32.update(encryptedData, 0, encryptedData.length);
-				byte[] decryptedData = decrypt(encryptedData, encryptedData.length, keys);
-
-				if (stream.remaining() >= 2)
-				{
-					revision = stream.readUnsignedShort();
-					assert revision != -1;
-				}
-
-				stream = new InputStream(decryptedData);
-
-				int decompressedLength = stream.readInt();
-				data = GZip.decompress(stream.getRemaining(), compressedLength);
-
-				if (data == null)
-				{
-					return null;
-				}
-
-				assert data.length == decompressedLength;
+				// decrypt a copy in place, the input may be shared with the storage
+				src = scratch(encryptedLength);
+				System.arraycopy(b, 5, src, 0, encryptedLength);
+				new Xtea(keys).decrypt(src, 0, encryptedLength);
+				offset = 0;
+			}
 
-				break;
+			int decompressedLength = Ints.fromBytes(src[offset], src[offset + 1], src[offset + 2], src[offset + 3]);
+			if (compression == CompressionType.BZ2)
+			{
+				data = BZip2.decompress(src, offset + 4, compressedLength, decompressedLength);
+			}
+			else
+			{
+				data = GZip.decompress(src, offset + 4, compressedLength, decompressedLength);
 			}
-			default:
-				throw new RuntimeException("Unknown decompression type");
 		}
 
 		Container container = new Container(compression, revision);
@@ -192,15 +176,20 @@ public class Container
 		return container;
 	}
 
-	private static byte[] decrypt(byte[] data, int length, int[] keys)
+	private static byte[] scratch(int length)
 	{
-		if (keys == null)
+		if (length > MAX_SCRATCH_SIZE)
 		{
-			return data;
+			return new byte[length];
 		}
 
-		Xtea xtea = new Xtea(keys);
-		return xtea.decrypt(data, length);
+		byte[] buffer = SCRATCH.get();
+		if (buffer.length < length)
+		{
+			buffer = new byte[Math.max(length, Math.min(buffer.length * 2, MAX_SCRATCH_SIZE))];
+			SCRATCH.set(buffer);
+		}
+		return buffer;
 	}
 
 	private static byte[] encrypt(byte[] data, int length, int[] keys)
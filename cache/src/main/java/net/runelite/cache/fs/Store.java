@@ -28,9 +28,17 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.fs.jagex.DiskStorage;
 import org.slf4j.Logger;
@@ -40,8 +48,15 @@ public final class Store implements Closeable
 {
 	private static final Logger logger = LoggerFactory.getLogger(Store.class);
 
+	/**
+	 * number of archives per available processor which are loaded ahead
+	 * of the archive being visited
+	 */
+	private static final int LOAD_AHEAD = 4;
+
 	private final Storage storage;
 	private final List<Index> indexes = new ArrayList<>();
+	private final Map<Integer, Index> indexesById = new HashMap<>();
 
 	public Store(File folder) throws IOException
 	{
@@ -96,16 +111,14 @@ public final class Store implements Closeable
 
 	public final Index addIndex(int id) throws FileNotFoundException
 	{
-		for (Index i : indexes)
+		if (indexesById.containsKey(id))
 		{
-			if (i.getId() == id)
-			{
-				throw new IllegalArgumentException("index " + id + " already exists");
-			}
+			throw new IllegalArgumentException("index " + id + " already exists");
 		}
 
 		Index index = new Index(id);
 		this.indexes.add(index);
+		this.indexesById.put(id, index);
 
 		return index;
 	}
@@ -114,6 +127,7 @@ public final class Store implements Closeable
 	{
 		assert indexes.contains(index);
 		indexes.remove(index);
+		indexesById.remove(index.getId());
 	}
 
 	public void load() throws IOException
@@ -138,13 +152,105 @@ public final class Store implements Closeable
 
 	public Index findIndex(int id)
 	{
-		for (Index i : indexes)
+		return indexesById.get(id);
+	}
+
+	/**
+	 * Load every archive of an index. Archives are read, decompressed and
+	 * split into files on the executor, a bounded number ahead of the
+	 * archive being visited, and are handed to the visitor in archive order
+	 * on the calling thread. Archives which can't be read are skipped.
+	 *
+	 * @param type index to load
+	 * @param executor executor to decompress archives on
+	 * @param visitor visitor for the loaded archives
+	 * @throws IOException
+	 */
+	public void loadAll(IndexType type, Executor executor, ArchiveVisitor visitor) throws IOException
+	{
+		Index index = getIndex(type);
+		if (index == null)
+		{
+			return;
+		}
+
+		loadAll(index, executor, visitor);
+	}
+
+	public void loadAll(Index index, Executor executor, ArchiveVisitor visitor) throws IOException
+	{
+		List<Archive> archives = index.getArchives();
+		int ahead = LOAD_AHEAD * Runtime.getRuntime().availableProcessors();
+		Deque<CompletableFuture<ArchiveFiles>> pending = new ArrayDeque<>(ahead);
+
+		try
+		{
+			int next = 0;
+			for (Archive archive : archives)
+			{
+				while (next < archives.size() && pending.size() < ahead)
+				{
+					pending.add(loadAsync(archives.get(next++), executor));
+				}
+
+				ArchiveFiles files = await(pending.poll());
+				if (files == null)
+				{
+					logger.warn("Unable to load archive {}/{}", index.getId(), archive.getArchiveId());
+					continue;
+				}
+
+				visitor.visit(archive, files);
+			}
+		}
+		finally
 		{
-			if (i.getId() == id)
+			for (CompletableFuture<ArchiveFiles> future : pending)
+			{
+				future.cancel(false);
+			}
+		}
+	}
+
+	private CompletableFuture<ArchiveFiles> loadAsync(Archive archive, Executor executor)
+	{
+		return CompletableFuture.supplyAsync(() ->
+		{
+			try
+			{
+				byte[] data = storage.loadArchive(archive);
+				if (data == null)
+				{
+					return null;
+				}
+
+				return archive.getFiles(data);
+			}
+			catch (IOException ex)
+			{
+				throw new UncheckedIOException(ex);
+			}
+		}, executor);
+	}
+
+	private static ArchiveFiles await(CompletableFuture<ArchiveFiles> future) throws IOException
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (CompletionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException)
 			{
-				return i;
+				throw (RuntimeException) cause;
 			}
+			throw ex;
 		}
-		return null;
 	}
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Storage;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.index.FileData;
+
+/**
+ * A Storage that stores the cache as one binary file per index, in the same
+ * layout as {@link FlatStorage}. Each file holds the archive contents followed
+ * by a table of the index and archive metadata with the offset of each
+ * archive's contents. Files are memory mapped, and archive contents are only
+ * copied out of the mapping when they are loaded.
+ */
+public class BinaryFlatStorage implements Storage
+{
+	protected static final String EXTENSION = ".flatbin";
+
+	private static final int MAGIC = 0x46424331; // FBC1
+	private static final int HEADER_SIZE = 4;
+
+	private final File directory;
+	private final Map<Integer, MappedByteBuffer> buffers = new HashMap<>();
+	// index << 32 | archive to offset << 32 | length of the contents in the index buffer
+	private final Map<Long, Long> contents = new HashMap<>();
+	private final Map<Long, byte[]> modified = new HashMap<>();
+
+	public BinaryFlatStorage(File directory)
+	{
+		this.directory = directory;
+	}
+
+	/**
+	 * Convert a {@link FlatStorage} cache to a binary flat cache.
+	 *
+	 * @param flatDirectory directory of the flat cache
+	 * @param directory directory to write the binary flat cache to
+	 * @throws IOException
+	 */
+	public static void fromFlatStorage(File flatDirectory, File directory) throws IOException
+	{
+		convert(new FlatStorage(flatDirectory), new BinaryFlatStorage(directory));
+	}
+
+	/**
+	 * Convert a binary flat cache to a {@link FlatStorage} cache.
+	 *
+	 * @param directory directory of the binary flat cache
+	 * @param flatDirectory directory to write the flat cache to
+	 * @throws IOException
+	 */
+	public static void toFlatStorage(File directory, File flatDirectory) throws IOException
+	{
+		convert(new BinaryFlatStorage(directory), new FlatStorage(flatDirectory));
+	}
+
+	private static void convert(Storage from, Storage to) throws IOException
+	{
+		try (Store store = new Store(from))
+		{
+			store.load();
+			to.save(store);
+		}
+	}
+
+	@Override
+	public void init(Store store) throws IOException
+	{
+		String[] idxs = directory.list((dir, name) -> name.endsWith(EXTENSION));
+		for (String idx : idxs)
+		{
+			int id = Integer.parseInt(idx.substring(0, idx.length() - EXTENSION.length()));
+			store.addIndex(id);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		buffers.clear();
+		contents.clear();
+		modified.clear();
+	}
+
+	@Override
+	public void load(Store store) throws IOException
+	{
+		for (Index idx : store.getIndexes())
+		{
+			String file = idx.getId() + EXTENSION;
+			try
+			{
+				ByteBuffer buffer = map(idx.getId());
+				readTable(buffer, idx.getId(), idx);
+			}
+			catch (RuntimeException e)
+			{
+				throw new IOException("error reading flatcache " + file, e);
+			}
+		}
+	}
+
+	private ByteBuffer map(int indexId) throws IOException
+	{
+		File file = new File(directory, indexId + EXTENSION);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0L, raf.length());
+			if (buffer.capacity() < HEADER_SIZE + 8 || buffer.getInt(0) != MAGIC)
+			{
+				throw new IOException("not a binary flatcache: " + file);
+			}
+
+			buffers.put(indexId, buffer);
+			return buffer.duplicate();
+		}
+	}
+
+	/**
+	 * Read the table of an index file, recording the location of each
+	 * archive's contents, and adding the archives to the index if one is given
+	 */
+	private void readTable(ByteBuffer buffer, int indexId, Index idx)
+	{
+		buffer.position((int) buffer.getLong(buffer.capacity() - 8));
+
+		int protocol = buffer.getInt();
+		int revision = buffer.getInt();
+		int compression = buffer.getInt();
+		int crc = buffer.getInt();
+		boolean named = buffer.get() != 0;
+
+		if (idx != null)
+		{
+			idx.setProtocol(protocol);
+			idx.setRevision(revision);
+			idx.setCompression(compression);
+			idx.setCrc(crc);
+			idx.setNamed(named);
+		}
+
+		int archiveCount = buffer.getInt();
+		for (int i = 0; i < archiveCount; ++i)
+		{
+			int id = buffer.getInt();
+			int nameHash = buffer.getInt();
+			int archiveRevision = buffer.getInt();
+			int archiveCrc = buffer.getInt();
+			int archiveCompression = buffer.getInt();
+			int offset = buffer.getInt();
+			int length = buffer.getInt();
+
+			byte[] hash = null;
+			int hashLength = buffer.getInt();
+			if (hashLength >= 0)
+			{
+				hash = new byte[hashLength];
+				buffer.get(hash);
+			}
+
+			FileData[] fileData = new FileData[buffer.getInt()];
+			for (int j = 0; j < fileData.length; ++j)
+			{
+				FileData fd = fileData[j] = new FileData();
+				fd.setId(buffer.getInt());
+				fd.setNameHash(buffer.getInt());
+			}
+
+			long key = (long) indexId << 32 | id;
+			if (length >= 0)
+			{
+				contents.put(key, (long) offset << 32 | length);
+			}
+			else
+			{
+				contents.remove(key);
+			}
+
+			if (idx != null)
+			{
+				Archive archive = idx.addArchive(id);
+				archive.setNameHash(nameHash);
+				archive.setRevision(archiveRevision);
+				archive.setCrc(archiveCrc);
+				archive.setCompression(archiveCompression);
+				archive.setHash(hash);
+				archive.setFileData(fileData);
+			}
+		}
+	}
+
+	@Override
+	public void save(Store store) throws IOException
+	{
+		store.getIndexes().sort(Comparator.comparingInt(Index::getId));
+		for (Index idx : store.getIndexes())
+		{
+			File file = new File(directory, idx.getId() + EXTENSION);
+			File tmp = new File(directory, idx.getId() + EXTENSION + ".tmp");
+
+			idx.getArchives().sort(Comparator.comparingInt(Archive::getArchiveId));
+
+			int[] offsets = new int[idx.getArchives().size()];
+			int[] lengths = new int[offsets.length];
+
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp))))
+			{
+				out.writeInt(MAGIC);
+
+				int i = 0;
+				for (Archive archive : idx.getArchives())
+				{
+					byte[] data = store.getStorage().loadArchive(archive);
+					offsets[i] = out.size();
+					lengths[i] = data != null ? data.length : -1;
+					if (data != null)
+					{
+						out.write(data);
+					}
+					++i;
+				}
+
+				long tableOffset = out.size();
+				if (tableOffset == Integer.MAX_VALUE)
+				{
+					throw new IOException("index " + idx.getId() + " is too large");
+				}
+
+				out.writeInt(idx.getProtocol());
+				out.writeInt(idx.getRevision());
+				out.writeInt(idx.getCompression());
+				out.writeInt(idx.getCrc());
+				out.writeBoolean(idx.isNamed());
+
+				out.writeInt(idx.getArchives().size());
+				i = 0;
+				for (Archive archive : idx.getArchives())
+				{
+					out.writeInt(archive.getArchiveId());
+					out.writeInt(archive.getNameHash());
+					out.writeInt(archive.getRevision());
+					out.writeInt(archive.getCrc());
+					out.writeInt(archive.getCompression());
+					out.writeInt(offsets[i]);
+					out.writeInt(lengths[i]);
+					++i;
+
+					byte[] hash = archive.getHash();
+					out.writeInt(hash != null ? hash.length : -1);
+					if (hash != null)
+					{
+						out.write(hash);
+					}
+
+					FileData[] fileData = archive.getFileData();
+					out.writeInt(fileData.length);
+					for (FileData fd : fileData)
+					{
+						out.writeInt(fd.getId());
+						out.writeInt(fd.getNameHash());
+					}
+				}
+
+				out.writeLong(tableOffset);
+			}
+
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			if (store.getStorage() == this)
+			{
+				// the saved file now holds any modified archives of this index
+				modified.keySet().removeIf(key -> (int) (key >>> 32) == idx.getId());
+				readTable(map(idx.getId()), idx.getId(), null);
+			}
+		}
+	}
+
+	@Override
+	public byte[] loadArchive(Archive archive) throws IOException
+	{
+		int indexId = archive.getIndex().getId();
+		long key = (long) indexId << 32 | archive.getArchiveId();
+
+		byte[] data = modified.get(key);
+		if (data != null)
+		{
+			return data;
+		}
+
+		Long location = contents.get(key);
+		if (location == null)
+		{
+			return null;
+		}
+
+		int offset = (int) (location >>> 32);
+		int length = (int) (long) location;
+
+		ByteBuffer buffer = buffers.get(indexId).duplicate();
+		buffer.position(offset);
+
+		data = new byte[length];
+		buffer.get(data);
+		return data;
+	}
+
+	@Override
+	public void saveArchive(Archive archive, byte[] bytes) throws IOException
+	{
+		modified.put((long) archive.getIndex().getId() << 32 | archive.getArchiveId(), bytes);
+	}
+}
@@ -30,6 +30,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,11 +42,79 @@ public class DataFile implements Closeable
 
 	private static final int SECTOR_SIZE = 520;
 
+	/**
+	 * number of sectors per mapped region. Regions are sector aligned so a
+	 * sector never straddles two of them.
+	 */
+	private static final int SECTORS_PER_REGION = 1 << 21;
+
 	private final RandomAccessFile dat;
+	private final MappedByteBuffer[] regions;
+	private final long mappedLength;
+	private final BitSet freeSectors = new BitSet();
+	// sectors freed since the index files were last synced, which can't be reused yet
+	private final BitSet pendingSectors = new BitSet();
+	// each thread positions its own views of the mapped regions
+	private final ThreadLocal<ByteBuffer[]> views = ThreadLocal.withInitial(this::createViews);
 
 	public DataFile(File file) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.regions = null;
+		this.mappedLength = 0L;
+	}
+
+	/**
+	 * Open a data file. In read only mode the file is memory mapped, and
+	 * reads are served from the mapping without locking.
+	 *
+	 * @param file data file
+	 * @param readOnly whether to open the file read only
+	 * @throws IOException
+	 */
+	public DataFile(File file, boolean readOnly) throws IOException
+	{
+		this.dat = new RandomAccessFile(file, readOnly ? "r" : "rw");
+
+		if (readOnly)
+		{
+			this.mappedLength = dat.length();
+			this.regions = map(dat.getChannel(), mappedLength);
+		}
+		else
+		{
+			this.mappedLength = 0L;
+			this.regions = null;
+		}
+	}
+
+	private static MappedByteBuffer[] map(FileChannel channel, long length) throws IOException
+	{
+		long regionSize = (long) SECTORS_PER_REGION * SECTOR_SIZE;
+		int count = (int) ((length + regionSize - 1) / regionSize);
+
+		MappedByteBuffer[] regions = new MappedByteBuffer[count];
+		for (int i = 0; i < count; ++i)
+		{
+			long offset = i * regionSize;
+			regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(regionSize, length - offset));
+		}
+		return regions;
+	}
+
+	private ByteBuffer[] createViews()
+	{
+		ByteBuffer[] v = new ByteBuffer[regions.length];
+		for (int i = 0; i < regions.length; ++i)
+		{
+			v[i] = regions[i].duplicate();
+		}
+		return v;
+	}
+
+	public boolean isReadOnly()
+	{
+		return regions != null;
 	}
 
 	@Override
@@ -54,6 +125,11 @@ public class DataFile implements Closeable
 
 	public void clear() throws IOException
 	{
+		if (isReadOnly())
+		{
+			throw new IOException("data file is read only");
+		}
+
 		dat.setLength(0L);
 	}
 
@@ -66,7 +142,17 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (isReadOnly())
+		{
+			return readMapped(indexId, archiveId, sector, size);
+		}
+
+		return readFile(indexId, archiveId, sector, size);
+	}
+
+	private synchronized byte[] readFile(int indexId, int archiveId, int sector, int size) throws IOException
 	{
 		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
 		{
@@ -169,85 +255,280 @@ public class DataFile implements Closeable
 		return buffer.array();
 	}
 
+	private byte[] readMapped(int indexId, int archiveId, int sector, int size)
+	{
+		long sectorCount = mappedLength / SECTOR_SIZE;
+		if (sector <= 0L || sectorCount < (long) sector)
+		{
+			logger.warn("bad read, dat length {}, requested sector {}", mappedLength, sector);
+			return null;
+		}
+
+		ByteBuffer[] v = views.get();
+		byte[] data = new byte[size];
+		int headerSize = archiveId > 0xFFFF ? 10 : 8;
+
+		for (int part = 0, readBytesCount = 0, nextSector;
+			size > readBytesCount;
+			sector = nextSector)
+		{
+			if (sector == 0)
+			{
+				logger.warn("Unexpected end of file");
+				return null;
+			}
+
+			int dataBlockSize = Math.min(size - readBytesCount, SECTOR_SIZE - headerSize);
+			long position = (long) SECTOR_SIZE * sector;
+			if (position + headerSize + dataBlockSize > mappedLength)
+			{
+				logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
+				return null;
+			}
+
+			ByteBuffer region = v[sector / SECTORS_PER_REGION];
+			int offset = (sector % SECTORS_PER_REGION) * SECTOR_SIZE;
+
+			int currentIndex;
+			int currentPart;
+			int currentArchive;
+			if (headerSize == 10)
+			{
+				currentArchive = region.getInt(offset);
+				currentPart = region.getShort(offset + 4) & 0xFFFF;
+				nextSector = ((region.get(offset + 6) & 0xFF) << 16)
+					| (region.getShort(offset + 7) & 0xFFFF);
+				currentIndex = region.get(offset + 9) & 0xFF;
+			}
+			else
+			{
+				currentArchive = region.getShort(offset) & 0xFFFF;
+				currentPart = region.getShort(offset + 2) & 0xFFFF;
+				nextSector = ((region.get(offset + 4) & 0xFF) << 16)
+					| (region.getShort(offset + 5) & 0xFFFF);
+				currentIndex = region.get(offset + 7) & 0xFF;
+			}
+
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.warn("data mismatch {} != {}, {} != {}, {} != {}",
+					archiveId, currentArchive,
+					part, currentPart,
+					indexId, currentIndex);
+				return null;
+			}
+
+			if (nextSector < 0 || sectorCount < (long) nextSector)
+			{
+				logger.warn("Invalid next sector");
+				return null;
+			}
+
+			region.position(offset + headerSize);
+			region.get(data, readBytesCount, dataBlockSize);
+			readBytesCount += dataBlockSize;
+
+			++part;
+		}
+
+		return data;
+	}
+
+	/**
+	 * Write an archive. Sectors freed with {@link #free} and then released with
+	 * {@link #releaseFreedSectors} are reused, lowest first, before new sectors
+	 * are appended to the file, and each run of consecutive sectors is written
+	 * with a single write.
+	 *
+	 * @param indexId index of the archive
+	 * @param archiveId archive id
+	 * @param compressedData archive data
+	 * @return the first sector and length of the archive
+	 * @throws IOException
+	 */
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
 	{
-		int sector;
-		int startSector;
+		if (isReadOnly())
+		{
+			throw new IOException("data file is read only");
+		}
 
-		byte[] writeBuffer = new byte[SECTOR_SIZE];
-		ByteBuffer data = ByteBuffer.wrap(compressedData);
+		boolean largeArchive = archiveId > 0xFFFF;
+		int headerSize = largeArchive ? 10 : 8;
+		int blockSize = SECTOR_SIZE - headerSize;
+		int sectorCount = (compressedData.length + blockSize - 1) / blockSize;
 
-		sector = (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
-		if (sector == 0)
+		int[] sectors = allocate(sectorCount);
+		byte[] buffer = new byte[sectorCount * SECTOR_SIZE];
+
+		for (int part = 0, position = 0; part < sectorCount; ++part, position += blockSize)
 		{
-			sector = 1;
+			int nextSector = part + 1 < sectorCount ? sectors[part + 1] : 0;
+			int offset = part * SECTOR_SIZE;
+
+			if (largeArchive)
+			{
+				buffer[offset++] = (byte) (archiveId >> 24);
+				buffer[offset++] = (byte) (archiveId >> 16);
+			}
+			buffer[offset++] = (byte) (archiveId >> 8);
+			buffer[offset++] = (byte) archiveId;
+			buffer[offset++] = (byte) (part >> 8);
+			buffer[offset++] = (byte) part;
+			buffer[offset++] = (byte) (nextSector >> 16);
+			buffer[offset++] = (byte) (nextSector >> 8);
+			buffer[offset++] = (byte) nextSector;
+			buffer[offset++] = (byte) indexId;
+
+			System.arraycopy(compressedData, position, buffer, offset, Math.min(blockSize, compressedData.length - position));
 		}
-		startSector = sector;
 
-		for (int part = 0; data.hasRemaining(); ++part)
+		// the last sector is only written up to the end of its data
+		int tail = sectorCount > 0 ? headerSize + compressedData.length - (sectorCount - 1) * blockSize : 0;
+
+		for (int start = 0, end; start < sectorCount; start = end)
 		{
-			int nextSector = sector + 1; // we always just append sectors
-			int dataToWrite;
+			end = start + 1;
+			while (end < sectorCount && sectors[end] == sectors[end - 1] + 1)
+			{
+				++end;
+			}
 
-			if (0xFFFF < archiveId)
+			int length = (end - start) * SECTOR_SIZE;
+			if (end == sectorCount)
 			{
-				if (data.remaining() <= 510)
-				{
-					nextSector = 0;
-				}
+				length -= SECTOR_SIZE - tail;
+			}
 
-				writeBuffer[0] = (byte) (archiveId >> 24);
-				writeBuffer[1] = (byte) (archiveId >> 16);
-				writeBuffer[2] = (byte) (archiveId >> 8);
-				writeBuffer[3] = (byte) archiveId;
-				writeBuffer[4] = (byte) (part >> 8);
-				writeBuffer[5] = (byte) part;
-				writeBuffer[6] = (byte) (nextSector >> 16);
-				writeBuffer[7] = (byte) (nextSector >> 8);
-				writeBuffer[8] = (byte) nextSector;
-				writeBuffer[9] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
-				dat.write(writeBuffer, 0, 10);
-
-				dataToWrite = data.remaining();
-				if (dataToWrite > 510)
-				{
-					dataToWrite = 510;
-				}
+			dat.seek((long) SECTOR_SIZE * sectors[start]);
+			dat.write(buffer, start * SECTOR_SIZE, length);
+		}
+
+		DataFileWriteResult res = new DataFileWriteResult();
+		res.sector = sectorCount > 0 ? sectors[0] : nextAppendSector();
+		res.compressedLength = compressedData.length;
+		return res;
+	}
+
+	/**
+	 * Mark the sectors of an archive which is no longer referenced as free. They
+	 * are not reused until {@link #releaseFreedSectors} is called, since until the
+	 * index files are synced they may still point at them after a crash. Only
+	 * sectors whose headers match the archive are freed.
+	 *
+	 * @param indexId index of the archive
+	 * @param archiveId archive id
+	 * @param sector first sector of the archive
+	 * @param size size of the archive
+	 * @throws IOException
+	 */
+	public synchronized void free(int indexId, int archiveId, int sector, int size) throws IOException
+	{
+		if (isReadOnly())
+		{
+			throw new IOException("data file is read only");
+		}
+
+		boolean largeArchive = archiveId > 0xFFFF;
+		int headerSize = largeArchive ? 10 : 8;
+		int blockSize = SECTOR_SIZE - headerSize;
+		long sectorCount = (dat.length() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+		byte[] header = new byte[headerSize];
+
+		for (int part = 0, remaining = size; remaining > 0; ++part, remaining -= blockSize)
+		{
+			if (sector <= 0 || sector >= sectorCount)
+			{
+				break;
+			}
+
+			dat.seek((long) SECTOR_SIZE * sector);
+			dat.readFully(header);
+
+			int currentArchive;
+			int currentPart;
+			int nextSector;
+			int currentIndex;
+			if (largeArchive)
+			{
+				currentArchive = ((header[0] & 0xFF) << 24)
+					| ((header[1] & 0xFF) << 16)
+					| ((header[2] & 0xFF) << 8)
+					| (header[3] & 0xFF);
+				currentPart = ((header[4] & 0xFF) << 8) + (header[5] & 0xFF);
+				nextSector = ((header[6] & 0xFF) << 16)
+					| ((header[7] & 0xFF) << 8)
+					| (header[8] & 0xFF);
+				currentIndex = header[9] & 0xFF;
 			}
 			else
 			{
-				if (data.remaining() <= 512)
-				{
-					nextSector = 0;
-				}
+				currentArchive = ((header[0] & 0xFF) << 8)
+					| (header[1] & 0xFF);
+				currentPart = ((header[2] & 0xFF) << 8)
+					| (header[3] & 0xFF);
+				nextSector = ((header[4] & 0xFF) << 16)
+					| ((header[5] & 0xFF) << 8)
+					| (header[6] & 0xFF);
+				currentIndex = header[7] & 0xFF;
+			}
 
-				writeBuffer[0] = (byte) (archiveId >> 8);
-				writeBuffer[1] = (byte) archiveId;
-				writeBuffer[2] = (byte) (part >> 8);
-				writeBuffer[3] = (byte) part;
-				writeBuffer[4] = (byte) (nextSector >> 16);
-				writeBuffer[5] = (byte) (nextSector >> 8);
-				writeBuffer[6] = (byte) nextSector;
-				writeBuffer[7] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
-				dat.write(writeBuffer, 0, 8);
-
-				dataToWrite = data.remaining();
-				if (dataToWrite > 512)
-				{
-					dataToWrite = 512;
-				}
+			if (archiveId != currentArchive || currentPart != part || indexId != currentIndex)
+			{
+				logger.debug("not freeing sector {} of {}/{}, owned by {}/{}", sector, indexId, archiveId, currentIndex, currentArchive);
+				break;
 			}
 
-			data.get(writeBuffer, 0, dataToWrite);
-			dat.write(writeBuffer, 0, dataToWrite);
+			pendingSectors.set(sector);
 			sector = nextSector;
 		}
+	}
 
-		DataFileWriteResult res = new DataFileWriteResult();
-		res.sector = startSector;
-		res.compressedLength = compressedData.length;
-		return res;
+	/**
+	 * Allow the sectors freed so far to be reused. This must only be called once
+	 * the index files no longer referencing them have been synced.
+	 */
+	public synchronized void releaseFreedSectors()
+	{
+		freeSectors.or(pendingSectors);
+		pendingSectors.clear();
+	}
+
+	/**
+	 * @return the number of sectors which can be reused by writes
+	 */
+	public synchronized int getFreeSectorCount()
+	{
+		return freeSectors.cardinality();
+	}
+
+	private int[] allocate(int count) throws IOException
+	{
+		int[] sectors = new int[count];
+		int i = 0;
+
+		for (int sector = freeSectors.nextSetBit(1); sector != -1 && i < count; sector = freeSectors.nextSetBit(sector + 1))
+		{
+			freeSectors.clear(sector);
+			sectors[i++] = sector;
+		}
+
+		for (int sector = nextAppendSector(); i < count; ++sector)
+		{
+			sectors[i++] = sector;
+		}
+
+		return sectors;
+	}
+
+	private int nextAppendSector() throws IOException
+	{
+		int sector = (int) ((dat.length() + (long) (SECTOR_SIZE - 1)) / (long) SECTOR_SIZE);
+		return Math.max(sector, 1);
+	}
+
+	void sync() throws IOException
+	{
+		dat.getFD().sync();
 	}
 }
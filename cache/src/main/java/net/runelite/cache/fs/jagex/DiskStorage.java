@@ -26,10 +26,14 @@ package net.runelite.cache.fs.jagex;
 
 import com.google.common.primitives.Ints;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Container;
 import net.runelite.cache.fs.Index;
@@ -47,19 +51,43 @@ public class DiskStorage implements Storage
 
 	private static final String MAIN_FILE_CACHE_DAT = "main_file_cache.dat2";
 	private static final String MAIN_FILE_CACHE_IDX = "main_file_cache.idx";
+	private static final String COMPACT_SUFFIX = ".compact";
+	private static final String COMPACT_COMMIT = "main_file_cache.commit";
 
 	private final File folder;
+	private final boolean readOnly;
 
-	private final DataFile data;
-	private final IndexFile index255;
-	private final List<IndexFile> indexFiles = new ArrayList<>();
+	private DataFile data;
+	private IndexFile index255;
+	private final List<IndexFile> indexFiles = new CopyOnWriteArrayList<>();
 
 	public DiskStorage(File folder) throws IOException
+	{
+		this(folder, false);
+	}
+
+	/**
+	 * Open a disk cache. A read only storage memory maps the data and index
+	 * files, and allows archives to be loaded concurrently without locking.
+	 *
+	 * @param folder cache folder
+	 * @param readOnly whether to open the cache read only
+	 * @throws IOException
+	 */
+	public DiskStorage(File folder, boolean readOnly) throws IOException
 	{
 		this.folder = folder;
+		this.readOnly = readOnly;
+
+		recoverCompaction();
 
-		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
-		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		this.data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT), readOnly);
+		this.index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"), readOnly);
+	}
+
+	public boolean isReadOnly()
+	{
+		return readOnly;
 	}
 
 	@Override
@@ -85,7 +113,7 @@ public class DiskStorage implements Storage
 		}
 	}
 
-	private IndexFile getIndex(int i) throws FileNotFoundException
+	private synchronized IndexFile openIndex(int i) throws IOException
 	{
 		for (IndexFile indexFile : indexFiles)
 		{
@@ -95,11 +123,36 @@ public class DiskStorage implements Storage
 			}
 		}
 
-		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i));
+		IndexFile indexFile = new IndexFile(i, new File(folder, MAIN_FILE_CACHE_IDX + i), readOnly);
 		indexFiles.add(indexFile);
 		return indexFile;
 	}
 
+	private boolean isIndexOpen(int i)
+	{
+		for (IndexFile indexFile : indexFiles)
+		{
+			if (indexFile.getIndexFileId() == i)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private IndexFile getIndex(int i) throws IOException
+	{
+		for (IndexFile indexFile : indexFiles)
+		{
+			if (indexFile.getIndexFileId() == i)
+			{
+				return indexFile;
+			}
+		}
+
+		return openIndex(i);
+	}
+
 	@Override
 	public void load(Store store) throws IOException
 	{
@@ -184,12 +237,27 @@ public class DiskStorage implements Storage
 	@Override
 	public void save(Store store) throws IOException
 	{
+		if (readOnly)
+		{
+			throw new IOException("storage is read only");
+		}
+
 		logger.debug("Saving store");
 
 		for (Index i : store.getIndexes())
 		{
 			saveIndex(i);
 		}
+
+		// the replaced sectors can only be reused once the index files pointing
+		// away from them are on disk
+		data.sync();
+		for (IndexFile indexFile : indexFiles)
+		{
+			indexFile.sync();
+		}
+		index255.sync();
+		data.releaseFreedSectors();
 	}
 
 	private void saveIndex(Index index) throws IOException
@@ -200,9 +268,15 @@ public class DiskStorage implements Storage
 		Container container = new Container(index.getCompression(), -1); // index data revision is always -1
 		container.compress(data, null);
 		byte[] compressedData = container.data;
+
+		IndexEntry old = index255.read(index.getId());
 		DataFileWriteResult res = this.data.write(index255.getIndexFileId(), index.getId(), compressedData);
 
 		index255.write(new IndexEntry(index255, index.getId(), res.sector, res.compressedLength));
+		if (old != null)
+		{
+			this.data.free(index255.getIndexFileId(), old.getId(), old.getSector(), old.getLength());
+		}
 
 		Crc32 crc = new Crc32();
 		crc.update(compressedData, 0, compressedData.length);
@@ -212,12 +286,23 @@ public class DiskStorage implements Storage
 	@Override
 	public void saveArchive(Archive a, byte[] archiveData) throws IOException
 	{
+		if (readOnly)
+		{
+			throw new IOException("storage is read only");
+		}
+
 		Index index = a.getIndex();
 		IndexFile indexFile = getIndex(index.getId());
 		assert indexFile.getIndexFileId() == index.getId();
 
+		IndexEntry old = indexFile.read(a.getArchiveId());
 		DataFileWriteResult res = data.write(index.getId(), a.getArchiveId(), archiveData);
 		indexFile.write(new IndexEntry(indexFile, a.getArchiveId(), res.sector, res.compressedLength));
+		if (old != null)
+		{
+			// the old chain is reused once save() has synced the index pointing away from it
+			data.free(index.getId(), old.getId(), old.getSector(), old.getLength());
+		}
 
 		byte compression = archiveData[0];
 		int compressedSize = Ints.fromBytes(archiveData[1], archiveData[2],
@@ -236,4 +321,155 @@ public class DiskStorage implements Storage
 		logger.trace("Saved archive {}/{} at sector {}, compressed length {}",
 			index.getId(), a.getArchiveId(), res.sector, res.compressedLength);
 	}
+
+	/**
+	 * Rewrite the data file so that it only contains archives referenced by
+	 * the index files, each stored in consecutive sectors in index order.
+	 * The compacted files are written alongside the cache and then swapped
+	 * in. If this is interrupted, the swap is completed, or the compacted
+	 * files discarded, the next time the storage is opened.
+	 * <p>
+	 * This must not be called concurrently with other storage operations.
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void compact() throws IOException
+	{
+		if (readOnly)
+		{
+			throw new IOException("storage is read only");
+		}
+
+		// every index in the cache, not only the ones opened so far, or the archives
+		// of the others would be lost when the data file is replaced
+		List<IndexFile> sources = new ArrayList<>();
+		for (int i = 0; i < index255.getIndexCount(); ++i)
+		{
+			if (isIndexOpen(i) || new File(folder, MAIN_FILE_CACHE_IDX + i).exists())
+			{
+				sources.add(getIndex(i));
+			}
+		}
+		sources.add(index255);
+
+		File datFile = new File(folder, MAIN_FILE_CACHE_DAT + COMPACT_SUFFIX);
+
+		try (DataFile out = new DataFile(datFile))
+		{
+			out.clear();
+
+			for (IndexFile source : sources)
+			{
+				int indexId = source.getIndexFileId();
+				File idxFile = new File(folder, MAIN_FILE_CACHE_IDX + indexId + COMPACT_SUFFIX);
+
+				try (IndexFile idx = new IndexFile(indexId, idxFile))
+				{
+					idx.clear();
+
+					for (int id = 0, count = source.getIndexCount(); id < count; ++id)
+					{
+						IndexEntry entry = source.read(id);
+						byte[] archiveData = entry != null ? data.read(indexId, id, entry.getSector(), entry.getLength()) : null;
+						if (archiveData == null)
+						{
+							// keep the index file the same length
+							idx.write(new IndexEntry(idx, id, 0, 0));
+							continue;
+						}
+
+						DataFileWriteResult res = out.write(indexId, id, archiveData);
+						idx.write(new IndexEntry(idx, id, res.sector, res.compressedLength));
+					}
+
+					idx.sync();
+				}
+			}
+
+			out.sync();
+		}
+
+		// once the commit marker exists the compacted files replace the originals,
+		// even if we are interrupted
+		File commit = new File(folder, COMPACT_COMMIT);
+		try (FileChannel channel = FileChannel.open(commit.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			channel.force(true);
+		}
+		syncFolder();
+
+		close();
+		indexFiles.clear();
+
+		recoverCompaction();
+
+		data = new DataFile(new File(folder, MAIN_FILE_CACHE_DAT));
+		index255 = new IndexFile(255, new File(folder, MAIN_FILE_CACHE_IDX + "255"));
+		for (int i = 0; i < sources.size() - 1; ++i)
+		{
+			getIndex(sources.get(i).getIndexFileId());
+		}
+
+		logger.debug("Compacted {} index files", sources.size());
+	}
+
+	private void recoverCompaction() throws IOException
+	{
+		File commit = new File(folder, COMPACT_COMMIT);
+		File[] compacted = folder.listFiles((dir, name) -> name.startsWith("main_file_cache.") && name.endsWith(COMPACT_SUFFIX));
+		if (compacted == null)
+		{
+			throw new IOException("unable to list cache folder " + folder);
+		}
+
+		if (commit.exists())
+		{
+			if (readOnly)
+			{
+				throw new IOException("cache has an unfinished compaction, open it writable to complete it");
+			}
+
+			for (File file : compacted)
+			{
+				String name = file.getName();
+				File target = new File(folder, name.substring(0, name.length() - COMPACT_SUFFIX.length()));
+				Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			syncFolder();
+
+			Files.delete(commit.toPath());
+			syncFolder();
+		}
+		else if (!readOnly)
+		{
+			for (File file : compacted)
+			{
+				logger.debug("Removing incomplete compacted file {}", file);
+				Files.delete(file.toPath());
+			}
+		}
+	}
+
+	/**
+	 * Flush the cache folder, so that files created and renamed in it survive
+	 * a crash. Directories can't be opened on Windows, where this does nothing.
+	 */
+	private void syncFolder() throws IOException
+	{
+		FileChannel channel;
+		try
+		{
+			channel = FileChannel.open(folder.toPath(), StandardOpenOption.READ);
+		}
+		catch (IOException ex)
+		{
+			logger.debug("Unable to open cache folder {} to sync it", folder, ex);
+			return;
+		}
+
+		try (FileChannel c = channel)
+		{
+			c.force(true);
+		}
+	}
 }
@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,12 +45,31 @@ public class IndexFile implements Closeable
 	private final File file;
 	private final RandomAccessFile idx;
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
+	private final MappedByteBuffer mapped;
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
 	{
 		this.indexFileId = indexFileId;
 		this.file = file;
 		this.idx = new RandomAccessFile(file, "rw");
+		this.mapped = null;
+	}
+
+	/**
+	 * Open an index file. In read only mode the file is memory mapped, and
+	 * entries are read from the mapping without locking.
+	 *
+	 * @param indexFileId index id
+	 * @param file index file
+	 * @param readOnly whether to open the file read only
+	 * @throws IOException
+	 */
+	public IndexFile(int indexFileId, File file, boolean readOnly) throws IOException
+	{
+		this.indexFileId = indexFileId;
+		this.file = file;
+		this.idx = new RandomAccessFile(file, readOnly ? "r" : "rw");
+		this.mapped = readOnly ? idx.getChannel().map(FileChannel.MapMode.READ_ONLY, 0L, idx.length()) : null;
 	}
 
 	@Override
@@ -59,6 +80,11 @@ public class IndexFile implements Closeable
 
 	public void clear() throws IOException
 	{
+		if (isReadOnly())
+		{
+			throw new IOException("index file is read only");
+		}
+
 		idx.setLength(0L);
 	}
 
@@ -94,8 +120,18 @@ public class IndexFile implements Closeable
 		return indexFileId;
 	}
 
+	public boolean isReadOnly()
+	{
+		return mapped != null;
+	}
+
 	public synchronized void write(IndexEntry entry) throws IOException
 	{
+		if (isReadOnly())
+		{
+			throw new IOException("index file is read only");
+		}
+
 		idx.seek(entry.getId() * INDEX_ENTRY_LEN);
 
 		buffer[0] = (byte) (entry.getLength() >> 16);
@@ -109,7 +145,38 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	public IndexEntry read(int id) throws IOException
+	{
+		if (isReadOnly())
+		{
+			return readMapped(id);
+		}
+
+		return readFile(id);
+	}
+
+	private IndexEntry readMapped(int id)
+	{
+		int position = id * INDEX_ENTRY_LEN;
+		if (id < 0 || position + INDEX_ENTRY_LEN > mapped.capacity())
+		{
+			logger.debug("short read for id {} on index {}", id, indexFileId);
+			return null;
+		}
+
+		int length = ((mapped.get(position) & 0xFF) << 16) | (mapped.getShort(position + 1) & 0xFFFF);
+		int sector = ((mapped.get(position + 3) & 0xFF) << 16) | (mapped.getShort(position + 4) & 0xFFFF);
+
+		if (length <= 0 || sector <= 0)
+		{
+			logger.debug("invalid length or sector {}/{}", length, sector);
+			return null;
+		}
+
+		return new IndexEntry(this, id, sector, length);
+	}
+
+	private synchronized IndexEntry readFile(int id) throws IOException
 	{
 		idx.seek(id * INDEX_ENTRY_LEN);
 		int i = idx.read(buffer);
@@ -133,6 +200,16 @@ public class IndexFile implements Closeable
 
 	public synchronized int getIndexCount() throws IOException
 	{
+		if (isReadOnly())
+		{
+			return mapped.capacity() / INDEX_ENTRY_LEN;
+		}
+
 		return (int) (idx.length() / INDEX_ENTRY_LEN);
 	}
+
+	void sync() throws IOException
+	{
+		idx.getFD().sync();
+	}
 }
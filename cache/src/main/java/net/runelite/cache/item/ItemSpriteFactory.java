@@ -24,8 +24,24 @@
  */
 package net.runelite.cache.item;
 
+import com.google.common.base.Preconditions;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import javax.imageio.ImageIO;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
 import net.runelite.cache.definitions.providers.ItemProvider;
@@ -36,22 +52,196 @@ import net.runelite.cache.models.FaceNormal;
 import net.runelite.cache.models.JagexColor;
 import net.runelite.cache.models.VertexNormal;
 
+@Slf4j
 public class ItemSpriteFactory
 {
+	private static final int WIDTH = 36;
+	private static final int HEIGHT = 32;
+
+	/**
+	 * Number of items rendered by each batch task
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * Maximum number of lit models kept, beyond which the least recently used is evicted
+	 */
+	private static final int MAX_MODELS = 256;
+
+	private final ItemProvider itemProvider;
+	private final ModelProvider modelProvider;
+	private final RSTextureProvider rsTextureProvider;
+
+	/**
+	 * Rasterizer state for each thread rendering with this factory
+	 */
+	private final ThreadLocal<Graphics3D> graphics;
+
+	/**
+	 * Lit models, which are shared by items with the same model, such as every noted item
+	 */
+	private final Map<ModelKey, Model> models = Collections.synchronizedMap(new LinkedHashMap<ModelKey, Model>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ModelKey, Model> eldest)
+		{
+			return size() > MAX_MODELS;
+		}
+	});
+
+	/**
+	 * Rendered note backgrounds, before the unnoted item is drawn on top of them
+	 */
+	private final Map<BackgroundKey, Sprite> backgrounds = new ConcurrentHashMap<>();
+
+	public ItemSpriteFactory(ItemProvider itemProvider, ModelProvider modelProvider,
+		SpriteProvider spriteProvider, TextureProvider textureProvider)
+	{
+		this.itemProvider = itemProvider;
+		this.modelProvider = modelProvider;
+		this.rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		this.graphics = ThreadLocal.withInitial(() ->
+		{
+			Graphics3D graphics = new Graphics3D(rsTextureProvider);
+			graphics.setBrightness(JagexColor.BRIGHTNESS_MAX);
+			return graphics;
+		});
+	}
+
 	public static final BufferedImage createSprite(ItemProvider itemProvider, ModelProvider modelProvider,
 												SpriteProvider spriteProvider, TextureProvider textureProvider,
 												int itemId, int quantity, int border, int shadowColor,
 												boolean noted) throws IOException
 	{
-		Sprite spritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				itemId, quantity, border, shadowColor, noted);
+		return new ItemSpriteFactory(itemProvider, modelProvider, spriteProvider, textureProvider)
+			.createSprite(itemId, quantity, border, shadowColor, noted);
+	}
+
+	public BufferedImage createSprite(int itemId, int quantity, int border, int shadowColor, boolean noted) throws IOException
+	{
+		Sprite spritePixels = createSpritePixels(itemId, quantity, border, shadowColor, noted);
 		return spritePixels == null ? null : spritePixels.toBufferedImage();
 	}
 
-	private static final Sprite createSpritePixels(ItemProvider itemProvider, ModelProvider modelProvider,
-														SpriteProvider spriteProvider, TextureProvider textureProvider,
-														int itemId, int quantity, int border, int shadowColor,
-														boolean noted) throws IOException
+	/**
+	 * Render the sprites of many items in parallel. Items which can't be rendered are
+	 * logged and visited with a null image.
+	 *
+	 * @param itemIds the items to render
+	 * @param quantities the quantity of each item
+	 * @param executor the executor to render on
+	 * @param visitor visitor for the rendered sprites, called from the rendering threads
+	 * @throws IOException if the visitor throws
+	 */
+	public void createSprites(int[] itemIds, int[] quantities, int border, int shadowColor,
+		Executor executor, ItemSpriteVisitor visitor) throws IOException
+	{
+		Preconditions.checkArgument(itemIds.length == quantities.length, "one quantity is required per item");
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int start = 0; start < itemIds.length; start += BATCH_SIZE)
+		{
+			int from = start;
+			int to = Math.min(itemIds.length, start + BATCH_SIZE);
+			futures.add(CompletableFuture.runAsync(() ->
+			{
+				try
+				{
+					for (int i = from; i < to; ++i)
+					{
+						visitor.visit(i, itemIds[i], quantities[i], tryCreateSprite(itemIds[i], quantities[i], border, shadowColor));
+					}
+				}
+				catch (IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			}, executor));
+		}
+
+		try
+		{
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException ex)
+		{
+			Throwable cause = ex.getCause();
+			if (cause instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Render the sprites of many items in parallel, writing each to outDir as
+	 * itemId.png, or itemId-quantity.png if the quantity is not 1
+	 */
+	public void writeSprites(int[] itemIds, int[] quantities, int border, int shadowColor,
+		Executor executor, File outDir) throws IOException
+	{
+		outDir.mkdirs();
+
+		createSprites(itemIds, quantities, border, shadowColor, executor, (index, itemId, quantity, image) ->
+		{
+			if (image == null)
+			{
+				return;
+			}
+
+			String name = quantity == 1 ? Integer.toString(itemId) : itemId + "-" + quantity;
+			ImageIO.write(image, "png", new File(outDir, name + ".png"));
+		});
+	}
+
+	/**
+	 * Render the sprites of many items in parallel into a single atlas image. The sprite
+	 * of item i is at column i % columns and row i / columns, each cell being 36x32 pixels.
+	 */
+	public BufferedImage createAtlas(int[] itemIds, int[] quantities, int border, int shadowColor,
+		int columns, Executor executor) throws IOException
+	{
+		int rows = (itemIds.length + columns - 1) / columns;
+		int atlasWidth = columns * WIDTH;
+		int[] atlas = new int[atlasWidth * rows * HEIGHT];
+
+		// every sprite has its own cell, so the threads never write the same pixels
+		createSprites(itemIds, quantities, border, shadowColor, executor, (index, itemId, quantity, image) ->
+		{
+			if (image == null)
+			{
+				return;
+			}
+
+			int offset = (index / columns) * HEIGHT * atlasWidth + (index % columns) * WIDTH;
+			image.getRGB(0, 0, WIDTH, HEIGHT, atlas, offset, atlasWidth);
+		});
+
+		BufferedImage image = new BufferedImage(atlasWidth, rows * HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB(0, 0, atlasWidth, rows * HEIGHT, atlas, 0, atlasWidth);
+		return image;
+	}
+
+	private BufferedImage tryCreateSprite(int itemId, int quantity, int border, int shadowColor)
+	{
+		try
+		{
+			return createSprite(itemId, quantity, border, shadowColor, false);
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			log.warn("Unable to create sprite for item {}", itemId, ex);
+			return null;
+		}
+	}
+
+	private Sprite createSpritePixels(int itemId, int quantity, int border, int shadowColor,
+		boolean noted) throws IOException
 	{
 		ItemDefinition item = itemProvider.provide(itemId);
 
@@ -73,7 +263,8 @@ public class ItemSpriteFactory
 			}
 		}
 
-		Model itemModel = getModel(modelProvider, item);
+		ModelKey modelKey = new ModelKey(item);
+		Model itemModel = getModel(modelKey);
 		if (itemModel == null)
 		{
 			return null;
@@ -82,8 +273,7 @@ public class ItemSpriteFactory
 		Sprite auxSpritePixels = null;
 		if (item.notedTemplate != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-					item.notedID, 10, 1, 0, true);
+			auxSpritePixels = createSpritePixels(item.notedID, 10, 1, 0, true);
 			if (auxSpritePixels == null)
 			{
 				return null;
@@ -91,8 +281,7 @@ public class ItemSpriteFactory
 		}
 		else if (item.boughtTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-				item.boughtId, quantity, border, 0, false);
+			auxSpritePixels = createSpritePixels(item.boughtId, quantity, border, 0, false);
 			if (auxSpritePixels == null)
 			{
 				return null;
@@ -100,20 +289,55 @@ public class ItemSpriteFactory
 		}
 		else if (item.placeholderTemplateId != -1)
 		{
-			auxSpritePixels = createSpritePixels(itemProvider, modelProvider, spriteProvider, textureProvider,
-					item.placeholderId, quantity, 0, 0, false);
+			auxSpritePixels = createSpritePixels(item.placeholderId, quantity, 0, 0, false);
 			if (auxSpritePixels == null)
 			{
 				return null;
 			}
 		}
 
-		RSTextureProvider rsTextureProvider = new RSTextureProvider(textureProvider, spriteProvider);
+		Graphics3D graphics = this.graphics.get();
+		Sprite spritePixels;
+
+		// the note background only depends on the note template, so is drawn once and shared
+		BackgroundKey backgroundKey = item.notedTemplate != -1 && item.placeholderTemplateId == -1
+			? new BackgroundKey(modelKey, item.zoom2d, item.xan2d, item.yan2d, item.zan2d, item.xOffset2d, item.yOffset2d, border, shadowColor, noted)
+			: null;
+		Sprite background = backgroundKey != null ? backgrounds.get(backgroundKey) : null;
+		if (background != null)
+		{
+			spritePixels = new Sprite(background.pixels.clone(), WIDTH, HEIGHT);
+		}
+		else
+		{
+			spritePixels = drawModel(graphics, item, itemModel, auxSpritePixels, border, shadowColor, noted);
+
+			if (backgroundKey != null)
+			{
+				backgrounds.putIfAbsent(backgroundKey, new Sprite(spritePixels.pixels.clone(), WIDTH, HEIGHT));
+			}
+		}
+
+		graphics.setRasterBuffer(spritePixels.pixels, WIDTH, HEIGHT);
+		if (item.notedTemplate != -1)
+		{
+			auxSpritePixels.drawAtOn(graphics, 0, 0);
+		}
+
+		graphics.setRasterBuffer(graphics.graphicsPixels,
+				graphics.graphicsPixelsWidth,
+				graphics.graphicsPixelsHeight);
+
+		graphics.setRasterClipping();
+		graphics.rasterGouraudLowRes = true;
+		return spritePixels;
+	}
 
-		Sprite spritePixels = new Sprite(36, 32);
-		Graphics3D graphics = new Graphics3D(rsTextureProvider);
-		graphics.setBrightness(JagexColor.BRIGHTNESS_MAX);
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
+	private static Sprite drawModel(Graphics3D graphics, ItemDefinition item, Model itemModel, Sprite auxSpritePixels,
+		int border, int shadowColor, boolean noted)
+	{
+		Sprite spritePixels = new Sprite(WIDTH, HEIGHT);
+		graphics.setRasterBuffer(spritePixels.pixels, WIDTH, HEIGHT);
 		graphics.reset();
 		graphics.setRasterClipping();
 		graphics.setOffset(16, 16);
@@ -136,7 +360,6 @@ public class ItemSpriteFactory
 		int var17 = zoom2d * Graphics3D.SINE[item.xan2d] >> 16;
 		int var18 = zoom2d * Graphics3D.COSINE[item.xan2d] >> 16;
 
-		itemModel.calculateBoundsCylinder();
 		itemModel.rotateAndProject(graphics, 0,
 				item.yan2d,
 				item.zan2d,
@@ -164,54 +387,91 @@ public class ItemSpriteFactory
 			spritePixels.drawShadow(shadowColor);
 		}
 
-		graphics.setRasterBuffer(spritePixels.pixels, 36, 32);
-		if (item.notedTemplate != -1)
-		{
-			auxSpritePixels.drawAtOn(graphics, 0, 0);
-		}
-
-		graphics.setRasterBuffer(graphics.graphicsPixels,
-				graphics.graphicsPixelsWidth,
-				graphics.graphicsPixelsHeight);
-
-		graphics.setRasterClipping();
-		graphics.rasterGouraudLowRes = true;
 		return spritePixels;
 	}
 
-	private static Model getModel(ModelProvider modelProvider, ItemDefinition item) throws IOException
+	private Model getModel(ModelKey key) throws IOException
 	{
-		Model itemModel;
-		ModelDefinition inventoryModel = modelProvider.provide(item.inventoryModel);
+		Model itemModel = models.get(key);
+		if (itemModel != null)
+		{
+			return itemModel;
+		}
+
+		ModelDefinition inventoryModel = modelProvider.provide(key.inventoryModel);
 		if (inventoryModel == null)
 		{
 			return null;
 		}
 
-		if (item.resizeX != 128 || item.resizeY != 128 || item.resizeZ != 128)
+		if (key.resizeX != 128 || key.resizeY != 128 || key.resizeZ != 128)
 		{
-			inventoryModel.resize(item.resizeX, item.resizeY, item.resizeZ);
+			inventoryModel.resize(key.resizeX, key.resizeY, key.resizeZ);
 		}
 
-		if (item.colorFind != null)
+		if (key.colorFind != null)
 		{
-			for (int i = 0; i < item.colorFind.length; ++i)
+			for (int i = 0; i < key.colorFind.length; ++i)
 			{
-				inventoryModel.recolor(item.colorFind[i], item.colorReplace[i]);
+				inventoryModel.recolor(key.colorFind[i], key.colorReplace[i]);
 			}
 		}
 
-		if (item.textureFind != null)
+		if (key.textureFind != null)
 		{
-			for (int i = 0; i < item.textureFind.length; ++i)
+			for (int i = 0; i < key.textureFind.length; ++i)
 			{
-				inventoryModel.retexture(item.textureFind[i], item.textureReplace[i]);
+				inventoryModel.retexture(key.textureFind[i], key.textureReplace[i]);
 			}
 		}
 
-		itemModel = light(inventoryModel, item.ambient + 64, item.contrast + 768, -50, -10, -50);
+		itemModel = light(inventoryModel, key.ambient + 64, key.contrast + 768, -50, -10, -50);
 		itemModel.isItemModel = true;
-		return itemModel;
+		// calculated before the model is shared, as rendering reads it
+		itemModel.calculateBoundsCylinder();
+
+		Model existing = models.putIfAbsent(key, itemModel);
+		return existing != null ? existing : itemModel;
+	}
+
+	/**
+	 * Everything about an item which affects its lit model
+	 */
+	@Value
+	@AllArgsConstructor
+	private static class ModelKey
+	{
+		int inventoryModel;
+		int resizeX;
+		int resizeY;
+		int resizeZ;
+		short[] colorFind;
+		short[] colorReplace;
+		short[] textureFind;
+		short[] textureReplace;
+		int ambient;
+		int contrast;
+
+		ModelKey(ItemDefinition item)
+		{
+			this(item.inventoryModel, item.resizeX, item.resizeY, item.resizeZ, item.colorFind, item.colorReplace,
+				item.textureFind, item.textureReplace, item.ambient, item.contrast);
+		}
+	}
+
+	@Value
+	private static class BackgroundKey
+	{
+		ModelKey model;
+		int zoom2d;
+		int xan2d;
+		int yan2d;
+		int zan2d;
+		int xOffset2d;
+		int yOffset2d;
+		int border;
+		int shadowColor;
+		boolean noted;
 	}
 
 	private static Model light(ModelDefinition def, int ambient, int contrast, int x, int y, int z)
@@ -25,9 +25,11 @@
 package net.runelite.cache.region;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.LocationsDefinition;
@@ -49,7 +51,7 @@ public class RegionLoader
 	private final Index index;
 	private final KeyProvider keyProvider;
 
-	private final Map<Integer, Region> regions = new HashMap<>();
+	private final Map<Integer, Region> regions = new ConcurrentHashMap<>();
 	private Region lowestX = null, lowestY = null;
 	private Region highestX = null, highestY = null;
 
@@ -80,6 +82,27 @@ public class RegionLoader
 		}
 	}
 
+	/**
+	 * Find the ids of all regions which have map data, without loading them
+	 *
+	 * @return the region ids, in ascending order
+	 */
+	public List<Integer> findRegionIds()
+	{
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+
+			if (index.findArchiveByName("m" + x + "_" + y) != null)
+			{
+				ids.add(i);
+			}
+		}
+		return ids;
+	}
+
 	public Region loadRegionFromArchive(int i) throws IOException
 	{
 		int x = i >> 8;
@@ -128,6 +151,11 @@ public class RegionLoader
 		return r;
 	}
 
+	public void unloadRegion(int id)
+	{
+		regions.remove(id);
+	}
+
 	public void calculateBounds()
 	{
 		for (Region region : regions.values())
@@ -29,6 +29,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Arrays;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
@@ -47,6 +48,16 @@ public class BZip2
 		'1'       // block size
 	};
 
+	private static final byte[] BLOCK_MAGIC = new byte[]
+	{
+		0x31, 0x41, 0x59, 0x26, 0x53, 0x59 // pi
+	};
+
+	private static final byte[] EOS_MAGIC = new byte[]
+	{
+		0x17, 0x72, 0x45, 0x38, 0x50, (byte) 0x90 // sqrt(pi)
+	};
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		InputStream is = new ByteArrayInputStream(bytes);
@@ -83,4 +94,61 @@ public class BZip2
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress headerless bzip2 data of a known decompressed length
+	 * directly into an array of that length.
+	 *
+	 * @param bytes compressed data, without the bzip2 header
+	 * @param offset offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return decompressed data
+	 * @throws IOException if the data is not valid, or does not decompress to the expected length
+	 */
+	public static byte[] decompress(byte[] bytes, int offset, int len, int decompressedLength) throws IOException
+	{
+		// validate the first block before trusting the length
+		if (!startsWith(bytes, offset, len, BLOCK_MAGIC) && !startsWith(bytes, offset, len, EOS_MAGIC))
+		{
+			throw new IOException("Not in BZip2 format");
+		}
+
+		if (decompressedLength < 0)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
+
+		byte[] out = new byte[decompressedLength];
+
+		try (InputStream is = new BZip2CompressorInputStream(new SequenceInputStream(
+			new ByteArrayInputStream(BZIP_HEADER),
+			new ByteArrayInputStream(bytes, offset, len))))
+		{
+			int read = IOUtils.readFully(is, out);
+			if (read != out.length || is.read() != -1)
+			{
+				throw new IOException("Decompressed length mismatch, expected " + decompressedLength);
+			}
+		}
+
+		return out;
+	}
+
+	private static boolean startsWith(byte[] bytes, int offset, int len, byte[] magic)
+	{
+		if (len < magic.length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < magic.length; ++i)
+		{
+			if (bytes[offset + i] != magic[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 }
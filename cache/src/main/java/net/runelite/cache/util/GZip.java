@@ -30,8 +30,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 import org.apache.commons.compress.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,13 @@ public class GZip
 {
 	private static final Logger logger = LoggerFactory.getLogger(GZip.class);
 
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
 	public static byte[] compress(byte[] bytes) throws IOException
 	{
 		InputStream is = new ByteArrayInputStream(bytes);
@@ -64,4 +74,135 @@ public class GZip
 
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompress gzip data of a known decompressed length directly into an
+	 * array of that length, using an inflater reused by the calling thread.
+	 *
+	 * @param bytes compressed data
+	 * @param offset offset of the compressed data
+	 * @param len length of the compressed data
+	 * @param decompressedLength expected length of the decompressed data
+	 * @return decompressed data
+	 * @throws IOException if the data is not valid, does not decompress to the expected length,
+	 * or does not match the crc and length in the gzip trailer
+	 */
+	public static byte[] decompress(byte[] bytes, int offset, int len, int decompressedLength) throws IOException
+	{
+		int pos = skipHeader(bytes, offset, len);
+
+		// validate the header before trusting the length
+		if (decompressedLength < 0)
+		{
+			throw new IOException("Invalid decompressed length " + decompressedLength);
+		}
+
+		byte[] out = new byte[decompressedLength];
+
+		Inflater inflater = INFLATER.get();
+		inflater.reset();
+		inflater.setInput(bytes, pos, offset + len - pos);
+
+		try
+		{
+			int read = 0;
+			while (read < out.length)
+			{
+				int n = inflater.inflate(out, read, out.length - read);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+				{
+					break;
+				}
+				read += n;
+			}
+
+			if (read != out.length || (!inflater.finished() && inflater.inflate(new byte[1]) > 0))
+			{
+				throw new IOException("Decompressed length mismatch, expected " + decompressedLength);
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new IOException(ex);
+		}
+
+		if (!inflater.finished() || inflater.getRemaining() < 8)
+		{
+			throw new IOException("Truncated GZIP data");
+		}
+
+		int trailer = offset + len - inflater.getRemaining();
+		CRC32 crc = new CRC32();
+		crc.update(out, 0, out.length);
+		if (readInt(bytes, trailer) != (int) crc.getValue())
+		{
+			throw new IOException("GZIP crc mismatch");
+		}
+		if (readInt(bytes, trailer + 4) != out.length)
+		{
+			throw new IOException("GZIP length mismatch");
+		}
+
+		return out;
+	}
+
+	private static int readInt(byte[] bytes, int pos)
+	{
+		// the gzip trailer is little endian
+		return (bytes[pos] & 0xFF)
+			| (bytes[pos + 1] & 0xFF) << 8
+			| (bytes[pos + 2] & 0xFF) << 16
+			| (bytes[pos + 3] & 0xFF) << 24;
+	}
+
+	private static int skipHeader(byte[] bytes, int offset, int len) throws IOException
+	{
+		int end = offset + len;
+		if (len < 10
+			|| (bytes[offset] & 0xFF) != 0x1F
+			|| (bytes[offset + 1] & 0xFF) != 0x8B
+			|| bytes[offset + 2] != 8)
+		{
+			throw new IOException("Not in GZIP format");
+		}
+
+		int flags = bytes[offset + 3] & 0xFF;
+		int pos = offset + 10;
+
+		if ((flags & FEXTRA) != 0)
+		{
+			if (pos + 2 > end)
+			{
+				throw new IOException("Truncated GZIP header");
+			}
+			pos += 2 + ((bytes[pos] & 0xFF) | ((bytes[pos + 1] & 0xFF) << 8));
+		}
+		if ((flags & FNAME) != 0)
+		{
+			pos = skipString(bytes, pos, end);
+		}
+		if ((flags & FCOMMENT) != 0)
+		{
+			pos = skipString(bytes, pos, end);
+		}
+		if ((flags & FHCRC) != 0)
+		{
+			pos += 2;
+		}
+
+		if (pos > end)
+		{
+			throw new IOException("Truncated GZIP header");
+		}
+		return pos;
+	}
+
+	private static int skipString(byte[] bytes, int pos, int end)
+	{
+		while (pos < end && bytes[pos] != 0)
+		{
+			++pos;
+		}
+		return pos + 1; // null terminator
+	}
 }
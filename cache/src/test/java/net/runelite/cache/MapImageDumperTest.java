@@ -75,6 +75,33 @@ public class MapImageDumperTest
 		}
 	}
 
+	@Test
+	@Ignore
+	public void dumpMapTiles() throws IOException
+	{
+		File base = StoreLocation.LOCATION,
+			outDir = folder.newFolder();
+
+		try (Store store = new Store(base))
+		{
+			store.load();
+
+			XteaKeyManager keyManager = new XteaKeyManager();
+			keyManager.loadKeys(null);
+
+			MapImageDumper dumper = new MapImageDumper(store, keyManager)
+				.setPreloadRegions(false);
+			dumper.load();
+
+			for (int i = 0; i < Region.Z; ++i)
+			{
+				long start = System.nanoTime();
+				dumper.drawMapTiles(i, 8, outDir);
+				logger.info("Wrote tiles for plane {} to {} in {}ms", i, outDir, (System.nanoTime() - start) / 1_000_000L);
+			}
+		}
+	}
+
 	@Test
 	@Ignore
 	public void dumpRegions() throws Exception
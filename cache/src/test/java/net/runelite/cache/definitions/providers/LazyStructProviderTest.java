@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.definitions.providers;
+
+import java.io.File;
+import java.io.IOException;
+import net.runelite.cache.ConfigType;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.definitions.StructDefinition;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.FSFile;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LazyStructProviderTest
+{
+	private static final int NUMBER_OF_STRUCTS = 3;
+
+	@Rule
+	public TemporaryFolder folder = StoreLocation.getTemporaryFolder();
+
+	@Test
+	public void testProvide() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(IndexType.CONFIGS.getNumber());
+			Archive archive = index.addArchive(ConfigType.STRUCT.getId());
+			archive.setFileData(new FileData[NUMBER_OF_STRUCTS]);
+
+			ArchiveFiles files = new ArchiveFiles();
+			for (int i = 0; i < NUMBER_OF_STRUCTS; ++i)
+			{
+				FileData fileData = archive.getFileData()[i] = new FileData();
+				fileData.setId(i);
+
+				FSFile file = new FSFile(i);
+				// a struct with no params
+				file.setContents(new byte[]{0});
+				files.addFile(file);
+			}
+
+			Container container = new Container(CompressionType.GZ, -1);
+			container.compress(files.saveContents(), null);
+			store.getStorage().saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+
+			LazyStructProvider provider = new LazyStructProvider(new ConfigFiles(store), 2);
+			DefinitionCache<StructDefinition> cache = provider.getCache();
+
+			StructDefinition struct = provider.provide(0);
+			Assert.assertNotNull(struct);
+			Assert.assertEquals(0, struct.getId());
+			Assert.assertSame(struct, provider.provide(0));
+			Assert.assertEquals(1, cache.getHits());
+			Assert.assertEquals(1, cache.getMisses());
+
+			Assert.assertNull(provider.provide(NUMBER_OF_STRUCTS));
+			Assert.assertEquals(1, cache.size());
+
+			// 0 is evicted as the least recently used
+			provider.provide(1);
+			provider.provide(2);
+			Assert.assertEquals(2, cache.size());
+			Assert.assertNotSame(struct, provider.provide(0));
+			Assert.assertEquals(1, cache.getHits());
+			Assert.assertEquals(5, cache.getMisses());
+		}
+	}
+}
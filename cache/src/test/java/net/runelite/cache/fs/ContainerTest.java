@@ -26,8 +26,11 @@ package net.runelite.cache.fs;
 
 import java.io.IOException;
 import java.util.Random;
+import static net.runelite.cache.fs.jagex.CompressionType.BZ2;
 import static net.runelite.cache.fs.jagex.CompressionType.GZ;
+import static net.runelite.cache.fs.jagex.CompressionType.NONE;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 public class ContainerTest
@@ -52,4 +55,60 @@ public class ContainerTest
 		assertArrayEquals(data, container.data);
 	}
 
+	@Test
+	public void testDecompressLarge() throws IOException
+	{
+		int[] keys = new int[]
+		{
+			4, 8, 15, 16
+		};
+		byte[] data = new byte[2_500_000];
+		for (int i = 0; i < data.length; ++i)
+		{
+			data[i] = (byte) (i % 251);
+		}
+
+		for (int compression : new int[]{NONE, BZ2, GZ})
+		{
+			for (int[] k : new int[][]{null, keys})
+			{
+				Container container = new Container(compression, 7);
+				container.compress(data, k);
+				byte[] compressedData = container.data;
+
+				Container res = Container.decompress(compressedData, k);
+				assertArrayEquals(data, res.data);
+				assertEquals(7, res.revision);
+				assertEquals(compression, res.compression);
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testDecompressWrongKeys() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(42L).nextBytes(data);
+
+		Container container = new Container(GZ, -1);
+		container.compress(data, new int[]{4, 8, 15, 16});
+
+		Container.decompress(container.data, new int[]{23, 42, 4, 8});
+	}
+
+	@Test(expected = IOException.class)
+	public void testDecompressCorruptTrailer() throws IOException
+	{
+		byte[] data = new byte[1024];
+		new Random(42L).nextBytes(data);
+
+		Container container = new Container(GZ, -1);
+		container.compress(data, null);
+
+		// the gzip crc32 is the first half of the trailer at the end of the container
+		byte[] compressedData = container.data;
+		compressedData[compressedData.length - 8] ^= 1;
+
+		Container.decompress(compressedData, null);
+	}
 }
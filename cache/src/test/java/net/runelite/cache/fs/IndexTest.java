@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs;
+
+import net.runelite.cache.util.Djb2;
+import org.junit.Test;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IndexTest
+{
+	@Test
+	public void testGetArchive()
+	{
+		Index index = new Index(0);
+		Archive archive = index.addArchive(3);
+		Archive archive2 = index.addArchive(7);
+
+		assertSame(archive, index.getArchive(3));
+		assertSame(archive2, index.getArchive(7));
+		assertNull(index.getArchive(5));
+	}
+
+	@Test
+	public void testFindArchiveByName()
+	{
+		Index index = new Index(0);
+		Archive archive = index.addArchive(0);
+		archive.setNameHash(Djb2.hash("m50_50"));
+
+		assertSame(archive, index.findArchiveByName("m50_50"));
+		assertNull(index.findArchiveByName("l50_50"));
+
+		Archive archive2 = index.addArchive(1);
+		archive2.setNameHash(Djb2.hash("l50_50"));
+		assertSame(archive2, index.findArchiveByName("l50_50"));
+
+		archive.setNameHash(Djb2.hash("m51_50"));
+		assertNull(index.findArchiveByName("m50_50"));
+		assertSame(archive, index.findArchiveByName("m51_50"));
+	}
+}
@@ -26,8 +26,12 @@ package net.runelite.cache.fs;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.jagex.CompressionType;
 import net.runelite.cache.index.FileData;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -148,4 +152,45 @@ public class StoreTest
 			}
 		}
 	}
+
+	@Test
+	public void testLoadAll() throws IOException
+	{
+		File root = folder.newFolder();
+
+		try (Store store = new Store(root))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < NUMBER_OF_FILES; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setFileData(new FileData[1]);
+				archive.getFileData()[0] = new FileData();
+
+				Container container = new Container(CompressionType.GZ, -1);
+				container.compress(("archive " + i).getBytes(), null);
+				store.getStorage().saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		try (Store store = new Store(root))
+		{
+			store.load();
+
+			List<Integer> ids = new ArrayList<>();
+			store.loadAll(store.findIndex(0), ForkJoinPool.commonPool(), (archive, files) ->
+			{
+				Assert.assertEquals("archive " + archive.getArchiveId(), new String(files.getFiles().get(0).getContents()));
+				ids.add(archive.getArchiveId());
+			});
+
+			Assert.assertEquals(NUMBER_OF_FILES, ids.size());
+			for (int i = 0; i < NUMBER_OF_FILES; ++i)
+			{
+				Assert.assertEquals(i, (int) ids.get(i));
+			}
+		}
+	}
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.flat;
+
+import java.io.File;
+import java.nio.file.Files;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Container;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.fs.jagex.CompressionType;
+import net.runelite.cache.index.FileData;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinaryFlatStorageTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testConvert() throws Exception
+	{
+		File flat = folder.newFolder();
+		File binary = folder.newFolder();
+		File flat2 = folder.newFolder();
+
+		FlatStorage storage = new FlatStorage(flat);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			index.setRevision(7);
+			index.setCrc(42);
+
+			for (int i = 0; i < 3; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				archive.setNameHash(i * 31);
+				archive.setRevision(i);
+				archive.setFileData(new FileData[]{new FileData()});
+
+				if (i == 1)
+				{
+					// archive without contents
+					archive.setHash(new byte[]{1, 2, 3});
+					continue;
+				}
+
+				Container container = new Container(CompressionType.GZ, i);
+				container.compress(("archive " + i).getBytes(), null);
+				storage.saveArchive(archive, container.data);
+			}
+
+			store.save();
+		}
+
+		BinaryFlatStorage.fromFlatStorage(flat, binary);
+		BinaryFlatStorage.toFlatStorage(binary, flat2);
+
+		assertArrayEquals(Files.readAllBytes(new File(flat, "0.flatcache").toPath()),
+			Files.readAllBytes(new File(flat2, "0.flatcache").toPath()));
+
+		BinaryFlatStorage binaryStorage = new BinaryFlatStorage(binary);
+		try (Store store = new Store(binaryStorage);
+			Store flatStore = new Store(new FlatStorage(flat)))
+		{
+			store.load();
+			flatStore.load();
+			assertEquals(flatStore, store);
+
+			Index index = store.findIndex(0);
+			assertEquals(7, index.getRevision());
+			assertEquals(42, index.getCrc());
+
+			Archive archive = index.getArchive(2);
+			assertArrayEquals("archive 2".getBytes(), Container.decompress(binaryStorage.loadArchive(archive), null).data);
+			assertNull(binaryStorage.loadArchive(index.getArchive(1)));
+			assertArrayEquals(new byte[]{1, 2, 3}, index.getArchive(1).getHash());
+		}
+	}
+
+	@Test
+	public void testSaveModified() throws Exception
+	{
+		File binary = folder.newFolder();
+
+		BinaryFlatStorage storage = new BinaryFlatStorage(binary);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(3);
+			Archive archive = index.addArchive(0);
+			archive.setFileData(new FileData[]{new FileData()});
+
+			Container container = new Container(CompressionType.NONE, -1);
+			container.compress("one".getBytes(), null);
+			storage.saveArchive(archive, container.data);
+			store.save();
+
+			container.compress("two".getBytes(), null);
+			storage.saveArchive(archive, container.data);
+			store.save();
+
+			assertArrayEquals("two".getBytes(), Container.decompress(storage.loadArchive(archive), null).data);
+		}
+
+		storage = new BinaryFlatStorage(binary);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+
+			Archive archive = store.findIndex(3).getArchive(0);
+			assertArrayEquals("two".getBytes(), Container.decompress(storage.loadArchive(archive), null).data);
+		}
+	}
+}
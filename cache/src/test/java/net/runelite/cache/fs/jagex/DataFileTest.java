@@ -167,4 +167,90 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testReadOnly() throws IOException
+	{
+		byte[] b = new byte[4096];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		File file = folder.newFile();
+
+		DataFileWriteResult res, res2;
+		try (DataFile df = new DataFile(file))
+		{
+			Container container = new Container(CompressionType.NONE, 42);
+			container.compress(b, null);
+			res = df.write(42, 3, container.data);
+			res2 = df.write(42, 0x1FFFF, container.data);
+		}
+
+		try (DataFile df = new DataFile(file, true))
+		{
+			Assert.assertTrue(df.isReadOnly());
+
+			byte[] compressedData = df.read(42, 3, res.sector, res.compressedLength);
+			Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+			compressedData = df.read(42, 0x1FFFF, res2.sector, res2.compressedLength);
+			Assert.assertArrayEquals(b, Container.decompress(compressedData, null).data);
+
+			Assert.assertNull(df.read(41, 3, res.sector, res.compressedLength));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadOnlyWrite() throws IOException
+	{
+		File file = folder.newFile();
+
+		try (DataFile df = new DataFile(file, true))
+		{
+			df.write(42, 3, "test".getBytes());
+		}
+	}
+
+	@Test
+	public void testFreeSectorReuse() throws IOException
+	{
+		byte[] b = new byte[2048];
+		for (int i = 0; i < b.length; ++i)
+		{
+			b[i] = (byte) i;
+		}
+
+		File file = folder.newFile();
+
+		try (DataFile df = new DataFile(file))
+		{
+			DataFileWriteResult res = df.write(42, 3, b);
+			DataFileWriteResult res2 = df.write(42, 4, b);
+			long length = file.length();
+
+			df.free(42, 3, res.sector, res.compressedLength);
+			// not reusable until released
+			Assert.assertEquals(0, df.getFreeSectorCount());
+			df.releaseFreedSectors();
+			Assert.assertEquals(4, df.getFreeSectorCount());
+
+			// sectors owned by another archive are not freed
+			df.free(42, 5, res2.sector, res2.compressedLength);
+			df.releaseFreedSectors();
+			Assert.assertEquals(4, df.getFreeSectorCount());
+
+			// reuses the freed chain and appends the remainder
+			byte[] b2 = new byte[3000];
+			System.arraycopy(b, 0, b2, 0, b.length);
+			DataFileWriteResult res3 = df.write(42, 6, b2);
+			Assert.assertEquals(res.sector, res3.sector);
+			Assert.assertEquals(0, df.getFreeSectorCount());
+			Assert.assertTrue(file.length() > length);
+
+			Assert.assertArrayEquals(b2, df.read(42, 6, res3.sector, res3.compressedLength));
+			Assert.assertArrayEquals(b, df.read(42, 4, res2.sector, res2.compressedLength));
+		}
+	}
 }
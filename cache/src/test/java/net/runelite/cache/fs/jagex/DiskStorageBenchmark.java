@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares reading every archive of the test cache through the locked
+ * RandomAccessFile path and the read only memory mapped path.
+ */
+public class DiskStorageBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(DiskStorageBenchmark.class);
+
+	private static final int WARMUP = 3;
+	private static final int ITERATIONS = 10;
+
+	@Test
+	@Ignore
+	public void benchmark() throws Exception
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+
+		for (boolean readOnly : new boolean[]{false, true})
+		{
+			DiskStorage storage = new DiskStorage(StoreLocation.LOCATION, readOnly);
+			try (Store store = new Store(storage))
+			{
+				store.load();
+
+				List<Archive> archives = new ArrayList<>();
+				for (Index index : store.getIndexes())
+				{
+					archives.addAll(index.getArchives());
+				}
+
+				ExecutorService executor = Executors.newFixedThreadPool(threads);
+				try
+				{
+					for (int i = 0; i < WARMUP; ++i)
+					{
+						readAll(storage, archives, executor, threads);
+					}
+
+					long start = System.nanoTime();
+					long bytes = 0L;
+					for (int i = 0; i < ITERATIONS; ++i)
+					{
+						bytes += readAll(storage, archives, executor, threads);
+					}
+					long elapsed = System.nanoTime() - start;
+
+					logger.info("{}: {} archives, {} threads, {} ms/op, {} MB/s",
+						readOnly ? "mapped" : "random access file",
+						archives.size(), threads,
+						elapsed / ITERATIONS / 1_000_000L,
+						bytes * 1_000L / elapsed);
+				}
+				finally
+				{
+					executor.shutdown();
+				}
+			}
+		}
+	}
+
+	private static long readAll(DiskStorage storage, List<Archive> archives, ExecutorService executor, int threads) throws Exception
+	{
+		AtomicLong bytes = new AtomicLong();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; ++t)
+		{
+			int offset = t;
+			futures.add(executor.submit(() ->
+			{
+				for (int i = offset; i < archives.size(); i += threads)
+				{
+					byte[] data = storage.loadArchive(archives.get(i));
+					if (data != null)
+					{
+						bytes.addAndGet(data.length);
+					}
+				}
+				return null;
+			}));
+		}
+
+		for (Future<?> future : futures)
+		{
+			future.get();
+		}
+		return bytes.get();
+	}
+}
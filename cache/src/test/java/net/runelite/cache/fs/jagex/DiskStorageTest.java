@@ -99,4 +99,191 @@ public class DiskStorageTest
 		}
 	}
 
+	@Test
+	public void testReadOnly() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			Archive archive = index.addArchive(0);
+
+			FileData[] fileData = new FileData[1];
+			archive.setFileData(fileData);
+			fileData[0] = new FileData();
+
+			Container container = new Container(archive.getCompression(), -1);
+			container.compress("test".getBytes(), null);
+			storage.saveArchive(archive, container.data);
+
+			store.save();
+		}
+
+		storage = new DiskStorage(file, true);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+			Archive archive = store.findIndex(0).getArchive(0);
+
+			byte[] data = archive.decompress(storage.loadArchive(archive));
+			assertArrayEquals("test".getBytes(), data);
+		}
+	}
+
+	@Test
+	public void testCompact() throws Exception
+	{
+		File file = folder.newFolder();
+		DiskStorage storage = new DiskStorage(file);
+		File dat = new File(file, "main_file_cache.dat2");
+		try (Store store = new Store(storage))
+		{
+			Index index = store.addIndex(0);
+			for (int i = 0; i < 8; ++i)
+			{
+				Archive archive = index.addArchive(i);
+				FileData[] fileData = new FileData[1];
+				archive.setFileData(fileData);
+				fileData[0] = new FileData();
+			}
+
+			for (int revision = 0; revision < 4; ++revision)
+			{
+				for (Archive archive : index.getArchives())
+				{
+					byte[] data = new byte[1000 + archive.getArchiveId() * 100];
+					data[0] = (byte) revision;
+
+					Container container = new Container(CompressionType.NONE, revision);
+					container.compress(data, null);
+					archive.setRevision(revision);
+					storage.saveArchive(archive, container.data);
+				}
+
+				store.save();
+			}
+
+			long length = dat.length();
+			storage.compact();
+			assertTrue(dat.length() <= length);
+
+			Index index2 = store.findIndex(0);
+			for (Archive archive : index2.getArchives())
+			{
+				byte[] data = archive.decompress(storage.loadArchive(archive));
+				assertEquals(1000 + archive.getArchiveId() * 100, data.length);
+				assertEquals(3, data[0]);
+			}
+		}
+
+		storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+
+			for (Archive archive : store.findIndex(0).getArchives())
+			{
+				byte[] data = archive.decompress(storage.loadArchive(archive));
+				assertEquals(3, data[0]);
+			}
+		}
+	}
+
+	@Test
+	public void testCompactUnopenedIndexes() throws Exception
+	{
+		File file = folder.newFolder();
+		try (Store store = new Store(new DiskStorage(file)))
+		{
+			// index 1 is never written, so it has no index file
+			for (int i = 0; i < 3; i += 2)
+			{
+				Index index = store.addIndex(i);
+				for (int j = 0; j < 4; ++j)
+				{
+					saveArchive(store, index.addArchive(j), i * 10 + j);
+				}
+			}
+			store.save();
+		}
+
+		// without init() no index files have been opened yet
+		DiskStorage storage = new DiskStorage(file);
+		storage.compact();
+		storage.close();
+
+		assertFalse(new File(file, "main_file_cache.idx1").exists());
+
+		storage = new DiskStorage(file);
+		try (Store store = new Store(storage))
+		{
+			store.load();
+
+			assertEquals(3, store.getIndexes().size());
+			for (Index index : store.getIndexes())
+			{
+				assertEquals(index.getId() == 1 ? 0 : 4, index.getArchives().size());
+				for (Archive archive : index.getArchives())
+				{
+					byte[] data = archive.decompress(storage.loadArchive(archive));
+					assertEquals(index.getId() * 10 + archive.getArchiveId(), data[0]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testFreedSectorsReusedAfterSave() throws Exception
+	{
+		File file = folder.newFolder();
+		File dat = new File(file, "main_file_cache.dat2");
+		try (Store store = new Store(new DiskStorage(file)))
+		{
+			Archive archive = store.addIndex(0).addArchive(0);
+			saveArchive(store, archive, 1);
+			store.save();
+
+			// the old sectors are still referenced by the synced index, so are not overwritten
+			long length = dat.length();
+			saveArchive(store, archive, 2);
+			assertTrue(dat.length() > length);
+
+			length = dat.length();
+			saveArchive(store, archive, 3);
+			assertTrue(dat.length() > length);
+
+			// once saved, the sectors freed before are reused
+			store.save();
+			length = dat.length();
+			saveArchive(store, archive, 4);
+			assertEquals(length, dat.length());
+		}
+	}
+
+	private static void saveArchive(Store store, Archive archive, int value) throws Exception
+	{
+		FileData[] fileData = new FileData[1];
+		fileData[0] = new FileData();
+		archive.setFileData(fileData);
+
+		byte[] data = new byte[1000];
+		data[0] = (byte) value;
+
+		Container container = new Container(CompressionType.NONE, -1);
+		container.compress(data, null);
+		store.getStorage().saveArchive(archive, container.data);
+	}
+
+	@Test
+	public void testIncompleteCompaction() throws Exception
+	{
+		File file = folder.newFolder();
+		File stray = new File(file, "main_file_cache.dat2.compact");
+		assertTrue(stray.createNewFile());
+
+		new DiskStorage(file).close();
+
+		assertFalse(stray.exists());
+	}
 }
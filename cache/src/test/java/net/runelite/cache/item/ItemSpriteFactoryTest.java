@@ -27,6 +27,10 @@ package net.runelite.cache.item;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.cache.IndexType;
@@ -36,11 +40,13 @@ import net.runelite.cache.StoreLocation;
 import net.runelite.cache.TextureManager;
 import net.runelite.cache.definitions.ItemDefinition;
 import net.runelite.cache.definitions.ModelDefinition;
+import net.runelite.cache.definitions.TextureDefinition;
 import net.runelite.cache.definitions.loaders.ModelLoader;
 import net.runelite.cache.definitions.providers.ModelProvider;
 import net.runelite.cache.fs.Archive;
 import net.runelite.cache.fs.Index;
 import net.runelite.cache.fs.Store;
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -116,4 +122,88 @@ public class ItemSpriteFactoryTest
 
 		log.info("Dumped {} item images to {}", count, outDir);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCreateSprites() throws IOException
+	{
+		Map<Integer, ItemDefinition> items = new HashMap<>();
+
+		ItemDefinition item = new ItemDefinition(0);
+		item.inventoryModel = 0;
+		items.put(item.id, item);
+
+		ItemDefinition template = new ItemDefinition(1);
+		template.inventoryModel = 1;
+		template.zoom2d = 1000;
+		items.put(template.id, template);
+
+		ItemDefinition noted = new ItemDefinition(2);
+		noted.notedTemplate = template.id;
+		noted.notedID = item.id;
+		noted.linkNote(template, item);
+		items.put(noted.id, noted);
+
+		ItemSpriteFactory factory = new ItemSpriteFactory(items::get, ItemSpriteFactoryTest::createCube,
+			(spriteId, frameId) -> null, () -> new TextureDefinition[0]);
+
+		int[] itemIds = {0, 2, 0, 2};
+		int[] quantities = {1, 1, 1, 1};
+		BufferedImage[] sprites = new BufferedImage[itemIds.length];
+		factory.createSprites(itemIds, quantities, 1, 3153952, ForkJoinPool.commonPool(),
+			(index, itemId, quantity, image) -> sprites[index] = image);
+
+		BufferedImage atlas = factory.createAtlas(itemIds, quantities, 1, 3153952, 3, ForkJoinPool.commonPool());
+		Assert.assertEquals(3 * 36, atlas.getWidth());
+		Assert.assertEquals(2 * 32, atlas.getHeight());
+
+		for (int i = 0; i < itemIds.length; ++i)
+		{
+			BufferedImage expected = ItemSpriteFactory.createSprite(items::get, ItemSpriteFactoryTest::createCube,
+				(spriteId, frameId) -> null, () -> new TextureDefinition[0], itemIds[i], quantities[i], 1, 3153952, false);
+
+			int[] expectedPixels = expected.getRGB(0, 0, 36, 32, null, 0, 36);
+			Assert.assertArrayEquals(expectedPixels, sprites[i].getRGB(0, 0, 36, 32, null, 0, 36));
+			Assert.assertArrayEquals(expectedPixels, atlas.getRGB((i % 3) * 36, (i / 3) * 32, 36, 32, null, 0, 36));
+		}
+
+		// the note is drawn on top of the note background
+		Assert.assertFalse(Arrays.equals(sprites[0].getRGB(0, 0, 36, 32, null, 0, 36), sprites[1].getRGB(0, 0, 36, 32, null, 0, 36)));
+	}
+
+	private static ModelDefinition createCube(int modelId)
+	{
+		int size = 40 + modelId * 20;
+
+		ModelDefinition model = new ModelDefinition();
+		model.id = modelId;
+		model.vertexCount = 8;
+		model.vertexX = new int[8];
+		model.vertexY = new int[8];
+		model.vertexZ = new int[8];
+		for (int i = 0; i < 8; ++i)
+		{
+			model.vertexX[i] = (i & 1) != 0 ? size : -size;
+			model.vertexY[i] = (i & 2) != 0 ? size : -size;
+			model.vertexZ[i] = (i & 4) != 0 ? size : -size;
+		}
+
+		int[][] faces = {
+			{0, 1, 3}, {0, 3, 2}, {4, 6, 7}, {4, 7, 5},
+			{0, 4, 5}, {0, 5, 1}, {2, 3, 7}, {2, 7, 6},
+			{0, 2, 6}, {0, 6, 4}, {1, 5, 7}, {1, 7, 3}
+		};
+		model.faceCount = faces.length;
+		model.faceIndices1 = new int[faces.length];
+		model.faceIndices2 = new int[faces.length];
+		model.faceIndices3 = new int[faces.length];
+		model.faceColors = new short[faces.length];
+		for (int i = 0; i < faces.length; ++i)
+		{
+			model.faceIndices1[i] = faces[i][0];
+			model.faceIndices2[i] = faces[i][1];
+			model.faceIndices3[i] = faces[i][2];
+			model.faceColors[i] = (short) (modelId == 0 ? 0x1234 + i * 100 : 0x7f00);
+		}
+		return model;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.region;
+
+import java.io.IOException;
+import net.runelite.cache.IndexType;
+import net.runelite.cache.MapImageDumper;
+import net.runelite.cache.StoreLocation;
+import net.runelite.cache.fs.Archive;
+import net.runelite.cache.fs.Index;
+import net.runelite.cache.fs.Store;
+import net.runelite.cache.util.Djb2;
+import net.runelite.cache.util.XteaKeyManager;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times the archive name lookups done when loading every region, against a
+ * linear scan of the index, and the region and map image loads built on them.
+ */
+public class RegionLoaderBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(RegionLoaderBenchmark.class);
+
+	private static final int MAX_REGION = 32768;
+	private static final int ITERATIONS = 5;
+
+	@Test
+	@Ignore
+	public void benchmark() throws IOException
+	{
+		try (Store store = new Store(StoreLocation.LOCATION))
+		{
+			store.load();
+
+			Index index = store.getIndex(IndexType.MAPS);
+
+			long start = System.nanoTime();
+			int found = 0;
+			for (int i = 0; i < ITERATIONS; ++i)
+			{
+				found += lookupIndexed(index);
+			}
+			logger.info("indexed lookup: {} ms/op ({} archives)", (System.nanoTime() - start) / ITERATIONS / 1_000_000L, found / ITERATIONS);
+
+			start = System.nanoTime();
+			found = 0;
+			for (int i = 0; i < ITERATIONS; ++i)
+			{
+				found += lookupLinear(index);
+			}
+			logger.info("linear lookup: {} ms/op ({} archives)", (System.nanoTime() - start) / ITERATIONS / 1_000_000L, found / ITERATIONS);
+
+			XteaKeyManager keyManager = new XteaKeyManager();
+			keyManager.loadKeys(null);
+
+			start = System.nanoTime();
+			RegionLoader regionLoader = new RegionLoader(store, keyManager);
+			regionLoader.loadRegions();
+			logger.info("RegionLoader.loadRegions: {} ms", (System.nanoTime() - start) / 1_000_000L);
+
+			start = System.nanoTime();
+			MapImageDumper dumper = new MapImageDumper(store, keyManager);
+			dumper.load();
+			logger.info("MapImageDumper.load: {} ms", (System.nanoTime() - start) / 1_000_000L);
+		}
+	}
+
+	private static int lookupIndexed(Index index)
+	{
+		int found = 0;
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+			if (index.findArchiveByName("m" + x + "_" + y) != null)
+			{
+				++found;
+			}
+			if (index.findArchiveByName("l" + x + "_" + y) != null)
+			{
+				++found;
+			}
+		}
+		return found;
+	}
+
+	private static int lookupLinear(Index index)
+	{
+		int found = 0;
+		for (int i = 0; i < MAX_REGION; ++i)
+		{
+			int x = i >> 8;
+			int y = i & 0xFF;
+			if (scan(index, "m" + x + "_" + y) != null)
+			{
+				++found;
+			}
+			if (scan(index, "l" + x + "_" + y) != null)
+			{
+				++found;
+			}
+		}
+		return found;
+	}
+
+	private static Archive scan(Index index, String name)
+	{
+		int hash = Djb2.hash(name);
+		for (Archive a : index.getArchives())
+		{
+			if (a.getNameHash() == hash)
+			{
+				return a;
+			}
+		}
+		return null;
+	}
+}
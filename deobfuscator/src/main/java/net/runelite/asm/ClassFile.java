@@ -25,9 +25,11 @@
 package net.runelite.asm;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import lombok.Getter;
 import net.runelite.asm.attributes.Annotated;
 import net.runelite.asm.pool.Class;
@@ -53,6 +55,9 @@ public class ClassFile implements Annotated, Named
 	private final Interfaces interfaces;
 	private final List<Field> fields = new ArrayList<>();
 	private final List<Method> methods = new ArrayList<>();
+	// first field/method in list order by name and type/descriptor
+	private final Map<MemberKey, Field> fieldIndex = new HashMap<>();
+	private final Map<MemberKey, Method> methodIndex = new HashMap<>();
 	@Getter
 	private final Map<Type, Annotation> annotations = new LinkedHashMap<>();
 
@@ -150,11 +155,51 @@ public class ClassFile implements Annotated, Named
 	public void addField(Field field)
 	{
 		fields.add(field);
+		fieldIndex.putIfAbsent(new MemberKey(field.getName(), field.getType()), field);
 	}
 
 	public void removeField(Field field)
 	{
-		fields.remove(field);
+		if (fields.remove(field))
+		{
+			unindexField(field, new MemberKey(field.getName(), field.getType()));
+		}
+	}
+
+	public void clearFields()
+	{
+		fields.clear();
+		fieldIndex.clear();
+	}
+
+	void fieldChanged(Field field, String oldName, Type oldType)
+	{
+		MemberKey oldKey = new MemberKey(oldName, oldType);
+		if (fieldIndex.get(oldKey) != field && !fields.contains(field))
+		{
+			return;
+		}
+
+		unindexField(field, oldKey);
+		fieldIndex.putIfAbsent(new MemberKey(field.getName(), field.getType()), field);
+	}
+
+	private void unindexField(Field field, MemberKey key)
+	{
+		if (fieldIndex.get(key) != field)
+		{
+			return;
+		}
+
+		fieldIndex.remove(key);
+		for (Field f : fields)
+		{
+			if (f != field && f.getName().equals(key.name) && f.getType().equals(key.descriptor))
+			{
+				fieldIndex.put(key, f);
+				break;
+			}
+		}
 	}
 
 	public List<Method> getMethods()
@@ -165,11 +210,45 @@ public class ClassFile implements Annotated, Named
 	public void addMethod(Method method)
 	{
 		methods.add(method);
+		methodIndex.putIfAbsent(new MemberKey(method.getName(), method.getDescriptor()), method);
 	}
 
 	public void removeMethod(Method method)
 	{
-		methods.remove(method);
+		if (methods.remove(method))
+		{
+			unindexMethod(method, new MemberKey(method.getName(), method.getDescriptor()));
+		}
+	}
+
+	void methodChanged(Method method, String oldName, Signature oldDescriptor)
+	{
+		MemberKey oldKey = new MemberKey(oldName, oldDescriptor);
+		if (methodIndex.get(oldKey) != method && !methods.contains(method))
+		{
+			return;
+		}
+
+		unindexMethod(method, oldKey);
+		methodIndex.putIfAbsent(new MemberKey(method.getName(), method.getDescriptor()), method);
+	}
+
+	private void unindexMethod(Method method, MemberKey key)
+	{
+		if (methodIndex.get(key) != method)
+		{
+			return;
+		}
+
+		methodIndex.remove(key);
+		for (Method m : methods)
+		{
+			if (m != method && key.equals(new MemberKey(m.getName(), m.getDescriptor())))
+			{
+				methodIndex.put(key, m);
+				break;
+			}
+		}
 	}
 
 	public String getName()
@@ -234,14 +313,7 @@ public class ClassFile implements Annotated, Named
 
 	public Field findField(String name, Type type)
 	{
-		for (Field f : fields)
-		{
-			if (f.getName().equals(name) && f.getType().equals(type))
-			{
-				return f;
-			}
-		}
-		return null;
+		return fieldIndex.get(new MemberKey(name, type));
 	}
 
 	public Field findField(String name)
@@ -280,25 +352,26 @@ public class ClassFile implements Annotated, Named
 
 	public Method findMethod(String name, Signature type)
 	{
-		for (Method m : methods)
-		{
-			if (m.getName().equals(name) && m.getDescriptor().equals(type))
-			{
-				return m;
-			}
-		}
-		return null;
+		return methodIndex.get(new MemberKey(name, type));
 	}
 
 	public Method findStaticMethod(String name, Signature type)
 	{
-		for (Method m : methods)
+		Method m = findMethod(name, type);
+		if (m == null || m.isStatic())
 		{
-			if (m.isStatic() &&
-				m.getName().equals(name) &&
-				m.getDescriptor().equals(type))
+			return m;
+		}
+
+		// a class can't declare two methods with the same name and descriptor,
+		// so this is only reached if it is being modified
+		for (Method method : methods)
+		{
+			if (method.isStatic() &&
+				method.getName().equals(name) &&
+				method.getDescriptor().equals(type))
 			{
-				return m;
+				return method;
 			}
 		}
 		return null;
@@ -453,4 +526,46 @@ public class ClassFile implements Annotated, Named
 	{
 		this.access &= ~Opcodes.ACC_ABSTRACT;
 	}
+
+	private static final class MemberKey
+	{
+		private final String name;
+		private final Object descriptor; // field type or method descriptor string
+		private final int hash;
+
+		MemberKey(String name, Type type)
+		{
+			this(name, (Object) type);
+		}
+
+		MemberKey(String name, Signature signature)
+		{
+			this(name, (Object) (signature == null ? null : signature.toString()));
+		}
+
+		private MemberKey(String name, Object descriptor)
+		{
+			this.name = name;
+			this.descriptor = descriptor;
+			this.hash = 31 * Objects.hashCode(name) + Objects.hashCode(descriptor);
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof MemberKey))
+			{
+				return false;
+			}
+
+			MemberKey other = (MemberKey) o;
+			return hash == other.hash && Objects.equals(name, other.name) && Objects.equals(descriptor, other.descriptor);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
 }
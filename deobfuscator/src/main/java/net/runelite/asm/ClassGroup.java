@@ -40,6 +40,9 @@ public class ClassGroup implements Iterable<ClassFile>
 {
 	private final List<ClassFile> classes = new ArrayList<>(); // to keep order
 	private final Map<String, ClassFile> classMap = new HashMap<>();
+	// obfuscated name -> class. Annotations can change without the group knowing,
+	// so entries are verified on use and the index is rebuilt when found stale
+	private Map<String, ClassFile> obfuscatedClassMap;
 
 	public void addClass(ClassFile cf)
 	{
@@ -48,12 +51,14 @@ public class ClassGroup implements Iterable<ClassFile>
 
 		classes.add(cf);
 		classMap.put(cf.getName(), cf);
+		obfuscatedClassMap = null;
 	}
 
 	public void removeClass(ClassFile cf)
 	{
 		classes.remove(cf);
 		classMap.remove(cf.getName());
+		obfuscatedClassMap = null;
 	}
 
 	public void renameClass(ClassFile cf, String newName)
@@ -117,6 +122,7 @@ public class ClassGroup implements Iterable<ClassFile>
 	{
 		Method m = null;
 
+		// ClassFile.findStaticMethod is indexed, so this is one lookup per class
 		for (ClassFile cf : classes)
 		{
 			m = cf.findStaticMethod(name, type);
@@ -149,17 +155,49 @@ public class ClassGroup implements Iterable<ClassFile>
 
 	public ClassFile findObfuscatedName(String name)
 	{
-		for (ClassFile cf : classes)
+		if (obfuscatedClassMap == null)
+		{
+			obfuscatedClassMap = buildObfuscatedClassMap();
+		}
+
+		ClassFile cf = obfuscatedClassMap.get(name);
+		if (cf != null && name.equals(getObfuscatedName(cf)))
+		{
+			return cf;
+		}
+
+		// the index may be stale, fall back to searching
+		for (ClassFile c : classes)
 		{
-			if (name.equals(getObfuscatedName(cf)))
+			if (name.equals(getObfuscatedName(c)))
 			{
-				return cf;
+				obfuscatedClassMap = buildObfuscatedClassMap();
+				return c;
 			}
 		}
 
+		if (cf != null)
+		{
+			obfuscatedClassMap = buildObfuscatedClassMap();
+		}
+
 		return findClass(name);
 	}
 
+	private Map<String, ClassFile> buildObfuscatedClassMap()
+	{
+		Map<String, ClassFile> map = new HashMap<>();
+		for (ClassFile cf : classes)
+		{
+			String obfuscatedName = getObfuscatedName(cf);
+			if (obfuscatedName != null)
+			{
+				map.putIfAbsent(obfuscatedName, cf);
+			}
+		}
+		return map;
+	}
+
 	@NotNull
 	@Override
 	public Iterator<ClassFile> iterator()
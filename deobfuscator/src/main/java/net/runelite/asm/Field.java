@@ -117,7 +117,12 @@ public class Field implements Annotated, Named
 
 	public void setName(String name)
 	{
+		String oldName = this.name;
 		this.name = name;
+		if (classFile != null)
+		{
+			classFile.fieldChanged(this, oldName, type);
+		}
 	}
 
 	public Type getType()
@@ -127,7 +132,12 @@ public class Field implements Annotated, Named
 
 	public void setType(Type type)
 	{
+		Type oldType = this.type;
 		this.type = type;
+		if (classFile != null)
+		{
+			classFile.fieldChanged(this, name, oldType);
+		}
 	}
 
 	public Type getObfuscatedType()
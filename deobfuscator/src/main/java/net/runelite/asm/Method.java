@@ -181,7 +181,12 @@ public class Method implements Annotated, Named
 
 	public void setName(String name)
 	{
+		String oldName = this.name;
 		this.name = name;
+		if (classFile != null)
+		{
+			classFile.methodChanged(this, oldName, arguments);
+		}
 	}
 
 	public Signature getDescriptor()
@@ -191,7 +196,12 @@ public class Method implements Annotated, Named
 
 	public void setDescriptor(Signature signature)
 	{
+		Signature oldDescriptor = this.arguments;
 		this.arguments = signature;
+		if (classFile != null)
+		{
+			classFile.methodChanged(this, name, oldDescriptor);
+		}
 	}
 
 	public Signature getObfuscatedSignature()
@@ -26,14 +26,16 @@ package net.runelite.asm.execution;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Field;
@@ -49,10 +51,11 @@ public class Execution
 	private static final Logger logger = LoggerFactory.getLogger(Execution.class);
 
 	private final ClassGroup group;
-	public List<Frame> frames = new ArrayList<>(), framesOther = new ArrayList<>();
-	public Set<Instruction> executed = new HashSet<>(); // executed instructions
+	public Deque<Frame> frames = new ArrayDeque<>();
+	private final Map<Method, Deque<Frame>> framesOther = new LinkedHashMap<>(); // pending frames of other methods, in the order first seen
+	public Set<Instruction> executed = Sets.newIdentityHashSet(); // executed instructions
 	private Multimap<WeakInstructionContext, Method> stepInvokes = HashMultimap.create();
-	private Set<Method> invokes = new HashSet<>();
+	private Set<Method> invokes = Sets.newIdentityHashSet();
 	public boolean paused;
 	public boolean step = false;
 	public boolean noInvoke = false;
@@ -63,6 +66,8 @@ public class Execution
 	private final Map<Object, Integer> accesses = new HashMap<>();
 	public boolean staticStep; // whether to step through static methods
 	public boolean noExceptions;
+	public boolean recycleFrames; // reuse the stack and variables of finished frames
+	private final FramePool framePool = new FramePool();
 
 	public Execution(ClassGroup group)
 	{
@@ -131,13 +136,7 @@ public class Execution
 	{
 		if (!step && !staticStep)
 		{
-			if (invokes.contains(to))
-			{
-				return true;
-			}
-
-			invokes.add(to);
-			return false;
+			return !invokes.add(to);
 		}
 
 		// The step executor needs to be able to step into static methods,
@@ -146,29 +145,59 @@ public class Execution
 		//
 		// So, check that the stack is unique too. invoke() doesn't get this
 		// far in the step executor, but does for staticStep
-		Collection<Method> methods = stepInvokes.get(from.toWeak());
-		if (methods != null && methods.contains(to))
-		{
-			return true;
-		}
-
-		stepInvokes.put(from.toWeak(), to);
-		return false;
+		return !stepInvokes.put(from.toWeak(), to);
 	}
 
 	public void addFrame(Frame frame)
 	{
 		// this is to keep frames with same methodcontext together to reduce memory
-		if (frames.isEmpty() || frames.get(0).getMethod() == frame.getMethod())
+		if (frames.isEmpty() || frames.getFirst().getMethod() == frame.getMethod())
 		{
 			frames.add(frame);
 		}
 		else
 		{
-			framesOther.add(frame);
+			framesOther.computeIfAbsent(frame.getMethod(), k -> new ArrayDeque<>()).add(frame);
 		}
 	}
 
+	/**
+	 * Replace a pending frame with another, keeping its position. If the frame
+	 * is not pending the replacement is appended.
+	 */
+	void replaceFrame(Frame frame, Frame replacement)
+	{
+		if (frames.peekFirst() == frame)
+		{
+			frames.removeFirst();
+			frames.addFirst(replacement);
+			return;
+		}
+
+		if (!frames.contains(frame))
+		{
+			frames.add(replacement);
+			return;
+		}
+
+		Deque<Frame> replaced = new ArrayDeque<>(frames.size());
+		for (Frame f : frames)
+		{
+			replaced.add(f == frame ? replacement : f);
+		}
+		frames = replaced;
+	}
+
+	Stack newStack(int size)
+	{
+		return recycleFrames ? framePool.getStack(size) : new Stack(size);
+	}
+
+	Variables newVariables(int size)
+	{
+		return recycleFrames ? framePool.getVariables(size) : new Variables(size);
+	}
+
 	public Frame invoke(InstructionContext from, Method to)
 	{
 		if (step) // step executor
@@ -223,7 +252,7 @@ public class Execution
 		int fcount = 0;
 		while (!frames.isEmpty())
 		{
-			Frame frame = frames.get(0);
+			Frame frame = frames.getFirst();
 
 			++fcount;
 			frame.execute();
@@ -231,17 +260,29 @@ public class Execution
 			if (!staticStep)
 			{
 				// static step inserts stepped static function frames
-				assert frames.get(0) == frame;
+				assert frames.getFirst() == frame;
 			}
 			assert !frame.isExecuting();
 
 			accept(frame);
 
-			frames.remove(frame);
+			if (frames.peekFirst() == frame)
+			{
+				frames.removeFirst();
+			}
+			else
+			{
+				frames.remove(frame);
+			}
 
 			// Return to caller
 			popStack(frame);
 
+			if (recycleFrames && !step && !staticStep)
+			{
+				frame.recycle(framePool);
+			}
+
 			if (frames.isEmpty())
 			{
 				assert frame.getMethod() == frame.getMethodCtx().getMethod();
@@ -253,12 +294,10 @@ public class Execution
 					break;
 				}
 
-				Frame begin = framesOther.remove(0);
-				frames.add(begin);
-
-				List<Frame> toMove = framesOther.stream().filter(f -> f.getMethod() == begin.getMethod()).collect(Collectors.toList());
-				frames.addAll(toMove);
-				framesOther.removeAll(toMove);
+				// continue with all pending frames of the next method
+				Iterator<Deque<Frame>> it = framesOther.values().iterator();
+				frames.addAll(it.next());
+				it.remove();
 			}
 		}
 
@@ -70,8 +70,8 @@ public class Frame
 
 		Code code = method.getCode();
 
-		stack = new Stack(code.getMaxStack());
-		variables = new Variables(code.getMaxLocals());
+		stack = execution.newStack(code.getMaxStack());
+		variables = execution.newVariables(code.getMaxLocals());
 		ctx = new MethodContext(execution, method);
 		nonStatic = method;
 
@@ -188,6 +188,19 @@ public class Frame
 		return other;
 	}
 
+	/**
+	 * Return the stack and variables of this finished frame to the pool. The
+	 * frame must not be executed or inspected afterwards.
+	 */
+	void recycle(FramePool pool)
+	{
+		Code code = method.getCode();
+		pool.release(code.getMaxStack(), stack);
+		pool.release(code.getMaxLocals(), variables);
+		stack = null;
+		variables = null;
+	}
+
 	public void stop()
 	{
 		executing = false;
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm.execution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of the stacks and variables of finished frames, keyed by the max stack
+ * and max locals of the method they were allocated for.
+ */
+class FramePool
+{
+	private final Map<Integer, Deque<Stack>> stacks = new HashMap<>();
+	private final Map<Integer, Deque<Variables>> variables = new HashMap<>();
+
+	Stack getStack(int size)
+	{
+		Deque<Stack> pooled = stacks.get(size);
+		Stack stack = pooled != null ? pooled.poll() : null;
+		return stack != null ? stack : new Stack(size);
+	}
+
+	Variables getVariables(int size)
+	{
+		Deque<Variables> pooled = variables.get(size);
+		Variables vars = pooled != null ? pooled.poll() : null;
+		return vars != null ? vars : new Variables(size);
+	}
+
+	void release(int size, Stack stack)
+	{
+		stack.clear();
+		stacks.computeIfAbsent(size, k -> new ArrayDeque<>()).push(stack);
+	}
+
+	void release(int size, Variables vars)
+	{
+		vars.clear();
+		variables.computeIfAbsent(size, k -> new ArrayDeque<>()).push(vars);
+	}
+}
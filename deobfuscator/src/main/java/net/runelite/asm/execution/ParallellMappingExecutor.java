@@ -54,14 +54,14 @@ public class ParallellMappingExecutor
 			return false;
 		}
 
-		Frame f1 = e.frames.get(0),
+		Frame f1 = e.frames.getFirst(),
 			f2 = f1.other;
 
 		if (f2 == null)
 		{
 			// this is from anything which creates frames without mapping the .other
 			// and/or is not mappable
-			e.frames.remove(0);
+			e.frames.removeFirst();
 			return step();
 		}
 
@@ -80,6 +80,12 @@ public class Stack
 		return stack[--size];
 	}
 
+	void clear()
+	{
+		Arrays.fill(stack, null);
+		size = 0;
+	}
+
 	public int getSize()
 	{
 		return size;
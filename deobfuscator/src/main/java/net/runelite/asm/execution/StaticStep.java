@@ -89,9 +89,7 @@ public class StaticStep
 
 		if (e.frames.contains(f))
 		{
-			int idx = e.frames.indexOf(f);
-			e.frames.remove(f); // old frame goes away
-			e.frames.add(idx, f2);
+			e.replaceFrame(f, f2); // old frame goes away
 		}
 		else
 		{
@@ -174,18 +172,8 @@ public class StaticStep
 
 		assert !e.frames.contains(f.returnTo);
 
-		if (e.frames.contains(f))
-		{
-			// replace frame with returnTo
-			int idx = e.frames.indexOf(f);
-			e.frames.remove(f);
-			assert !e.frames.contains(f.returnTo);
-			e.frames.add(idx, f.returnTo);
-		}
-		else
-		{
-			e.frames.add(f.returnTo);
-		}
+		// replace frame with returnTo
+		e.replaceFrame(f, f.returnTo);
 
 		Frame newFrame = f.returnTo;
 
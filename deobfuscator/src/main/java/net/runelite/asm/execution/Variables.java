@@ -25,6 +25,8 @@
 
 package net.runelite.asm.execution;
 
+import java.util.Arrays;
+
 public class Variables
 {
 	private final VariableContext[] variables;
@@ -49,6 +51,11 @@ public class Variables
 		return variables[index];
 	}
 
+	void clear()
+	{
+		Arrays.fill(variables, null);
+	}
+
 	public int size()
 	{
 		return variables.length;
@@ -30,7 +30,6 @@ import java.io.IOException;
 import java.nio.file.Paths;
 
 import net.runelite.asm.ClassGroup;
-import net.runelite.asm.execution.Execution;
 import net.runelite.deob.deobfuscators.CastNull;
 import net.runelite.deob.deobfuscators.EnumDeobfuscator;
 import net.runelite.deob.deobfuscators.FieldInliner;
@@ -79,67 +78,77 @@ public class Deob
 
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
-		ClassGroup group = JarUtil.load(new File(
-				Paths.get(System.getProperty("user.home"), "gamepack") + File.separator + "gamepack.jar"
-		), true);
+		String cache = System.getProperty("deob.cache");
+		DeobPipeline pipeline = new DeobPipeline(cache != null ? new File(cache) : null);
+		pipeline.setCheckExecution(CHECK_EXEC);
 
 		// remove except RuntimeException
-		run(group, new RuntimeExceptions());
+		pipeline.add(new RuntimeExceptions());
 
-		run(group, new ControlFlowDeobfuscator());
+		pipeline.add(new ControlFlowDeobfuscator());
 
-		run(group, new RenameUnique());
+		pipeline.add(new RenameUnique());
 
 		// remove unused methods - this leaves Code with no instructions,
 		// which is not valid, so unused methods is run after
-		run(group, new UnreachedCode());
-		run(group, new UnusedMethods());
+		pipeline.add(new UnreachedCode());
+		pipeline.add(new UnusedMethods());
 
 		// remove illegal state exceptions, frees up some parameters
-		run(group, new IllegalStateExceptions());
+		pipeline.add(new IllegalStateExceptions());
 
 		// remove constant logically dead parameters
-		run(group, new ConstantParameter());
+		pipeline.add(new ConstantParameter());
 
 		// remove unhit blocks
-		run(group, new UnreachedCode());
-		run(group, new UnusedMethods());
+		pipeline.add(new UnreachedCode());
+		pipeline.add(new UnusedMethods());
 
 		// remove unused parameters
-		run(group, new UnusedParameters());
+		pipeline.add(new UnusedParameters());
 
 		// remove unused fields
-		run(group, new UnusedFields());
+		pipeline.add(new UnusedFields());
 
-		run(group, new FieldInliner());
+		pipeline.add(new FieldInliner());
 
 		// order uses class name order for sorting fields/methods,
 		// so run it before removing classes below
-		run(group, new Order());
+		pipeline.add(new Order());
+
+		pipeline.add(new UnusedClass());
 
-		run(group, new UnusedClass());
+		pipeline.add("Math", Deob::runMath);
 
-		runMath(group);
+		pipeline.add(new ExprArgOrder());
 
-		run(group, new ExprArgOrder());
+		pipeline.add(new Lvt());
 
-		run(group, new Lvt());
+		pipeline.add(new CastNull());
 
-		run(group, new CastNull());
+		pipeline.add(new EnumDeobfuscator());
 
-		run(group, new EnumDeobfuscator());
+		pipeline.addTransformer(new OpcodesTransformer());
+		//pipeline.add(new PacketHandlerOrder());
+		//pipeline.add(new PacketWriteDeobfuscator());
 
-		new OpcodesTransformer().transform(group);
-		//run(group, new PacketHandlerOrder());
-		//run(group, new PacketWriteDeobfuscator());
+		pipeline.add(new MenuActionDeobfuscator());
 
-		run(group, new MenuActionDeobfuscator());
+		pipeline.addTransformer(new GetPathTransformer());
+		pipeline.addTransformer(new ClientErrorTransformer());
+		pipeline.addTransformer(new ReflectionTransformer());
+		//pipeline.addTransformer(new MaxMemoryTransformer());
+		//pipeline.addTransformer(new RuneliteBufferTransformer());
 
-		new GetPathTransformer().transform(group);
-		new ClientErrorTransformer().transform(group);
-		new ReflectionTransformer().transform(group);
-		//new MaxMemoryTransformer().transform(group);
-		//new RuneliteBufferTransformer().transform(group);
+		ClassGroup group = pipeline.run(new File(
+				Paths.get(System.getProperty("user.home"), "gamepack") + File.separator + "gamepack.jar"
+		), true);
+
+		String report = System.getProperty("deob.report");
+		if (report != null)
+		{
+			pipeline.writeReport(new File(report));
+		}
 
 		JarUtil.save(group, new File(args[1]));
 
@@ -189,21 +198,4 @@ public class Deob
 
 		mod.annotateEncryption();
 	}
-
-	private static void run(ClassGroup group, Deobfuscator deob)
-	{
-		Stopwatch stopwatch = Stopwatch.createStarted();
-		deob.run(group);
-		stopwatch.stop();
-
-		logger.info("{} took {}", deob.getClass().getSimpleName(), stopwatch);
-
-		// check code is still correct
-		if (CHECK_EXEC)
-		{
-			Execution execution = new Execution(group);
-			execution.populateInitialMethods();
-			execution.run();
-		}
-	}
 }
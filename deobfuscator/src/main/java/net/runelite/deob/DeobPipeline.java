@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+import net.runelite.asm.execution.Execution;
+import net.runelite.deob.util.JarUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs an ordered list of deobfuscation passes over a jar. When a cache directory is set,
+ * the class group is checkpointed after each pass, keyed by a hash of the input jar and
+ * the names of the passes run so far. A later run with the same input resumes from the
+ * last checkpoint of the longest matching prefix of passes.
+ * <p>
+ * Checkpoints are keyed by pass name only, so the cache must be cleared after changing
+ * the code of a pass which has already been checkpointed.
+ */
+public class DeobPipeline
+{
+	private static final Logger logger = LoggerFactory.getLogger(DeobPipeline.class);
+
+	private final List<Pass> passes = new ArrayList<>();
+	private final List<PassReport> reports = new ArrayList<>();
+	private final File cacheDirectory;
+	private boolean checkExecution;
+
+	@Value
+	private static class Pass
+	{
+		String name;
+		Deobfuscator deobfuscator;
+	}
+
+	@Value
+	public static class PassReport
+	{
+		String name;
+		boolean cached;
+		long millis;
+		int classes;
+		int methods;
+		int instructions;
+		int classesDelta;
+		int methodsDelta;
+		int instructionsDelta;
+	}
+
+	/**
+	 * @param cacheDirectory directory to store checkpoints in, or null to not checkpoint
+	 */
+	public DeobPipeline(File cacheDirectory)
+	{
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Run a full execution of the group after each pass to check the code is still correct
+	 */
+	public void setCheckExecution(boolean checkExecution)
+	{
+		this.checkExecution = checkExecution;
+	}
+
+	public void add(Deobfuscator deob)
+	{
+		add(deob.getClass().getSimpleName(), deob);
+	}
+
+	public void addTransformer(Transformer transformer)
+	{
+		add(transformer.getClass().getSimpleName(), transformer::transform);
+	}
+
+	public void add(String name, Deobfuscator deob)
+	{
+		// passes may be run more than once, so number the repeats to keep names unique
+		String unique = name;
+		for (int i = 2; contains(unique); ++i)
+		{
+			unique = name + "#" + i;
+		}
+
+		passes.add(new Pass(unique, deob));
+	}
+
+	private boolean contains(String name)
+	{
+		return passes.stream().anyMatch(p -> p.getName().equals(name));
+	}
+
+	public List<PassReport> getReports()
+	{
+		return Collections.unmodifiableList(reports);
+	}
+
+	public ClassGroup run(File jarfile, boolean skip) throws IOException
+	{
+		reports.clear();
+
+		String[] keys = keys(jarfile, skip);
+
+		int start = 0;
+		ClassGroup group = null;
+		if (cacheDirectory != null)
+		{
+			if (!cacheDirectory.exists() && !cacheDirectory.mkdirs())
+			{
+				throw new IOException("unable to create cache directory " + cacheDirectory);
+			}
+
+			for (int i = passes.size() - 1; i >= 0; --i)
+			{
+				File checkpoint = checkpoint(keys[i]);
+				if (checkpoint.exists())
+				{
+					logger.info("Resuming after {} from {}", passes.get(i).getName(), checkpoint);
+					try
+					{
+						group = JarUtil.loadJar(checkpoint, false);
+						start = i + 1;
+					}
+					catch (IOException ex)
+					{
+						logger.warn("Unable to load checkpoint {}, running all passes", checkpoint, ex);
+						Files.delete(checkpoint.toPath());
+					}
+					break;
+				}
+			}
+		}
+
+		if (group == null)
+		{
+			group = JarUtil.load(jarfile, skip);
+		}
+
+		Stats before = new Stats(group);
+		for (int i = 0; i < start; ++i)
+		{
+			reports.add(new PassReport(passes.get(i).getName(), true, 0, before.classes, before.methods, before.instructions, 0, 0, 0));
+		}
+
+		for (int i = start; i < passes.size(); ++i)
+		{
+			Pass pass = passes.get(i);
+
+			Stopwatch stopwatch = Stopwatch.createStarted();
+			pass.getDeobfuscator().run(group);
+			stopwatch.stop();
+
+			Stats after = new Stats(group);
+			PassReport report = new PassReport(pass.getName(), false, stopwatch.elapsed(TimeUnit.MILLISECONDS),
+				after.classes, after.methods, after.instructions,
+				after.classes - before.classes, after.methods - before.methods, after.instructions - before.instructions);
+			reports.add(report);
+			before = after;
+
+			logger.info("{} took {} (classes {}, methods {}, instructions {})", pass.getName(), stopwatch,
+				report.getClassesDelta(), report.getMethodsDelta(), report.getInstructionsDelta());
+
+			if (checkExecution)
+			{
+				Execution execution = new Execution(group);
+				execution.populateInitialMethods();
+				execution.run();
+			}
+
+			if (cacheDirectory != null)
+			{
+				saveCheckpoint(group, checkpoint(keys[i]));
+			}
+		}
+
+		return group;
+	}
+
+	/**
+	 * Write the reports of the last run as json
+	 */
+	public void writeReport(File file) throws IOException
+	{
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+		{
+			gson.toJson(reports, writer);
+		}
+	}
+
+	private String[] keys(File jarfile, boolean skip) throws IOException
+	{
+		String[] keys = new String[passes.size()];
+		if (cacheDirectory == null)
+		{
+			return keys;
+		}
+
+		String key = com.google.common.io.Files.asByteSource(jarfile).hash(Hashing.sha256()).toString() + skip;
+		for (int i = 0; i < passes.size(); ++i)
+		{
+			Hasher hasher = Hashing.sha256().newHasher();
+			hasher.putString(key, StandardCharsets.UTF_8);
+			hasher.putString(passes.get(i).getName(), StandardCharsets.UTF_8);
+			keys[i] = key = hasher.hash().toString();
+		}
+		return keys;
+	}
+
+	private File checkpoint(String key)
+	{
+		return new File(cacheDirectory, key + ".jar");
+	}
+
+	private void saveCheckpoint(ClassGroup group, File checkpoint) throws IOException
+	{
+		// write to a temporary file first, so a run which is killed part way
+		// through never leaves a partial checkpoint to be resumed from
+		File tmp = File.createTempFile(checkpoint.getName(), ".tmp", cacheDirectory);
+		try
+		{
+			// checkpoints are validated when the final jar is written
+			JarUtil.saveJar(group, tmp, JarUtil.Validation.NONE);
+			Files.move(tmp.toPath(), checkpoint.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(tmp.toPath());
+		}
+	}
+
+	private static class Stats
+	{
+		private int classes;
+		private int methods;
+		private int instructions;
+
+		Stats(ClassGroup group)
+		{
+			for (ClassFile cf : group.getClasses())
+			{
+				++classes;
+				for (Method m : cf.getMethods())
+				{
+					++methods;
+					if (m.getCode() != null)
+					{
+						instructions += m.getCode().getInstructions().getInstructions().size();
+					}
+				}
+			}
+		}
+	}
+}
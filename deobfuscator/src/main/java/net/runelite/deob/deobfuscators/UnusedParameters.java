@@ -273,7 +273,10 @@ public class UnusedParameters implements Deobfuscator
 
 		for (Method method : methods)
 		{
-			method.getDescriptor().remove(paramIndex);
+			// set a new descriptor so the class reindexes the method
+			Signature descriptor = new Signature(method.getDescriptor());
+			descriptor.remove(paramIndex);
+			method.setDescriptor(descriptor);
 		}
 	}
 
@@ -290,6 +293,7 @@ public class UnusedParameters implements Deobfuscator
 		this.buildUnused(group);
 
 		Execution execution = new Execution(group);
+		execution.recycleFrames = true;
 		execution.addExecutionVisitor(this::visit);
 		execution.populateInitialMethods();
 		execution.run();
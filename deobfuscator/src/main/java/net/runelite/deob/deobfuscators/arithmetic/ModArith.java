@@ -29,8 +29,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
@@ -81,7 +84,26 @@ public class ModArith implements Deobfuscator
 	private List<Pair> pairs = new ArrayList<>();
 	private Encryption encryption = new Encryption();
 
-	private FieldInfo getFieldInfo(Field field)
+	// per method uses found in the previous rounds, so that only methods
+	// changed since then need to be executed again
+	private final Map<Method, MethodInfo> methodInfo = new LinkedHashMap<>();
+	private List<Method> initialMethods;
+	private final Set<net.runelite.asm.pool.Field> guessed = new HashSet<>(); // fields paired in the last round
+	private boolean incremental = true;
+
+	private static class MethodInfo
+	{
+		private final List<Object> fingerprint;
+		private final Map<Field, FieldInfo> fields = new HashMap<>();
+		private final Set<Method> invokes = new HashSet<>();
+
+		private MethodInfo(List<Object> fingerprint)
+		{
+			this.fingerprint = fingerprint;
+		}
+	}
+
+	private static FieldInfo getFieldInfo(Map<Field, FieldInfo> fieldInfo, Field field)
 	{
 		FieldInfo f = fieldInfo.get(field);
 		if (f == null)
@@ -145,7 +167,7 @@ public class ModArith implements Deobfuscator
 	}
 
 	// find associated constants with each field
-	private void findConstants(MethodContext mctx)
+	private static void findConstants(MethodContext mctx, Map<Field, FieldInfo> fields)
 	{
 		for (InstructionContext ctx : mctx.getInstructionContexts())
 		{
@@ -165,7 +187,7 @@ public class ModArith implements Deobfuscator
 					continue;
 				}
 
-				FieldInfo fieldInfo = getFieldInfo(fi.getMyField());
+				FieldInfo fieldInfo = getFieldInfo(fields, fi.getMyField());
 
 				@SuppressWarnings("unchecked") List<InstructionContext> l = getInsInExpr(ctx, new HashSet(), false);
 				boolean other = false; // check if this contains another field
@@ -235,7 +257,7 @@ public class ModArith implements Deobfuscator
 	}
 
 	// find potential getters/setters for each field
-	private void findUses(MethodContext mctx)
+	private static void findUses(MethodContext mctx, Map<Field, FieldInfo> fields)
 	{
 		for (InstructionContext ctx : mctx.getInstructionContexts())
 		{
@@ -268,7 +290,7 @@ public class ModArith implements Deobfuscator
 					continue;
 				}
 
-				FieldInfo fieldInfo = getFieldInfo(field);
+				FieldInfo fieldInfo = getFieldInfo(fields, field);
 
 				// parse the full multiplication expression to
 				// get all associated constants
@@ -301,7 +323,7 @@ public class ModArith implements Deobfuscator
 					continue;
 				}
 
-				FieldInfo fieldInfo = getFieldInfo(field);
+				FieldInfo fieldInfo = getFieldInfo(fields, field);
 
 				InstructionContext pushedsfi = ctx.getPops().get(0).getPushed(); // value being set
 				pushedsfi = pushedsfi.resolve(ctx.getPops().get(0));
@@ -547,7 +569,11 @@ public class ModArith implements Deobfuscator
 	// figure out if value is a getter or setter
 	private boolean isGetterOrSetter(Field field, boolean getter, Number value)
 	{
-		FieldInfo fieldInfo = getFieldInfo(field);
+		FieldInfo fieldInfo = this.fieldInfo.get(field);
+		if (fieldInfo == null)
+		{
+			return false;
+		}
 
 		Collection<Number> c;
 		if (getter)
@@ -571,67 +597,268 @@ public class ModArith implements Deobfuscator
 		return false;
 	}
 
-	private void guess()
+	private void guess(Set<Field> changed)
 	{
+		List<Field> fields = new ArrayList<>();
 		for (ClassFile cf : group.getClasses())
 		{
 			for (Field f : cf.getFields())
 			{
-				FieldInfo fieldInfo = getFieldInfo(f);
-
-				Collection<AssociatedConstant> col = fieldInfo.constants; // all constants in instructions associated with the field
-				if (col.isEmpty())
+				// the uses of the other fields are the same as in the last
+				// round, which did not find a pair for them
+				if (changed != null && !changed.contains(f) && !guessed.contains(f.getPoolField()))
 				{
 					continue;
 				}
 
-				Type type = f.getType();
-				assert type.equals(Type.INT) || type.equals(Type.LONG);
-
-				Class typeOfField = type.equals(Type.INT) ? Integer.class : Long.class;
-
-				// filter collect constants of the correct type
-				Collection<AssociatedConstant> col2 = col.stream()
-					.filter(i -> i.value.getClass() == typeOfField)
-					.collect(Collectors.toList());
-
-				// filer out ones that have another field in the expression
-				List<Number> noOther = col2.stream()
-					.filter(i -> !i.other && !i.constant)
-					.map(i -> i.value)
-					.distinct()
-					.collect(Collectors.toList());
-				List<Number> other = col2.stream()
-					.filter(i -> i.other || i.constant)
-					.map(i -> i.value)
-					.collect(Collectors.toList());
-				other.addAll(noOther);
-				other = ImmutableSet.copyOf(other).asList();
-
-				// guess with constants not associated with other fields
-				Pair p = this.guess(f, noOther);
-				if (p == null)
-				{
-					p = this.guess(f, other); // fall back to all constants
-				}
-
-				// check that this guess doesn't increase constants
-				if (p != null && !fieldInfo.guessDecreasesConstants(p))
+				FieldInfo fieldInfo = this.fieldInfo.get(f);
+				if (fieldInfo == null || fieldInfo.constants.isEmpty())
 				{
 					continue;
 				}
-				if (p != null)
-				{
-					pairs.add(p);
-				}
+
+				fields.add(f);
 			}
 		}
+
+		// the field infos are not modified from here on, so each
+		// field can be guessed independently
+		pairs.addAll(fields.parallelStream()
+			.map(this::guess)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toList()));
+	}
+
+	private Pair guess(Field f)
+	{
+		FieldInfo fieldInfo = this.fieldInfo.get(f);
+
+		Collection<AssociatedConstant> col = fieldInfo.constants; // all constants in instructions associated with the field
+
+		Type type = f.getType();
+		assert type.equals(Type.INT) || type.equals(Type.LONG);
+
+		Class typeOfField = type.equals(Type.INT) ? Integer.class : Long.class;
+
+		// filter collect constants of the correct type
+		Collection<AssociatedConstant> col2 = col.stream()
+			.filter(i -> i.value.getClass() == typeOfField)
+			.collect(Collectors.toList());
+
+		// filer out ones that have another field in the expression
+		List<Number> noOther = col2.stream()
+			.filter(i -> !i.other && !i.constant)
+			.map(i -> i.value)
+			.distinct()
+			.collect(Collectors.toList());
+		List<Number> other = col2.stream()
+			.filter(i -> i.other || i.constant)
+			.map(i -> i.value)
+			.collect(Collectors.toList());
+		other.addAll(noOther);
+		other = ImmutableSet.copyOf(other).asList();
+
+		// guess with constants not associated with other fields
+		Pair p = this.guess(f, noOther);
+		if (p == null)
+		{
+			p = this.guess(f, other); // fall back to all constants
+		}
+
+		// check that this guess doesn't increase constants
+		if (p != null && !fieldInfo.guessDecreasesConstants(p))
+		{
+			return null;
+		}
+		return p;
 	}
 
 	@Override
 	public void run(ClassGroup group)
 	{
 		this.group = group;
+
+		methodInfo.clear();
+		initialMethods = null;
+		guessed.clear();
+	}
+
+	/**
+	 * Whether to only execute the methods changed since the previous
+	 * round, instead of the whole group. The result is the same.
+	 */
+	void setIncremental(boolean incremental)
+	{
+		this.incremental = incremental;
+	}
+
+	private Execution newExecution()
+	{
+		Execution e = new Execution(group);
+		e.recycleFrames = true;
+		e.addMethodContextVisitor(this::visit);
+		return e;
+	}
+
+	private void visit(MethodContext mctx)
+	{
+		Method method = mctx.getMethod();
+		MethodInfo info = methodInfo.computeIfAbsent(method, m -> new MethodInfo(fingerprint(m)));
+
+		findUses(mctx, info.fields);
+		findConstants(mctx, info.fields);
+
+		for (InstructionContext ctx : mctx.getInstructionContexts())
+		{
+			info.invokes.addAll(ctx.getInvokes());
+		}
+	}
+
+	// the instructions and constants of a method, which change
+	// when any of the passes between rounds touches the method
+	private static List<Object> fingerprint(Method method)
+	{
+		Code code = method.getCode();
+		List<Object> fingerprint = new ArrayList<>();
+
+		for (Instruction i : code.getInstructions().getInstructions())
+		{
+			fingerprint.add(new Identity(i));
+			if (i instanceof PushConstantInstruction)
+			{
+				fingerprint.add(((PushConstantInstruction) i).getConstant());
+			}
+		}
+
+		for (net.runelite.asm.attributes.code.Exception ex : code.getExceptions().getExceptions())
+		{
+			fingerprint.add(new Identity(ex.getStart()));
+			fingerprint.add(new Identity(ex.getEnd()));
+			fingerprint.add(new Identity(ex.getHandler()));
+		}
+
+		return fingerprint;
+	}
+
+	private static final class Identity
+	{
+		private final Object object;
+
+		private Identity(Object object)
+		{
+			this.object = object;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			return obj instanceof Identity && ((Identity) obj).object == object;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(object);
+		}
+	}
+
+	/**
+	 * Find the uses of the fields in all methods reachable from the
+	 * initial methods. The uses found in a method depend only on its
+	 * own code, so after the first round only the methods which have
+	 * changed are executed, unless that changes which methods are
+	 * reachable.
+	 *
+	 * @return the fields whose uses may have changed, or null if all have
+	 */
+	private Set<Field> findFieldInfo()
+	{
+		List<Method> initial = new Execution(group).getInitialMethods().stream()
+			.filter(m -> m.getCode() != null)
+			.collect(Collectors.toList());
+
+		Set<Field> changed = null;
+		if (incremental && initial.equals(initialMethods))
+		{
+			changed = executeChanged();
+		}
+
+		if (changed == null)
+		{
+			methodInfo.clear();
+
+			execution = newExecution();
+			execution.addMethods(initial);
+			execution.run();
+		}
+
+		initialMethods = initial;
+
+		for (MethodInfo info : methodInfo.values())
+		{
+			for (Map.Entry<Field, FieldInfo> entry : info.fields.entrySet())
+			{
+				FieldInfo from = entry.getValue();
+				FieldInfo to = getFieldInfo(fieldInfo, entry.getKey());
+
+				to.getters.addAll(from.getters);
+				to.setters.addAll(from.setters);
+				to.constants.addAll(from.constants);
+			}
+		}
+
+		return changed;
+	}
+
+	private Set<Field> executeChanged()
+	{
+		Map<Method, MethodInfo> dirty = new LinkedHashMap<>();
+		for (Iterator<Map.Entry<Method, MethodInfo>> it = methodInfo.entrySet().iterator(); it.hasNext(); )
+		{
+			Map.Entry<Method, MethodInfo> entry = it.next();
+			Method method = entry.getKey();
+
+			if (method.getCode() == null)
+			{
+				return null;
+			}
+
+			if (!entry.getValue().fingerprint.equals(fingerprint(method)))
+			{
+				dirty.put(method, entry.getValue());
+				it.remove();
+			}
+		}
+
+		Set<Field> changed = new HashSet<>();
+		if (dirty.isEmpty())
+		{
+			return changed;
+		}
+
+		execution = newExecution();
+		execution.noInvoke = true;
+		execution.addMethods(dirty.keySet());
+		execution.run();
+
+		for (Map.Entry<Method, MethodInfo> entry : dirty.entrySet())
+		{
+			MethodInfo before = entry.getValue();
+			MethodInfo after = methodInfo.get(entry.getKey());
+
+			if (after == null || !after.invokes.equals(before.invokes))
+			{
+				// the set of reachable methods may have changed
+				return null;
+			}
+
+			changed.addAll(before.fields.keySet());
+			changed.addAll(after.fields.keySet());
+		}
+
+		logger.debug("Executed {} changed methods, {} fields changed", dirty.size(), changed.size());
+
+		return changed;
 	}
 
 	private void insertGetterSetterMuls(Encryption encr)
@@ -734,18 +961,18 @@ public class ModArith implements Deobfuscator
 		pairs.clear();
 		fieldInfo.clear();
 
-		execution = new Execution(group);
-		execution.addMethodContextVisitor(i -> findUses(i));
-		execution.addMethodContextVisitor(i -> findConstants(i));
-		execution.populateInitialMethods();
-		execution.run();
+		Set<Field> changed = findFieldInfo();
+
+		guess(changed);
 
-		guess();
+		guessed.clear();
 
 		int i = 0;
 		Encryption encr = new Encryption();
 		for (Pair pair : pairs)
 		{
+			guessed.add(pair.field);
+
 			logger.debug("Processing {} getter {} setter {}", pair.field.getName(), pair.getter, pair.setter);
 
 			encr.addPair(pair);
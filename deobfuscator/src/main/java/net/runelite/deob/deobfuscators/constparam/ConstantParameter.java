@@ -454,16 +454,19 @@ public class ConstantParameter implements Deobfuscator
 	public void run(ClassGroup group)
 	{
 		Execution execution = new Execution(group);
+		execution.recycleFrames = true;
 		execution.addExecutionVisitor(this::findParameters);
 		execution.populateInitialMethods();
 		execution.run();
 
 		execution = new Execution(group);
+		execution.recycleFrames = true;
 		execution.addMethodContextVisitor(this::findDeadParameters);
 		execution.populateInitialMethods();
 		execution.run();
 
 		execution = new Execution(group);
+		execution.recycleFrames = true;
 		execution.addMethodContextVisitor(m -> count += removeDeadOperations(m));
 		execution.populateInitialMethods();
 		execution.run();
@@ -24,9 +24,10 @@
  */
 package net.runelite.deob.deobfuscators.mapping;
 
+import com.google.common.collect.Multimap;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
@@ -80,31 +81,16 @@ public class Mapper
 		MethodSignatureMapper msm = new MethodSignatureMapper();
 		msm.map(source, target);
 
-		List<ParallelExecutorMapping> pmes = new ArrayList<>();
+		List<ParallelExecutorMapping> pmes = execute(msm.getMap());
 
-		for (Method m : msm.getMap().keySet())
+		ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
+		for (ParallelExecutorMapping mapping : pmes)
 		{
-			Collection<Method> methods = msm.getMap().get(m);
-
-			ExecutionMapper em = new ExecutionMapper(m, methods);
-
-			ParallelExecutorMapping mapping = em.run();
-			if (mapping == null)
-			{
-				continue;
-			}
-
 			mapping.map(null, mapping.m1, mapping.m2).wasExecuted = true;
 
 			logger.debug("map methods mapped {} -> {}", mapping.m1, mapping.m2);
 
-			pmes.add(mapping);
-		}
-
-		ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
-		for (ParallelExecutorMapping pme : pmes)
-		{
-			finalm.merge(pme);
+			finalm.merge(mapping);
 		}
 
 		return finalm;
@@ -115,36 +101,41 @@ public class Mapper
 		StaticMethodSignatureMapper smsm = new StaticMethodSignatureMapper();
 		smsm.map(source, target);
 
-		List<ParallelExecutorMapping> pmes = new ArrayList<>();
+		List<ParallelExecutorMapping> pmes = execute(smsm.getMap());
 
-		for (Method m : smsm.getMap().keySet())
+		ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
+		for (ParallelExecutorMapping mapping : pmes)
 		{
-			Collection<Method> methods = smsm.getMap().get(m);
-
-			ExecutionMapper em = new ExecutionMapper(m, methods);
-
-			ParallelExecutorMapping mapping = em.run();
-			if (mapping == null)
-			{
-				continue;
-			}
-
 			Mapping map = mapping.map(null, mapping.m1, mapping.m2);
 			map.wasExecuted = true;
 			map.setWeight(mapping.same);
 
 			logger.debug("map static methods mapped {} -> {}", mapping.m1, mapping.m2);
 
-			pmes.add(mapping);
+			finalm.merge(mapping);
 		}
 
-		ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
-		for (ParallelExecutorMapping pme : pmes)
+		return finalm;
+	}
+
+	/**
+	 * Run an execution mapper for each method and its candidate methods. The executions
+	 * are independent, each having its own execution state, so they are run in parallel
+	 * on the common fork join pool. The successful mappings are returned in the iteration
+	 * order of the candidates so merging them gives the same result as running serially.
+	 */
+	private static List<ParallelExecutorMapping> execute(Multimap<Method, Method> candidates)
+	{
+		List<ExecutionMapper> mappers = new ArrayList<>(candidates.keySet().size());
+		for (Method m : candidates.keySet())
 		{
-			finalm.merge(pme);
+			mappers.add(new ExecutionMapper(m, candidates.get(m)));
 		}
 
-		return finalm;
+		return mappers.parallelStream()
+			.map(ExecutionMapper::run)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toList());
 	}
 
 	private void mapMemberMethods(ParallelExecutorMapping mapping)
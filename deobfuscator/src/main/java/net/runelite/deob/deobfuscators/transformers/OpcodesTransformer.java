@@ -53,7 +53,7 @@ public class OpcodesTransformer implements Transformer
 		}
 		else
 		{
-			runeliteOpcodes.getFields().clear();
+			runeliteOpcodes.clearFields();
 		}
 
 		Method clinit = runeliteOpcodes.findMethod("<clinit>");
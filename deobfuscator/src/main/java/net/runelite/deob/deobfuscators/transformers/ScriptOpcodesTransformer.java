@@ -142,7 +142,7 @@ public class ScriptOpcodesTransformer implements Transformer // robots in disgui
 		}
 		else
 		{
-			scriptOpcodes.getFields().clear();
+			scriptOpcodes.clearFields();
 		}
 
 		ClassFile finalScriptOpcodes = scriptOpcodes;
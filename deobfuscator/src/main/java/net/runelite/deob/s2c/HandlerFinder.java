@@ -232,11 +232,11 @@ public class HandlerFinder
 
 		while (e.frames.isEmpty() == false)
 		{
-			f = e.frames.get(0);
+			f = e.frames.getFirst();
 
 			if (!f.isExecuting())
 			{
-				e.frames.remove(0);
+				e.frames.removeFirst();
 				continue;
 			}
 
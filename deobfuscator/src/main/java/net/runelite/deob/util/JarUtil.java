@@ -25,15 +25,18 @@
 package net.runelite.deob.util;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.objectwebasm.NonloadingClassWriter;
@@ -45,10 +48,48 @@ import org.objectweb.asm.util.CheckClassAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Loads and saves class groups. Classes are parsed and written in parallel, but are
+ * always added to the group and to the jar in entry order, so output is deterministic.
+ */
 public class JarUtil
 {
 	private static final Logger logger = LoggerFactory.getLogger(JarUtil.class);
 
+	/**
+	 * Validation done on written classes. Defaults to the {@code deob.validation}
+	 * system property, or {@link Validation#FULL}.
+	 */
+	public enum Validation
+	{
+		/**
+		 * Verify the data flow of every class.
+		 */
+		FULL,
+		/**
+		 * Verify the data flow of a fixed subset of classes.
+		 */
+		SAMPLED,
+		/**
+		 * Skip verification.
+		 */
+		NONE
+	}
+
+	private static final int SAMPLE_RATE = 8; // validate 1 in SAMPLE_RATE classes when sampling
+
+	private static volatile Validation validation = Validation.valueOf(System.getProperty("deob.validation", Validation.FULL.name()));
+
+	public static Validation getValidation()
+	{
+		return validation;
+	}
+
+	public static void setValidation(Validation validation)
+	{
+		JarUtil.validation = validation;
+	}
+
 	public static ClassGroup load(File jarfile)
 	{
 		return load(jarfile, false);
@@ -56,7 +97,23 @@ public class JarUtil
 
 	public static ClassGroup load(File jarfile, boolean skip)
 	{
-		ClassGroup group = new ClassGroup();
+		try
+		{
+			return loadJar(jarfile, skip);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+			return loadClasses(new ArrayList<byte[]>());
+		}
+	}
+
+	/**
+	 * Load a jar, failing if it can't be read rather than returning the classes read so far
+	 */
+	public static ClassGroup loadJar(File jarfile, boolean skip) throws IOException
+	{
+		List<byte[]> classes = new ArrayList<>();
 
 		try (JarFile jar = new JarFile(jarfile))
 		{
@@ -69,24 +126,14 @@ public class JarUtil
 					continue;
 				}
 
-				InputStream is = jar.getInputStream(entry);
-
-				ClassReader reader = new ClassReader(is);
-				ClassFileVisitor cv = new ClassFileVisitor();
-
-				reader.accept(cv, ClassReader.SKIP_FRAMES);
-
-				group.addClass(cv.getClassFile());
+				try (InputStream is = jar.getInputStream(entry))
+				{
+					classes.add(is.readAllBytes());
+				}
 			}
 		}
-		catch (IOException e)
-		{
-			e.printStackTrace();
-		}
 
-		group.initialize();
-
-		return group;
+		return loadClasses(classes);
 	}
 
 	public static ClassFile loadClass(byte[] bytes)
@@ -104,7 +151,7 @@ public class JarUtil
 
 	public static ClassGroup loadClasses(Collection<File> files, boolean skip) throws IOException
 	{
-		final ClassGroup group = new ClassGroup();
+		List<byte[]> classes = new ArrayList<>();
 
 		for (File file : files)
 		{
@@ -113,15 +160,23 @@ public class JarUtil
 				continue;
 			}
 
-			try (InputStream is = new FileInputStream(file))
-			{
-				ClassReader reader = new ClassReader(is);
-				ClassFileVisitor cv = new ClassFileVisitor();
+			classes.add(Files.readAllBytes(file.toPath()));
+		}
 
-				reader.accept(cv, ClassReader.SKIP_FRAMES);
+		return loadClasses(classes);
+	}
 
-				group.addClass(cv.getClassFile());
-			}
+	private static ClassGroup loadClasses(List<byte[]> classes)
+	{
+		// parse in parallel, but add the classes in their original order
+		List<ClassFile> classFiles = classes.parallelStream()
+			.map(JarUtil::loadClass)
+			.collect(Collectors.toList());
+
+		ClassGroup group = new ClassGroup();
+		for (ClassFile cf : classFiles)
+		{
+			group.addClass(cf);
 		}
 
 		group.initialize();
@@ -131,27 +186,52 @@ public class JarUtil
 
 	public static void save(ClassGroup group, File jarfile)
 	{
+		save(group, jarfile, validation);
+	}
+
+	public static void save(ClassGroup group, File jarfile, Validation validation)
+	{
+		try
+		{
+			saveJar(group, jarfile, validation);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Save a jar, failing if it can't be written
+	 */
+	public static void saveJar(ClassGroup group, File jarfile, Validation validation) throws IOException
+	{
+		List<ClassFile> classes = group.getClasses();
+		// classes only read the group while being written, so they can be written in parallel
+		List<byte[]> data = classes.parallelStream()
+			.map(cf -> writeClass(group, cf, validation))
+			.collect(Collectors.toList());
+
 		try (JarOutputStream jout = new JarOutputStream(new FileOutputStream(jarfile)))
 		{
-			for (ClassFile cf : group.getClasses())
+			for (int i = 0; i < classes.size(); ++i)
 			{
-				JarEntry entry = new JarEntry(cf.getName() + ".class");
+				JarEntry entry = new JarEntry(classes.get(i).getName() + ".class");
 				entry.setTime(-1);
 				jout.putNextEntry(entry);
 
-				byte[] data = writeClass(group, cf);
-
-				jout.write(data);
+				jout.write(data.get(i));
 				jout.closeEntry();
 			}
 		}
-		catch (IOException e)
-		{
-			e.printStackTrace();
-		}
 	}
 
 	public static byte[] writeClass(ClassGroup group, ClassFile cf)
+	{
+		return writeClass(group, cf, validation);
+	}
+
+	private static byte[] writeClass(ClassGroup group, ClassFile cf, Validation validation)
 	{
 		ClassWriter writer = new NonloadingClassWriter(group, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
 		CheckClassAdapter cca = new CheckClassAdapter(writer, false);
@@ -160,11 +240,28 @@ public class JarUtil
 
 		byte[] data = writer.toByteArray();
 
-		validateDataFlow(cf.getName(), data);
+		if (shouldValidate(validation, cf.getName()))
+		{
+			validateDataFlow(cf.getName(), data);
+		}
 
 		return data;
 	}
 
+	private static boolean shouldValidate(Validation validation, String name)
+	{
+		switch (validation)
+		{
+			case FULL:
+				return true;
+			case SAMPLED:
+				// sample by name so the same classes are validated on every run
+				return Math.floorMod(name.hashCode(), SAMPLE_RATE) == 0;
+			default:
+				return false;
+		}
+	}
+
 	private static void validateDataFlow(String name, byte[] data)
 	{
 		try
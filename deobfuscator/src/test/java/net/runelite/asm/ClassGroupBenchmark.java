@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm;
+
+import java.io.File;
+import net.runelite.asm.execution.Execution;
+import net.runelite.deob.DeobTestProperties;
+import net.runelite.deob.updater.UpdateMappings;
+import net.runelite.deob.util.JarUtil;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the member lookups done by instruction lookup and execution over the
+ * vanilla client, and mapping the deobfuscated client against itself as done by
+ * the updater.
+ */
+public class ClassGroupBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClassGroupBenchmark.class);
+
+	private static final int RUNS = 10;
+
+	@Rule
+	public DeobTestProperties properties = new DeobTestProperties();
+
+	@Test
+	@Ignore
+	public void benchmarkLookup()
+	{
+		ClassGroup group = JarUtil.load(new File(properties.getVanillaClient()));
+
+		long lookup = 0, execution = 0;
+		for (int i = 0; i < RUNS; ++i)
+		{
+			long start = System.nanoTime();
+			group.lookup();
+			lookup += System.nanoTime() - start;
+
+			Execution e = new Execution(group);
+			e.populateInitialMethods();
+
+			start = System.nanoTime();
+			e.run();
+			execution += System.nanoTime() - start;
+		}
+
+		logger.info("Instruction lookup took {}ms, execution took {}ms", lookup / RUNS / 1_000_000L, execution / RUNS / 1_000_000L);
+	}
+
+	@Test
+	@Ignore
+	public void benchmarkUpdateMappings()
+	{
+		File client = new File(properties.getRsClient());
+
+		ClassGroup group1 = JarUtil.load(client);
+		ClassGroup group2 = JarUtil.load(client);
+
+		long start = System.nanoTime();
+		new UpdateMappings(group1, group2).update();
+		logger.info("Updating mappings took {}ms", (System.nanoTime() - start) / 1_000_000L);
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm;
+
+import net.runelite.asm.signature.Signature;
+import net.runelite.deob.ClassGroupFactory;
+import net.runelite.deob.DeobAnnotations;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassGroupTest
+{
+	@Test
+	public void testMethodIndex()
+	{
+		ClassGroup group = ClassGroupFactory.generateGroup();
+		ClassFile cf = group.findClass("test");
+
+		Method func2 = cf.findMethod("func2", new Signature("(III)V"));
+		Assert.assertNotNull(func2);
+		Assert.assertNull(cf.findMethod("func2", new Signature("()V")));
+		Assert.assertSame(func2, cf.findStaticMethod("func2", new Signature("(III)V")));
+
+		func2.setName("renamed");
+		Assert.assertNull(cf.findMethod("func2", new Signature("(III)V")));
+		Assert.assertSame(func2, cf.findMethod("renamed", new Signature("(III)V")));
+
+		func2.setDescriptor(new Signature("(II)V"));
+		Assert.assertNull(cf.findMethod("renamed", new Signature("(III)V")));
+		Assert.assertSame(func2, cf.findMethod("renamed", new Signature("(II)V")));
+
+		func2.setStatic(false);
+		Assert.assertNull(cf.findStaticMethod("renamed", new Signature("(II)V")));
+		Assert.assertNull(group.findStaticMethod("renamed", new Signature("(II)V")));
+		Assert.assertNotNull(group.findStaticMethod("void1", new Signature("()V")));
+
+		cf.removeMethod(func2);
+		Assert.assertNull(cf.findMethod("renamed", new Signature("(II)V")));
+
+		// renaming a method which is not in the class does not index it
+		func2.setName("func2");
+		Assert.assertNull(cf.findMethod("func2", new Signature("(II)V")));
+
+		cf.addMethod(func2);
+		Assert.assertSame(func2, cf.findMethod("func2", new Signature("(II)V")));
+	}
+
+	@Test
+	public void testDuplicateMethods()
+	{
+		ClassGroup group = ClassGroupFactory.generateGroup();
+		ClassFile cf = group.findClass("test");
+
+		Method void1 = cf.findMethod("void1", new Signature("()V"));
+		Method void2 = cf.findMethod("void2", new Signature("()V"));
+
+		// while being modified a class may briefly have two methods with the same name and descriptor
+		void2.setName("void1");
+		Assert.assertSame(void1, cf.findMethod("void1", new Signature("()V")));
+
+		cf.removeMethod(void1);
+		Assert.assertSame(void2, cf.findMethod("void1", new Signature("()V")));
+	}
+
+	@Test
+	public void testFieldIndex()
+	{
+		ClassGroup group = ClassGroupFactory.generateGroup();
+		ClassFile cf = group.findClass("test");
+
+		Field field = cf.findField("field", Type.INT);
+		Assert.assertNotNull(field);
+		Assert.assertNull(cf.findField("field", Type.LONG));
+
+		field.setType(Type.LONG);
+		Assert.assertNull(cf.findField("field", Type.INT));
+		Assert.assertSame(field, cf.findField("field", Type.LONG));
+
+		field.setName("renamed");
+		Assert.assertSame(field, cf.findField("renamed", Type.LONG));
+
+		cf.clearFields();
+		Assert.assertNull(cf.findField("renamed", Type.LONG));
+	}
+
+	@Test
+	public void testFindObfuscatedName()
+	{
+		ClassGroup group = ClassGroupFactory.generateGroup();
+		ClassFile cf = group.findClass("test");
+
+		Assert.assertSame(cf, group.findObfuscatedName("test"));
+		Assert.assertNull(group.findObfuscatedName("ab"));
+
+		cf.getAnnotations().put(DeobAnnotations.OBFUSCATED_NAME, new Annotation(DeobAnnotations.OBFUSCATED_NAME, "ab"));
+		Assert.assertSame(cf, group.findObfuscatedName("ab"));
+
+		cf.getAnnotations().put(DeobAnnotations.OBFUSCATED_NAME, new Annotation(DeobAnnotations.OBFUSCATED_NAME, "cd"));
+		Assert.assertNull(group.findObfuscatedName("ab"));
+		Assert.assertSame(cf, group.findObfuscatedName("cd"));
+
+		group.removeClass(cf);
+		Assert.assertNull(group.findObfuscatedName("cd"));
+	}
+}
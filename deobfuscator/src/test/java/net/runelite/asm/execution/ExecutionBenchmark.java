@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.asm.execution;
+
+import java.io.File;
+import net.runelite.asm.ClassGroup;
+import net.runelite.deob.DeobTestProperties;
+import net.runelite.deob.util.JarUtil;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures whole client execution, as used by the arithmetic and parameter deobfuscators,
+ * with and without recycling of frame stacks and variables.
+ */
+public class ExecutionBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(ExecutionBenchmark.class);
+
+	private static final int WARMUP = 3;
+	private static final int RUNS = 10;
+
+	@Rule
+	public DeobTestProperties properties = new DeobTestProperties();
+
+	@Test
+	@Ignore
+	public void benchmarkRun() throws Exception
+	{
+		ClassGroup group = JarUtil.load(new File(properties.getVanillaClient()));
+
+		for (int i = 0; i < WARMUP; ++i)
+		{
+			run(group, false);
+			run(group, true);
+		}
+
+		long plain = 0, recycled = 0;
+		for (int i = 0; i < RUNS; ++i)
+		{
+			plain += run(group, false);
+			recycled += run(group, true);
+		}
+
+		logger.info("Executed client in {}ms, {}ms recycling frames", plain / RUNS / 1_000_000L, recycled / RUNS / 1_000_000L);
+	}
+
+	private static long run(ClassGroup group, boolean recycleFrames)
+	{
+		Execution e = new Execution(group);
+		e.recycleFrames = recycleFrames;
+		e.populateInitialMethods();
+
+		long start = System.nanoTime();
+		e.run();
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+import net.runelite.deob.util.JarUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeobPipelineTest
+{
+	@Rule
+	public TemporaryFolder folder = TemporyFolderLocation.getTemporaryFolder();
+
+	private File jar;
+	private File cache;
+
+	@Before
+	public void before() throws IOException
+	{
+		ClassGroup group = new ClassGroup();
+		for (String name : new String[]{"net/runelite/deob/deobfuscators/arithmetic/TestClass.class", "net/runelite/deob/deobfuscators/arithmetic/TestClass2.class"})
+		{
+			try (InputStream in = DeobPipelineTest.class.getClassLoader().getResourceAsStream(name))
+			{
+				Assert.assertNotNull(name, in);
+				group.addClass(JarUtil.loadClass(in.readAllBytes()));
+			}
+		}
+		group.initialize();
+
+		jar = folder.newFile();
+		JarUtil.save(group, jar);
+
+		cache = folder.newFolder();
+	}
+
+	@Test
+	public void testResume() throws IOException
+	{
+		AtomicInteger runs = new AtomicInteger();
+
+		DeobPipeline pipeline = pipeline(runs, "Count");
+		ClassGroup group = pipeline.run(jar, false);
+		Assert.assertEquals(3, runs.get());
+		Assert.assertEquals(0, group.getClasses().stream().mapToInt(cf -> cf.getMethods().size()).sum());
+
+		List<DeobPipeline.PassReport> reports = pipeline.getReports();
+		Assert.assertEquals(3, reports.size());
+		Assert.assertEquals("RemoveMethods", reports.get(0).getName());
+		Assert.assertFalse(reports.get(0).isCached());
+		Assert.assertTrue(reports.get(0).getMethodsDelta() < 0);
+		Assert.assertEquals(0, reports.get(0).getMethods());
+		Assert.assertEquals("Count", reports.get(1).getName());
+		Assert.assertEquals("Count#2", reports.get(2).getName());
+
+		// same passes resume after the last one
+		runs.set(0);
+		pipeline = pipeline(runs, "Count");
+		pipeline.run(jar, false);
+		Assert.assertEquals(0, runs.get());
+		Assert.assertTrue(pipeline.getReports().stream().allMatch(DeobPipeline.PassReport::isCached));
+
+		// a different last pass resumes from the prefix
+		runs.set(0);
+		pipeline = pipeline(runs, "Other");
+		group = pipeline.run(jar, false);
+		Assert.assertEquals(1, runs.get());
+		Assert.assertEquals(0, group.getClasses().stream().mapToInt(cf -> cf.getMethods().size()).sum());
+		Assert.assertTrue(pipeline.getReports().get(1).isCached());
+		Assert.assertFalse(pipeline.getReports().get(2).isCached());
+	}
+
+	@Test
+	public void testCorruptCheckpoint() throws IOException
+	{
+		AtomicInteger runs = new AtomicInteger();
+		pipeline(runs, "Count").run(jar, false);
+
+		File[] checkpoints = cache.listFiles();
+		Assert.assertNotNull(checkpoints);
+		Assert.assertEquals(3, checkpoints.length);
+		for (File checkpoint : checkpoints)
+		{
+			Files.write(checkpoint.toPath(), new byte[]{1, 2, 3});
+		}
+
+		// a checkpoint which can't be loaded is discarded and the passes are run again
+		runs.set(0);
+		DeobPipeline pipeline = pipeline(runs, "Count");
+		ClassGroup group = pipeline.run(jar, false);
+		Assert.assertEquals(3, runs.get());
+		Assert.assertEquals(0, group.getClasses().stream().mapToInt(cf -> cf.getMethods().size()).sum());
+		Assert.assertTrue(pipeline.getReports().stream().noneMatch(DeobPipeline.PassReport::isCached));
+
+		runs.set(0);
+		pipeline(runs, "Count").run(jar, false);
+		Assert.assertEquals(0, runs.get());
+	}
+
+	private DeobPipeline pipeline(AtomicInteger runs, String last)
+	{
+		DeobPipeline pipeline = new DeobPipeline(cache);
+		pipeline.add("RemoveMethods", group ->
+		{
+			runs.incrementAndGet();
+			for (ClassFile cf : group.getClasses())
+			{
+				for (Method m : cf.getMethods().toArray(new Method[0]))
+				{
+					cf.removeMethod(m);
+				}
+			}
+		});
+		pipeline.add("Count", group -> runs.incrementAndGet());
+		pipeline.add(last, group -> runs.incrementAndGet());
+		return pipeline;
+	}
+}
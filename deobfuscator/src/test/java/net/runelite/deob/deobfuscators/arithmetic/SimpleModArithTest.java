@@ -26,9 +26,12 @@ package net.runelite.deob.deobfuscators.arithmetic;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.ClassUtil;
+import net.runelite.asm.Field;
 import net.runelite.asm.Method;
 import net.runelite.asm.attributes.Code;
 import net.runelite.asm.attributes.code.Instruction;
@@ -66,7 +69,7 @@ class TestClass
 			field2701 += -1868498967 * var;
 		}
 
-		field2138 = tc.dummy() * 1510226873;
+		field2138 = TestClass.dummy() * 1510226873;
 		field2130 = 572701809 * tc.field2138;
 		if (-1722291303 * field2130 >= var)
 		{
@@ -170,4 +173,87 @@ public class SimpleModArithTest
 
 		Assert.assertEquals(378529589, (int) pair.getter);
 	}
+
+	@Test
+	public void testIncremental() throws IOException
+	{
+		for (String name : new String[]{"TestClass", "TestClass2"})
+		{
+			ClassGroup full = load(name);
+			ClassGroup incremental = load(name);
+
+			Encryption fullEncryption = runMath(full, false);
+			Encryption incrementalEncryption = runMath(incremental, true);
+
+			ClassFile fullClass = full.getClasses().get(0);
+			ClassFile incrementalClass = incremental.getClasses().get(0);
+
+			for (Field f : fullClass.getFields())
+			{
+				Pair p1 = fullEncryption.getField(f.getPoolField());
+				Pair p2 = incrementalEncryption.getField(f.getPoolField());
+
+				Assert.assertEquals(p1 == null, p2 == null);
+				if (p1 != null)
+				{
+					Assert.assertEquals(p1.getter, p2.getter);
+					Assert.assertEquals(p1.setter, p2.setter);
+				}
+			}
+
+			for (Method m : fullClass.getMethods())
+			{
+				Method m2 = incrementalClass.findMethod(m.getName(), m.getDescriptor());
+				Assert.assertEquals(describe(m), describe(m2));
+			}
+		}
+	}
+
+	private static List<String> describe(Method method)
+	{
+		List<String> l = new ArrayList<>();
+		for (Instruction i : method.getCode().getInstructions().getInstructions())
+		{
+			l.add(i instanceof LDC ? "ldc " + ((LDC) i).getConstant() : i.getType().getName());
+		}
+		return l;
+	}
+
+	private ClassGroup load(String name) throws IOException
+	{
+		InputStream in = this.getClass().getClassLoader().getResourceAsStream("net/runelite/deob/deobfuscators/arithmetic/" + name + ".class");
+		Assert.assertNotNull(in);
+
+		ClassGroup group = new ClassGroup();
+		group.addClass(ClassUtil.loadClass(in));
+		return group;
+	}
+
+	private static Encryption runMath(ClassGroup group, boolean incremental)
+	{
+		ModArith mod = new ModArith();
+		mod.setIncremental(incremental);
+		mod.run(group);
+
+		// as Deob does, simplify the multiplications between rounds, so the
+		// methods changed by them are executed again by the incremental run
+		int last = -1, cur;
+		while ((cur = mod.runOnce()) > 0)
+		{
+			new MultiplicationDeobfuscator().run(group);
+			new MultiplyOneDeobfuscator(true).run(group);
+			new MultiplyZeroDeobfuscator().run(group);
+
+			if (last == cur)
+			{
+				break;
+			}
+
+			last = cur;
+		}
+
+		new MultiplyOneDeobfuscator(false).run(group);
+
+		return mod.getEncryption();
+	}
 }
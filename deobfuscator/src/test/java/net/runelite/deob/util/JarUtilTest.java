@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.deob.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.deob.TemporyFolderLocation;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarUtilTest
+{
+	private static final String[] CLASSES =
+	{
+		"net/runelite/asm/annotations/TestClass.class",
+		"net/runelite/deob/deobfuscators/arithmetic/TestClass.class",
+		"net/runelite/deob/deobfuscators/arithmetic/TestClass2.class",
+		"net/runelite/deob/deobfuscators/unreachedcode/UnreachableTest.class",
+	};
+
+	@Rule
+	public TemporaryFolder folder = TemporyFolderLocation.getTemporaryFolder();
+
+	@After
+	public void after()
+	{
+		JarUtil.setValidation(JarUtil.Validation.FULL);
+	}
+
+	@Test
+	public void testSaveDeterministic() throws IOException
+	{
+		ClassGroup group = load();
+
+		File jar1 = folder.newFile();
+		File jar2 = folder.newFile();
+		JarUtil.save(group, jar1);
+		JarUtil.save(group, jar2);
+
+		Assert.assertArrayEquals(Files.readAllBytes(jar1.toPath()), Files.readAllBytes(jar2.toPath()));
+
+		// loading keeps entry order
+		ClassGroup loaded = JarUtil.load(jar1);
+		Assert.assertEquals(group.getClasses().size(), loaded.getClasses().size());
+		for (int i = 0; i < group.getClasses().size(); ++i)
+		{
+			ClassFile cf = group.getClasses().get(i);
+			ClassFile cf2 = loaded.getClasses().get(i);
+			Assert.assertEquals(cf.getName(), cf2.getName());
+			Assert.assertArrayEquals(JarUtil.writeClass(group, cf), JarUtil.writeClass(loaded, cf2));
+		}
+	}
+
+	@Test
+	public void testValidation() throws IOException
+	{
+		ClassGroup group = load();
+
+		File full = folder.newFile();
+		JarUtil.save(group, full);
+
+		for (JarUtil.Validation validation : JarUtil.Validation.values())
+		{
+			JarUtil.setValidation(validation);
+
+			File jar = folder.newFile();
+			JarUtil.save(group, jar);
+
+			// validation never changes the output
+			Assert.assertArrayEquals(Files.readAllBytes(full.toPath()), Files.readAllBytes(jar.toPath()));
+		}
+	}
+
+	private ClassGroup load() throws IOException
+	{
+		List<File> files = new ArrayList<>();
+		for (String name : CLASSES)
+		{
+			File file = folder.newFile(name.replace('/', '_'));
+			try (InputStream in = JarUtilTest.class.getClassLoader().getResourceAsStream(name))
+			{
+				Assert.assertNotNull(name, in);
+				Files.write(file.toPath(), in.readAllBytes());
+			}
+			files.add(file);
+		}
+
+		return JarUtil.loadClasses(files);
+	}
+}
@@ -39,4 +39,6 @@ dependencies {
     implementation(group = "org.jetbrains", name = "annotations", version = "22.0.0")
 
     testImplementation(group = "junit", name = "junit", version = "4.12")
+    testImplementation(group = "org.mockito", name = "mockito-core", version = "3.1.0")
+    testImplementation(group = "org.slf4j", name = "slf4j-simple", version = "1.7.32")
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A read-only snapshot of the valid actors of one type, as returned by
+ * {@link Client#getPlayerList()}. The list never changes once created, so it
+ * can be kept and iterated without copying while the client updates its actors.
+ *
+ * @param <T> the actor type
+ */
+public class ActorList<T extends Actor> extends AbstractList<T> implements RandomAccess
+{
+	private final T[] actors;
+
+	/**
+	 * @param actors the actors, which are not copied and must not be changed afterward
+	 */
+	public ActorList(T[] actors)
+	{
+		this.actors = actors;
+	}
+
+	@Override
+	public T get(int index)
+	{
+		return actors[index];
+	}
+
+	@Override
+	public int size()
+	{
+		return actors.length;
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action)
+	{
+		for (T actor : actors)
+		{
+			action.accept(actor);
+		}
+	}
+
+	/**
+	 * Runs an action for each actor matching the filter.
+	 *
+	 * @param filter the filter
+	 * @param action the action
+	 */
+	public void forEach(Predicate<? super T> filter, Consumer<? super T> action)
+	{
+		for (T actor : actors)
+		{
+			if (filter.test(actor))
+			{
+				action.accept(actor);
+			}
+		}
+	}
+
+	/**
+	 * @param filter the filter
+	 * @return the first actor matching the filter, or null if there is none
+	 */
+	public T first(Predicate<? super T> filter)
+	{
+		for (T actor : actors)
+		{
+			if (filter.test(actor))
+			{
+				return actor;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param filter the filter
+	 * @return the number of actors matching the filter
+	 */
+	public int count(Predicate<? super T> filter)
+	{
+		int count = 0;
+		for (T actor : actors)
+		{
+			if (filter.test(actor))
+			{
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param name the actor name
+	 * @return the first actor with the name, or null if there is none
+	 */
+	public T firstNamed(String name)
+	{
+		for (T actor : actors)
+		{
+			if (Objects.equals(actor.getName(), name))
+			{
+				return actor;
+			}
+		}
+		return null;
+	}
+}
@@ -94,6 +94,24 @@ public interface Client extends OAuthApi, GameEngine
 	 */
 	List<NPC> getNpcs();
 
+	/**
+	 * Gets a read-only snapshot of all valid players. Unlike {@link #getPlayers()}
+	 * the snapshot is not copied on each call, and is only replaced when the players
+	 * change, which is usually once per game tick.
+	 *
+	 * @return a snapshot of all players
+	 */
+	ActorList<Player> getPlayerList();
+
+	/**
+	 * Gets a read-only snapshot of all valid NPCs. Unlike {@link #getNpcs()}
+	 * the snapshot is not copied on each call, and is only replaced when the NPCs
+	 * change, which is usually once per game tick.
+	 *
+	 * @return a snapshot of all NPCs
+	 */
+	NpcList getNpcList();
+
 	/**
 	 * Gets an array of all cached NPCs.
 	 *
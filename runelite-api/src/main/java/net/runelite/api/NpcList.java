@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.util.function.Consumer;
+
+/**
+ * A read-only snapshot of the valid NPCs, as returned by {@link Client#getNpcList()},
+ * with lookups by NPC id.
+ */
+public class NpcList extends ActorList<NPC>
+{
+	/**
+	 * @param npcs the NPCs, which are not copied and must not be changed afterward
+	 */
+	public NpcList(NPC[] npcs)
+	{
+		super(npcs);
+	}
+
+	/**
+	 * Runs an action for each NPC with the id.
+	 *
+	 * @param id the NPC id
+	 * @param action the action
+	 */
+	public void forEachWithId(int id, Consumer<? super NPC> action)
+	{
+		for (int i = 0, size = size(); i < size; ++i)
+		{
+			NPC npc = get(i);
+			if (npc.getId() == id)
+			{
+				action.accept(npc);
+			}
+		}
+	}
+
+	/**
+	 * @param id the NPC id
+	 * @return the first NPC with the id, or null if there is none
+	 */
+	public NPC firstWithId(int id)
+	{
+		for (int i = 0, size = size(); i < size; ++i)
+		{
+			NPC npc = get(i);
+			if (npc.getId() == id)
+			{
+				return npc;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param id the NPC id
+	 * @return the number of NPCs with the id
+	 */
+	public int countWithId(int id)
+	{
+		int count = 0;
+		for (int i = 0, size = size(); i < size; ++i)
+		{
+			if (get(i).getId() == id)
+			{
+				++count;
+			}
+		}
+		return count;
+	}
+}
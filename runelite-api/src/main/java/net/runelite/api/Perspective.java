@@ -62,6 +62,8 @@ public class Perspective
 	public static final int[] SINE = new int[2048]; // sine angles for each of the 2048 units, * 65536 and stored as an int
 	public static final int[] COSINE = new int[2048]; // cosine
 
+	private static final ThreadLocal<ProjectionWorkspace> WORKSPACE = ThreadLocal.withInitial(ProjectionWorkspace::new);
+
 	static
 	{
 		for (int i = 0; i < 2048; ++i)
@@ -236,67 +238,9 @@ public class Perspective
 
 	private static void modelToCanvasCpu(Client client, int end, int x3dCenter, int y3dCenter, int z3dCenter, int rotate, int[] x3d, int[] y3d, int[] z3d, int[] x2d, int[] y2d)
 	{
-		final int
-			cameraPitch = client.getCameraPitch(),
-			cameraYaw = client.getCameraYaw(),
-
-			pitchSin = SINE[cameraPitch],
-			pitchCos = COSINE[cameraPitch],
-			yawSin = SINE[cameraYaw],
-			yawCos = COSINE[cameraYaw],
-			rotateSin = SINE[rotate],
-			rotateCos = COSINE[rotate],
-
-			cx = x3dCenter - client.getCameraX(),
-			cy = y3dCenter - client.getCameraY(),
-			cz = z3dCenter - client.getCameraZ(),
-
-			viewportXMiddle = client.getViewportWidth() / 2,
-			viewportYMiddle = client.getViewportHeight() / 2,
-			viewportXOffset = client.getViewportXOffset(),
-			viewportYOffset = client.getViewportYOffset(),
-
-			zoom3d = client.getScale();
-
-		for (int i = 0; i < end; i++)
-		{
-			int x = x3d[i];
-			int y = y3d[i];
-			int z = z3d[i];
-
-			if (rotate != 0)
-			{
-				int x0 = x;
-				x = x0 * rotateCos + y * rotateSin >> 16;
-				y = y * rotateCos - x0 * rotateSin >> 16;
-			}
-
-			x += cx;
-			y += cy;
-			z += cz;
-
-			final int
-				x1 = x * yawCos + y * yawSin >> 16,
-				y1 = y * yawCos - x * yawSin >> 16,
-				y2 = z * pitchCos - y1 * pitchSin >> 16,
-				z1 = y1 * pitchCos + z * pitchSin >> 16;
-
-			int viewX, viewY;
-
-			if (z1 < 50)
-			{
-				viewX = Integer.MIN_VALUE;
-				viewY = Integer.MIN_VALUE;
-			}
-			else
-			{
-				viewX = (viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset;
-				viewY = (viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset;
-			}
-
-			x2d[i] = viewX;
-			y2d[i] = viewY;
-		}
+		ProjectionWorkspace ws = WORKSPACE.get();
+		ws.setCamera(client);
+		ws.modelToCanvas(end, x3dCenter, y3dCenter, z3dCenter, rotate, x3d, y3d, z3d, x2d, y2d);
 	}
 
 	/**
@@ -719,7 +663,41 @@ public class Perspective
 			return null;
 		}
 
-		SimplePolygon bounds = calculateAABB(client, model, orientation, x, y, z);
+		ProjectionWorkspace ws = WORKSPACE.get();
+		ws.setCamera(client);
+		return getClickbox(ws, model, orientation, x, y, z);
+	}
+
+	/**
+	 * Gets the clickboxes of many models at once, as though each was passed to
+	 * {@link #getClickbox(Client, Model, int, int, int, int)}. The camera is read
+	 * once for all of the models, and their vertices are projected into the same
+	 * buffers.
+	 *
+	 * @param client       the game client
+	 * @param count        the number of models
+	 * @param models       the models to calculate clickboxes for
+	 * @param orientations the orientation of each model
+	 * @param x            x coord of each model in local space
+	 * @param y            y coord of each model in local space
+	 * @param z            z coord of each model in local space
+	 * @param clickboxes   set to the clickable area of each model, or null
+	 */
+	@ApiStatus.Internal
+	public static void getClickboxes(@Nonnull Client client, int count, Model[] models, int[] orientations, int[] x, int[] y, int[] z, Shape[] clickboxes)
+	{
+		ProjectionWorkspace ws = WORKSPACE.get();
+		ws.setCamera(client);
+		for (int i = 0; i < count; i++)
+		{
+			Model model = models[i];
+			clickboxes[i] = model == null ? null : getClickbox(ws, model, orientations[i], x[i], y[i], z[i]);
+		}
+	}
+
+	private static Shape getClickbox(ProjectionWorkspace ws, Model model, int orientation, int x, int y, int z)
+	{
+		SimplePolygon bounds = calculateAABB(ws, model, orientation, x, y, z);
 
 		if (bounds == null)
 		{
@@ -731,7 +709,7 @@ public class Perspective
 			return bounds;
 		}
 
-		Shapes<SimplePolygon> bounds2d = calculate2DBounds(client, model, orientation, x, y, z);
+		Shapes<SimplePolygon> bounds2d = calculate2DBounds(ws, model, orientation, x, y, z);
 		if (bounds2d == null)
 		{
 			return null;
@@ -745,7 +723,7 @@ public class Perspective
 		return bounds2d;
 	}
 
-	private static SimplePolygon calculateAABB(Client client, Model m, int jauOrient, int x, int y, int z)
+	private static SimplePolygon calculateAABB(ProjectionWorkspace ws, Model m, int jauOrient, int x, int y, int z)
 	{
 		m.calculateExtreme(jauOrient);
 
@@ -765,34 +743,29 @@ public class Perspective
 		y1 -= ey;
 		z1 -= ez;
 
-		int[] xa = new int[]{
-			x1, x2, x1, x2,
-			x1, x2, x1, x2
-		};
-		int[] ya = new int[]{
-			y1, y1, y2, y2,
-			y1, y1, y2, y2
-		};
-		int[] za = new int[]{
-			z1, z1, z1, z1,
-			z2, z2, z2, z2
-		};
-
-		int[] x2d = new int[8];
-		int[] y2d = new int[8];
-
-		modelToCanvasCpu(client, 8, x, y, z, 0, xa, ya, za, x2d, y2d);
-
-		return Jarvis.convexHull(x2d, y2d);
+		final int[] xa = ws.boxX, ya = ws.boxY, za = ws.boxZ;
+		for (int i = 0; i < 8; i++)
+		{
+			xa[i] = (i & 1) == 0 ? x1 : x2;
+			ya[i] = (i & 2) == 0 ? y1 : y2;
+			za[i] = (i & 4) == 0 ? z1 : z2;
+		}
+
+		final int[] x2d = ws.boxX2d, y2d = ws.boxY2d;
+		ws.modelToCanvas(8, x, y, z, 0, xa, ya, za, x2d, y2d);
+
+		return Jarvis.convexHull(x2d, y2d, 8);
 	}
 
-	private static Shapes<SimplePolygon> calculate2DBounds(Client client, Model m, int jauOrient, int x, int y, int z)
+	private static Shapes<SimplePolygon> calculate2DBounds(ProjectionWorkspace ws, Model m, int jauOrient, int x, int y, int z)
 	{
-		int[] x2d = new int[m.getVerticesCount()];
-		int[] y2d = new int[m.getVerticesCount()];
+		ws.ensureCapacity(m.getVerticesCount(), m.getFaceCount());
+		final int[] x2d = ws.x2d;
+		final int[] y2d = ws.y2d;
+		final int[] rects = ws.rects;
 		final int[] faceColors3 = m.getFaceColors3();
 
-		Perspective.modelToCanvasCpu(client,
+		ws.modelToCanvas(
 			m.getVerticesCount(),
 			x, y, z,
 			jauOrient,
@@ -801,18 +774,16 @@ public class Perspective
 
 		final int radius = 5;
 
-		int[][] tris = new int[][]{
-			m.getFaceIndices1(),
-			m.getFaceIndices2(),
-			m.getFaceIndices3()
-		};
+		final int[] indices1 = m.getFaceIndices1();
+		final int[] indices2 = m.getFaceIndices2();
+		final int[] indices3 = m.getFaceIndices3();
 
-		int vpX1 = client.getViewportXOffset();
-		int vpY1 = client.getViewportXOffset();
-		int vpX2 = vpX1 + client.getViewportWidth();
-		int vpY2 = vpY1 + client.getViewportHeight();
+		int vpX1 = ws.viewportXOffset;
+		int vpY1 = ws.viewportXOffset;
+		int vpX2 = vpX1 + ws.viewportWidth;
+		int vpY2 = vpY1 + ws.viewportHeight;
 
-		List<RectangleUnion.Rectangle> rects = new ArrayList<>(m.getFaceCount());
+		int count = 0;
 
 		nextTri:
 		for (int tri = 0; tri < m.getFaceCount(); tri++)
@@ -828,9 +799,9 @@ public class Perspective
 				maxX = Integer.MIN_VALUE,
 				maxY = Integer.MIN_VALUE;
 
-			for (int[] vertex : tris)
+			for (int v = 0; v < 3; v++)
 			{
-				final int idx = vertex[tri];
+				final int idx = (v == 0 ? indices1 : v == 1 ? indices2 : indices3)[tri];
 				final int xs = x2d[idx];
 				final int ys = y2d[idx];
 
@@ -867,12 +838,138 @@ public class Perspective
 				continue;
 			}
 
-			RectangleUnion.Rectangle r = new RectangleUnion.Rectangle(minX, minY, maxX, maxY);
+			rects[count * 4] = minX;
+			rects[count * 4 + 1] = minY;
+			rects[count * 4 + 2] = maxX;
+			rects[count * 4 + 3] = maxY;
+			count++;
+		}
+
+		return RectangleUnion.union(rects, count, ws.order);
+	}
+
+	/**
+	 * The camera and the buffers used to project models, so calculating a clickbox
+	 * does not allocate for each of the model's vertices and faces. There is one for
+	 * each thread, as models are projected from both the client thread and overlays.
+	 */
+	private static class ProjectionWorkspace
+	{
+		private final int[] boxX = new int[8];
+		private final int[] boxY = new int[8];
+		private final int[] boxZ = new int[8];
+		private final int[] boxX2d = new int[8];
+		private final int[] boxY2d = new int[8];
+
+		private int[] x2d = new int[0];
+		private int[] y2d = new int[0];
+		// x1, y1, x2, y2 of each face's bounds
+		private int[] rects = new int[0];
+		private long[] order = new long[0];
+
+		private int pitchSin, pitchCos, yawSin, yawCos;
+		private int cameraX, cameraY, cameraZ;
+		private int viewportWidth, viewportHeight, viewportXOffset, viewportYOffset;
+		private int zoom3d;
+
+		private void setCamera(Client client)
+		{
+			final int
+				cameraPitch = client.getCameraPitch(),
+				cameraYaw = client.getCameraYaw();
+
+			pitchSin = SINE[cameraPitch];
+			pitchCos = COSINE[cameraPitch];
+			yawSin = SINE[cameraYaw];
+			yawCos = COSINE[cameraYaw];
+
+			cameraX = client.getCameraX();
+			cameraY = client.getCameraY();
+			cameraZ = client.getCameraZ();
 
-			rects.add(r);
+			viewportWidth = client.getViewportWidth();
+			viewportHeight = client.getViewportHeight();
+			viewportXOffset = client.getViewportXOffset();
+			viewportYOffset = client.getViewportYOffset();
+
+			zoom3d = client.getScale();
 		}
 
-		return RectangleUnion.union(rects);
+		private void ensureCapacity(int vertices, int faces)
+		{
+			if (x2d.length < vertices)
+			{
+				x2d = new int[vertices];
+				y2d = new int[vertices];
+			}
+			if (rects.length < faces * 4)
+			{
+				rects = new int[faces * 4];
+				order = new long[faces * 6];
+			}
+		}
+
+		private void modelToCanvas(int end, int x3dCenter, int y3dCenter, int z3dCenter, int rotate, int[] x3d, int[] y3d, int[] z3d, int[] x2d, int[] y2d)
+		{
+			final int
+				pitchSin = this.pitchSin,
+				pitchCos = this.pitchCos,
+				yawSin = this.yawSin,
+				yawCos = this.yawCos,
+				rotateSin = SINE[rotate],
+				rotateCos = COSINE[rotate],
+
+				cx = x3dCenter - cameraX,
+				cy = y3dCenter - cameraY,
+				cz = z3dCenter - cameraZ,
+
+				viewportXMiddle = viewportWidth / 2,
+				viewportYMiddle = viewportHeight / 2,
+				viewportXOffset = this.viewportXOffset,
+				viewportYOffset = this.viewportYOffset,
+
+				zoom3d = this.zoom3d;
+
+			for (int i = 0; i < end; i++)
+			{
+				int x = x3d[i];
+				int y = y3d[i];
+				int z = z3d[i];
+
+				if (rotate != 0)
+				{
+					int x0 = x;
+					x = x0 * rotateCos + y * rotateSin >> 16;
+					y = y * rotateCos - x0 * rotateSin >> 16;
+				}
+
+				x += cx;
+				y += cy;
+				z += cz;
+
+				final int
+					x1 = x * yawCos + y * yawSin >> 16,
+					y1 = y * yawCos - x * yawSin >> 16,
+					y2 = z * pitchCos - y1 * pitchSin >> 16,
+					z1 = y1 * pitchCos + z * pitchSin >> 16;
+
+				int viewX, viewY;
+
+				if (z1 < 50)
+				{
+					viewX = Integer.MIN_VALUE;
+					viewY = Integer.MIN_VALUE;
+				}
+				else
+				{
+					viewX = (viewportXMiddle + x1 * zoom3d / z1) + viewportXOffset;
+					viewY = (viewportYMiddle + y2 * zoom3d / z1) + viewportYOffset;
+				}
+
+				x2d[i] = viewX;
+				y2d[i] = viewY;
+			}
+		}
 	}
 
 	/**
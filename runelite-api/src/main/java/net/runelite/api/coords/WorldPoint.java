@@ -34,7 +34,7 @@ import net.runelite.api.Client;
 import static net.runelite.api.Constants.CHUNK_SIZE;
 import static net.runelite.api.Constants.REGION_SIZE;
 import net.runelite.api.Perspective;
-import net.runelite.api.Tile;
+import net.runelite.api.pathfinding.Pathfinder;
 
 /**
  * A three-dimensional point representing the coordinate of a Tile.
@@ -470,71 +470,38 @@ public class WorldPoint
 			return null;
 		}
 
-		LocalPoint sourceLp = LocalPoint.fromWorld(client, x, y);
-		LocalPoint targetLp = LocalPoint.fromWorld(client, other.getX(), other.getY());
-		if (sourceLp == null || targetLp == null)
+		Pathfinder pathfinder = Pathfinder.get(client);
+		if (pathfinder == null)
 		{
 			return null;
 		}
 
-		int thisX = sourceLp.getSceneX();
-		int thisY = sourceLp.getSceneY();
-		int otherX = targetLp.getSceneX();
-		int otherY = targetLp.getSceneY();
-
-		Tile[][][] tiles = client.getScene().getTiles();
-		Tile sourceTile = tiles[plane][thisX][thisY];
-
-		Tile targetTile = tiles[plane][otherX][otherY];
-		List<Tile> checkpointTiles = sourceTile.pathTo(targetTile);
-		if (checkpointTiles == null)
-		{
-			return null;
-		}
-		List<WorldPoint> checkpointWPs = new ArrayList<>();
-		for (Tile checkpointTile : checkpointTiles)
-		{
-			if (checkpointTile == null)
-			{
-				break;
-			}
-			checkpointWPs.add(checkpointTile.getWorldLocation());
-		}
-		return checkpointWPs;
+		return pathfinder.pathTo(this, other);
 	}
 
 	/**
 	 * Gets the path distance from this point to a WorldPoint.
 	 * <p>
 	 * If the other point is unreachable, this method will return {@link Integer#MAX_VALUE}.
+	 * <p>
+	 * The distances from this point are kept for the rest of the game tick, so ranking
+	 * many points by their distance from the same point only searches the scene once.
 	 *
 	 * @param client
 	 * @param other
 	 * @return Returns the path distance
+	 * @see Pathfinder#distancesToPath(WorldPoint, List)
 	 */
 	public int distanceToPath(Client client, WorldPoint other)
 	{
-		List<WorldPoint> checkpointWPs = this.pathTo(client, other);
-		if (checkpointWPs == null)
+		Pathfinder pathfinder = Pathfinder.get(client);
+		if (pathfinder == null)
 		{
 			// No path found
 			return Integer.MAX_VALUE;
 		}
 
-		WorldPoint destinationPoint = checkpointWPs.get(checkpointWPs.size() - 1);
-		if (other.getX() != destinationPoint.getX() || other.getY() != destinationPoint.getY())
-		{
-			// Path found but not to the requested tile
-			return Integer.MAX_VALUE;
-		}
-		WorldPoint Point1 = this;
-		int distance = 0;
-		for (WorldPoint Point2 : checkpointWPs)
-		{
-			distance += Point1.distanceTo2D(Point2);
-			Point1 = Point2;
-		}
-		return distance;
+		return pathfinder.distanceToPath(this, other);
 	}
 
 	/**
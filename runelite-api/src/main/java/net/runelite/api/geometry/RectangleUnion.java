@@ -25,7 +25,7 @@
 package net.runelite.api.geometry;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -51,84 +51,136 @@ public class RectangleUnion
 
 	/**
 	 * Returns a polygon representing the union of all of the passed rectangles.
-	 * the passed List will be modified
 	 */
 	@Nullable
 	public static Shapes<SimplePolygon> union(List<Rectangle> lefts)
+	{
+		int[] rects = new int[lefts.size() * 4];
+		for (int i = 0, j = 0; i < lefts.size(); i++)
+		{
+			Rectangle r = lefts.get(i);
+			rects[j++] = r.x1;
+			rects[j++] = r.y1;
+			rects[j++] = r.x2;
+			rects[j++] = r.y2;
+		}
+
+		return union(rects, lefts.size(), new long[lefts.size() * 6]);
+	}
+
+	/**
+	 * Returns a polygon representing the union of the first {@code count} rectangles
+	 * in {@code rects}, which holds x1, y1, x2, y2 for each rectangle. {@code order}
+	 * is scratch space for sorting the edges and must hold at least {@code count * 6}
+	 * values. This lets callers reuse both arrays between calls.
+	 */
+	@Nullable
+	public static Shapes<SimplePolygon> union(int[] rects, int count, long[] order)
 	{
 		// https://stackoverflow.com/a/35362615/2977136
-		if (lefts.size() == 0)
+		if (count == 0)
 		{
 			return null;
 		}
 
 		boolean trace = log.isTraceEnabled();
 
-		// Sort all of the rectangles so they are ordered by their left edge
-		lefts.sort(Comparator.comparingInt(Rectangle::getX1));
+		// Sort all of the rectangles so they are ordered by their left edge. Each
+		// key is the edge in the high bits and the rectangle in the low bits, so
+		// equal edges keep their original order
+		for (int i = 0; i < count; i++)
+		{
+			order[i] = (long) rects[i * 4] << 32 | i;
+		}
+		Arrays.sort(order, 0, count);
+
+		// Again, but for the right edge, keeping equal edges in left edge order
+		for (int i = 0; i < count; i++)
+		{
+			int rect = (int) order[i];
+			order[count + i] = (long) rects[rect * 4 + 2] << 32 | i;
+		}
+		Arrays.sort(order, count, count * 2);
 
-		// Again, but for the right edge
-		// this should be relatively fast if the rectangles are similar sizes because timsort deals with partially
-		// presorted data well
-		List<Rectangle> rights = new ArrayList<>(lefts);
-		rights.sort(Comparator.comparingInt(Rectangle::getX2));
+		// Rank the distinct top and bottom edges, so the scan line can be searched
+		// by rank rather than walked from the top. The rank of each edge is kept
+		// after the sorted edges
+		final int ys = count * 2, ranks = count * 4;
+		for (int i = 0; i < count; i++)
+		{
+			order[ys + i * 2] = (long) rects[i * 4 + 1] << 32 | i * 2;
+			order[ys + i * 2 + 1] = (long) rects[i * 4 + 3] << 32 | i * 2 + 1;
+		}
+		Arrays.sort(order, ys, ys + count * 2);
+		int rank = 0;
+		for (int i = 0; i < count * 2; i++)
+		{
+			long key = order[ys + i];
+			if (i > 0 && key >> 32 != order[ys + i - 1] >> 32)
+			{
+				rank++;
+			}
+			order[ranks + (int) key] = rank;
+		}
 
 		// ranges of our scan line with how many rectangles it is occluding
-		Segments segments = new Segments();
+		Segments segments = new Segments(new Segment[rank + 1], new Segment[rank + 1]);
 		Shapes<SimplePolygon> out = new Shapes<>(new ArrayList<>());
 		ChangingState cs = new ChangingState(out);
 
 		// Walk a beam left to right, colliding with any vertical edges of rectangles
 		for (int l = 0, r = 0; ; )
 		{
-			Rectangle lr = null, rr = null;
-			if (l < lefts.size())
+			int lr = -1, rr = -1;
+			if (l < count)
 			{
-				lr = lefts.get(l);
+				lr = (int) order[l] * 4;
 			}
-			if (r < rights.size())
+			if (r < count)
 			{
-				rr = rights.get(r);
+				rr = (int) order[(int) order[count + r]] * 4;
 			}
-			if (lr == null && rr == null)
+			if (lr == -1 && rr == -1)
 			{
 				break;
 			}
 
 			// get the next edge, preferring + edges
-			Rectangle rect;
-			boolean remove = lr == null || (rr != null && rr.x2 < lr.x1);
+			int rect;
+			boolean remove = lr == -1 || (rr != -1 && rects[rr + 2] < rects[lr]);
 			if (remove)
 			{
 				cs.delta = -1;
-				cs.x = rr.x2;
+				cs.x = rects[rr + 2];
 				r++;
 				rect = rr;
 			}
 			else
 			{
 				cs.delta = 1;
-				cs.x = lr.x1;
+				cs.x = rects[lr];
 				l++;
 				rect = lr;
 			}
 			if (trace)
 			{
-				log.trace("{}{}", remove ? "-" : "+", rect);
+				log.trace("{}({}, {}, {}, {})", remove ? "-" : "+", rects[rect], rects[rect + 1], rects[rect + 2], rects[rect + 3]);
 			}
 
-			int y1 = rect.y1;
-			int y2 = rect.y2;
+			int y1 = rects[rect + 1];
+			int y2 = rects[rect + 3];
+			int y1Rank = (int) order[ranks + rect / 2];
+			int y2Rank = (int) order[ranks + rect / 2 + 1];
 
 			// Find or create the y1 edge
-			Segment n = segments.findLE(y1);
+			Segment n = segments.findLE(y1Rank);
 			if (n == null)
 			{
-				n = segments.insertAfter(null, y1);
+				n = segments.insertAfter(null, y1, y1Rank);
 			}
 			if (n.y != y1)
 			{
-				n = segments.insertAfter(n, y1);
+				n = segments.insertAfter(n, y1, y1Rank);
 				n.value = n.previous.value;
 			}
 
@@ -137,7 +189,7 @@ public class RectangleUnion
 				// create the y2 edge if the next edge is past
 				if (n.next == null || n.next.y > y2)
 				{
-					segments.insertAfter(n, y2);
+					segments.insertAfter(n, y2, y2Rank);
 				}
 				cs.touch(n);
 				n = n.next;
@@ -326,39 +378,42 @@ public class RectangleUnion
 		int value;
 	}
 
-	@NoArgsConstructor
+	@RequiredArgsConstructor
 	private static class Segments
 	{
+		// the first and last segments at each ranked y, as an empty rectangle adds
+		// a second segment at its y
+		final Segment[] firstByRank, lastByRank;
+
 		Segment first;
 
-		Segment findLE(int y)
+		Segment findLE(int rank)
 		{
-			Segment s = first;
-			if (s == null || s.y > y)
+			if (firstByRank[rank] != null)
 			{
-				return null;
+				return firstByRank[rank];
 			}
-			for (; ; )
+			for (rank--; rank >= 0; rank--)
 			{
-				if (s.y == y)
+				Segment s = lastByRank[rank];
+				if (s != null)
 				{
 					return s;
 				}
-
-				Segment n = s.next;
-				if (n == null || n.y > y)
-				{
-					return s;
-				}
-
-				s = n;
 			}
+			return null;
 		}
 
-		Segment insertAfter(Segment before, int y)
+		Segment insertAfter(Segment before, int y, int rank)
 		{
 			Segment n = new Segment();
 			n.y = y;
+			// segments are only inserted after the existing ones at the same y
+			if (firstByRank[rank] == null)
+			{
+				firstByRank[rank] = n;
+			}
+			lastByRank[rank] = n;
 			if (before != null)
 			{
 				if (before.next != null)
@@ -78,8 +78,20 @@ public class Jarvis
 	 */
 	public static SimplePolygon convexHull(int[] xs, int[] ys)
 	{
-		int length = xs.length;
+		return convexHull(xs, ys, xs.length);
+	}
 
+	/**
+	 * Computes and returns the convex hull of the first {@code length} passed
+	 * points. Invalid points are removed from the arrays in place.
+	 * <p>
+	 * The number of valid points must be at least 3, otherwise this method
+	 * will return null.
+	 *
+	 * @return a shape the points part of the convex hull
+	 */
+	public static SimplePolygon convexHull(int[] xs, int[] ys, int length)
+	{
 		// remove any invalid entries
 		{
 			int i = 0, offset = 0;
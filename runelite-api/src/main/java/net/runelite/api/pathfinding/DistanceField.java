@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * The distances from one tile to every tile it can reach, found with a breadth
+ * first search in the same order as the server's pathfinding. Like the server,
+ * the search only covers the 128x128 area around the origin.
+ */
+public class DistanceField
+{
+	private static final int SIZE = 128;
+	private static final int OFFSET = SIZE / 2;
+	// the server only supports paths with up to 25 checkpoint tiles
+	private static final int MAX_CHECKPOINTS = 25;
+	// how far around an unreachable target to look for the closest reachable tile
+	private static final int CHECK_RANGE = 10;
+
+	private static final int DIRECTION_ORIGIN = 99;
+
+	private final Pathfinder pathfinder;
+
+	@Getter
+	private final int plane;
+
+	// scene coordinates of the origin
+	private final int originX;
+	private final int originY;
+
+	// the direction each tile was reached from, indexed by (x - originX + OFFSET) * SIZE + y - originY + OFFSET
+	private final byte[] directions = new byte[SIZE * SIZE];
+	private final int[] distances = new int[SIZE * SIZE];
+
+	DistanceField(Pathfinder pathfinder, int plane, int originX, int originY)
+	{
+		this.pathfinder = pathfinder;
+		this.plane = plane;
+		this.originX = originX;
+		this.originY = originY;
+		search(pathfinder.getFlags()[plane]);
+	}
+
+	private void search(int[] flags)
+	{
+		Arrays.fill(distances, Integer.MAX_VALUE);
+
+		final int[] bufferX = new int[4096];
+		final int[] bufferY = new int[4096];
+		int index1 = 0;
+		int index2 = 1;
+		bufferX[0] = originX;
+		bufferY[0] = originY;
+		directions[index(originX, originY)] = DIRECTION_ORIGIN;
+		distances[index(originX, originY)] = 0;
+
+		while (index1 != index2)
+		{
+			final int x = bufferX[index1];
+			final int y = bufferY[index1];
+			index1 = index1 + 1 & 4095;
+			final int mapX = x - originX + OFFSET;
+			final int mapY = y - originY + OFFSET;
+			final int i = mapX * SIZE + mapY;
+			final int distance = distances[i] + 1;
+
+			if (mapX > 0 && directions[i - SIZE] == 0 && free(flags, x - 1, y, 19136776))
+			{
+				// west
+				bufferX[index2] = x - 1;
+				bufferY[index2] = y;
+				index2 = index2 + 1 & 4095;
+				directions[i - SIZE] = 2;
+				distances[i - SIZE] = distance;
+			}
+
+			if (mapX < SIZE - 1 && directions[i + SIZE] == 0 && free(flags, x + 1, y, 19136896))
+			{
+				// east
+				bufferX[index2] = x + 1;
+				bufferY[index2] = y;
+				index2 = index2 + 1 & 4095;
+				directions[i + SIZE] = 8;
+				distances[i + SIZE] = distance;
+			}
+
+			if (mapY > 0 && directions[i - 1] == 0 && free(flags, x, y - 1, 19136770))
+			{
+				// south
+				bufferX[index2] = x;
+				bufferY[index2] = y - 1;
+				index2 = index2 + 1 & 4095;
+				directions[i - 1] = 1;
+				distances[i - 1] = distance;
+			}
+
+			if (mapY < SIZE - 1 && directions[i + 1] == 0 && free(flags, x, y + 1, 19136800))
+			{
+				// north
+				bufferX[index2] = x;
+				bufferY[index2] = y + 1;
+				index2 = index2 + 1 & 4095;
+				directions[i + 1] = 4;
+				distances[i + 1] = distance;
+			}
+
+			if (mapX > 0 && mapY > 0 && directions[i - SIZE - 1] == 0
+				&& free(flags, x - 1, y - 1, 19136782) && free(flags, x - 1, y, 19136776) && free(flags, x, y - 1, 19136770))
+			{
+				// south-west
+				bufferX[index2] = x - 1;
+				bufferY[index2] = y - 1;
+				index2 = index2 + 1 & 4095;
+				directions[i - SIZE - 1] = 3;
+				distances[i - SIZE - 1] = distance;
+			}
+
+			if (mapX < SIZE - 1 && mapY > 0 && directions[i + SIZE - 1] == 0
+				&& free(flags, x + 1, y - 1, 19136899) && free(flags, x + 1, y, 19136896) && free(flags, x, y - 1, 19136770))
+			{
+				// south-east
+				bufferX[index2] = x + 1;
+				bufferY[index2] = y - 1;
+				index2 = index2 + 1 & 4095;
+				directions[i + SIZE - 1] = 9;
+				distances[i + SIZE - 1] = distance;
+			}
+
+			if (mapX > 0 && mapY < SIZE - 1 && directions[i - SIZE + 1] == 0
+				&& free(flags, x - 1, y + 1, 19136824) && free(flags, x - 1, y, 19136776) && free(flags, x, y + 1, 19136800))
+			{
+				// north-west
+				bufferX[index2] = x - 1;
+				bufferY[index2] = y + 1;
+				index2 = index2 + 1 & 4095;
+				directions[i - SIZE + 1] = 6;
+				distances[i - SIZE + 1] = distance;
+			}
+
+			if (mapX < SIZE - 1 && mapY < SIZE - 1 && directions[i + SIZE + 1] == 0
+				&& free(flags, x + 1, y + 1, 19136992) && free(flags, x + 1, y, 19136896) && free(flags, x, y + 1, 19136800))
+			{
+				// north-east
+				bufferX[index2] = x + 1;
+				bufferY[index2] = y + 1;
+				index2 = index2 + 1 & 4095;
+				directions[i + SIZE + 1] = 12;
+				distances[i + SIZE + 1] = distance;
+			}
+		}
+	}
+
+	private static boolean free(int[] flags, int x, int y, int mask)
+	{
+		return Pathfinder.inScene(x, y) && (flags[x * SCENE_SIZE + y] & mask) == 0;
+	}
+
+	private int index(int x, int y)
+	{
+		return (x - originX + OFFSET) * SIZE + y - originY + OFFSET;
+	}
+
+	private boolean inArea(int x, int y)
+	{
+		final int mapX = x - originX + OFFSET;
+		final int mapY = y - originY + OFFSET;
+		return mapX >= 0 && mapY >= 0 && mapX < SIZE && mapY < SIZE;
+	}
+
+	/**
+	 * Gets the number of steps to walk from the origin to a tile.
+	 *
+	 * @return the number of steps, or {@link Integer#MAX_VALUE} if the tile can't be reached
+	 */
+	public int getDistance(WorldPoint target)
+	{
+		final int x = target.getX() - pathfinder.getBaseX();
+		final int y = target.getY() - pathfinder.getBaseY();
+		if (target.getPlane() != plane || !inArea(x, y))
+		{
+			return Integer.MAX_VALUE;
+		}
+		return distances[index(x, y)];
+	}
+
+	/**
+	 * Gets the path distance from the origin to a tile.
+	 *
+	 * @return the path distance, or {@link Integer#MAX_VALUE} if the server would not path to the tile
+	 * @see WorldPoint#distanceToPath(net.runelite.api.Client, WorldPoint)
+	 */
+	public int distanceToPath(WorldPoint target)
+	{
+		final int distance = getDistance(target);
+		if (distance == Integer.MAX_VALUE)
+		{
+			// the path would end at a different tile
+			return Integer.MAX_VALUE;
+		}
+
+		final int x = target.getX() - pathfinder.getBaseX();
+		final int y = target.getY() - pathfinder.getBaseY();
+		if (checkpoints(x, y, null, null) > MAX_CHECKPOINTS)
+		{
+			// the path is cut short
+			return Integer.MAX_VALUE;
+		}
+		return distance;
+	}
+
+	/**
+	 * Determine the checkpoint tiles of a server-sided path from the origin to a tile.
+	 *
+	 * @return the checkpoint tiles of the path, or null if there is no path
+	 * @see WorldPoint#pathTo(net.runelite.api.Client, WorldPoint)
+	 */
+	@Nullable
+	public List<WorldPoint> pathTo(WorldPoint target)
+	{
+		if (target.getPlane() != plane)
+		{
+			return null;
+		}
+
+		final int baseX = pathfinder.getBaseX();
+		final int baseY = pathfinder.getBaseY();
+		int x = target.getX() - baseX;
+		int y = target.getY() - baseY;
+		if (!Pathfinder.inScene(x, y))
+		{
+			return null;
+		}
+
+		if (!inArea(x, y) || distances[index(x, y)] == Integer.MAX_VALUE)
+		{
+			// Try find a different reachable tile in the 21x21 area around the target tile, as close as possible to the target tile
+			int upperboundDistance = Integer.MAX_VALUE;
+			int pathLength = Integer.MAX_VALUE;
+			final int approxDestinationX = x;
+			final int approxDestinationY = y;
+			for (int i = approxDestinationX - CHECK_RANGE; i <= approxDestinationX + CHECK_RANGE; ++i)
+			{
+				for (int j = approxDestinationY - CHECK_RANGE; j <= approxDestinationY + CHECK_RANGE; ++j)
+				{
+					if (!inArea(i, j) || distances[index(i, j)] >= 100)
+					{
+						continue;
+					}
+
+					final int deltaX = Math.abs(i - approxDestinationX);
+					final int deltaY = Math.abs(j - approxDestinationY);
+					final int distanceSquared = deltaX * deltaX + deltaY * deltaY;
+					final int length = distances[index(i, j)];
+					if (distanceSquared < upperboundDistance || distanceSquared == upperboundDistance && length < pathLength)
+					{
+						upperboundDistance = distanceSquared;
+						pathLength = length;
+						x = i;
+						y = j;
+					}
+				}
+			}
+
+			if (upperboundDistance == Integer.MAX_VALUE)
+			{
+				// No path found
+				return null;
+			}
+		}
+
+		final int count = checkpoints(x, y, null, null);
+		final int[] bufferX = new int[count];
+		final int[] bufferY = new int[count];
+		checkpoints(x, y, bufferX, bufferY);
+
+		// the checkpoints are found from the end of the path back to the origin
+		final List<WorldPoint> path = new ArrayList<>(Math.min(count, MAX_CHECKPOINTS));
+		for (int index = count - 1; index >= 0 && path.size() < MAX_CHECKPOINTS; --index)
+		{
+			path.add(new WorldPoint(bufferX[index] + baseX, bufferY[index] + baseY, plane));
+		}
+		return path;
+	}
+
+	/**
+	 * Walks back from a reached tile to the origin, finding the "corner tiles" of the path.
+	 *
+	 * @return the number of checkpoint tiles, including the given tile
+	 */
+	private int checkpoints(int x, int y, @Nullable int[] bufferX, @Nullable int[] bufferY)
+	{
+		int count = 0;
+		if (bufferX != null)
+		{
+			bufferX[count] = x;
+			bufferY[count] = y;
+		}
+		++count;
+
+		int directionOld = directions[index(x, y)];
+		while (x != originX || y != originY)
+		{
+			final int directionNew = directions[index(x, y)];
+			if (directionNew != directionOld)
+			{
+				// "Corner" of the path --> new checkpoint tile
+				directionOld = directionNew;
+				if (bufferX != null)
+				{
+					bufferX[count] = x;
+					bufferY[count] = y;
+				}
+				++count;
+			}
+
+			if ((directionNew & 2) != 0)
+			{
+				++x;
+			}
+			else if ((directionNew & 8) != 0)
+			{
+				--x;
+			}
+
+			if ((directionNew & 1) != 0)
+			{
+				++y;
+			}
+			else if ((directionNew & 4) != 0)
+			{
+				--y;
+			}
+		}
+		return count;
+	}
+}
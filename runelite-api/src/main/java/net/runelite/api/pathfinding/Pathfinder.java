@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Finds paths over a copy of the scene's collision flags, with the same rules as
+ * {@link net.runelite.api.Tile#pathTo(net.runelite.api.Tile)}.
+ * <p>
+ * The flags are copied at most once per game tick, and the distances from each
+ * origin are kept, so ranking many targets by their path distance from the same
+ * point searches the scene once. The copy does not change after it is taken, so
+ * it can be used off the client thread.
+ */
+public class Pathfinder
+{
+	// distance fields kept for the most recently used origins
+	private static final int MAX_FIELDS = 16;
+
+	private static volatile Pathfinder current;
+
+	/**
+	 * The game tick the collision flags were copied on
+	 */
+	@Getter
+	private final int tickCount;
+
+	@Getter
+	private final int baseX;
+
+	@Getter
+	private final int baseY;
+
+	// the flags of each plane, indexed by x * SCENE_SIZE + y
+	@Getter(AccessLevel.PACKAGE)
+	private final int[][] flags;
+
+	private final Map<Integer, DistanceField> fields = new LinkedHashMap<>(MAX_FIELDS, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, DistanceField> eldest)
+		{
+			return size() > MAX_FIELDS;
+		}
+	};
+
+	Pathfinder(int tickCount, int baseX, int baseY, int[][] flags)
+	{
+		this.tickCount = tickCount;
+		this.baseX = baseX;
+		this.baseY = baseY;
+		this.flags = flags;
+	}
+
+	/**
+	 * Gets a pathfinder over the collision flags of the current game tick. This
+	 * must be called on the client thread. Changes to the flags made later in
+	 * the same tick are seen on the next tick.
+	 *
+	 * @param client the client
+	 * @return the pathfinder, or null if the scene has no collision flags
+	 */
+	@Nullable
+	public static Pathfinder get(Client client)
+	{
+		Pathfinder pathfinder = current;
+		if (pathfinder != null
+			&& pathfinder.tickCount == client.getTickCount()
+			&& pathfinder.baseX == client.getBaseX()
+			&& pathfinder.baseY == client.getBaseY())
+		{
+			return pathfinder;
+		}
+
+		CollisionData[] collisionMaps = client.getCollisionMaps();
+		if (collisionMaps == null)
+		{
+			return null;
+		}
+
+		int[][] flags = new int[collisionMaps.length][];
+		for (int plane = 0; plane < collisionMaps.length; ++plane)
+		{
+			if (collisionMaps[plane] != null)
+			{
+				flags[plane] = copy(collisionMaps[plane].getFlags());
+			}
+		}
+
+		pathfinder = new Pathfinder(client.getTickCount(), client.getBaseX(), client.getBaseY(), flags);
+		current = pathfinder;
+		return pathfinder;
+	}
+
+	private static int[] copy(int[][] flags)
+	{
+		int[] copy = new int[SCENE_SIZE * SCENE_SIZE];
+		for (int x = 0; x < Math.min(SCENE_SIZE, flags.length); ++x)
+		{
+			System.arraycopy(flags[x], 0, copy, x * SCENE_SIZE, Math.min(SCENE_SIZE, flags[x].length));
+		}
+		return copy;
+	}
+
+	/**
+	 * Gets the distances from a point to every tile it can reach. These are kept,
+	 * so later calls with the same point do not search again.
+	 *
+	 * @param origin the point to find the distances from
+	 * @return the distances, or null if the point is not in the scene
+	 */
+	@Nullable
+	public DistanceField distancesFrom(WorldPoint origin)
+	{
+		int plane = origin.getPlane();
+		int x = origin.getX() - baseX;
+		int y = origin.getY() - baseY;
+		if (!inScene(x, y) || plane < 0 || plane >= flags.length || flags[plane] == null)
+		{
+			return null;
+		}
+
+		Integer key = plane << 16 | x << 8 | y;
+		synchronized (fields)
+		{
+			DistanceField field = fields.get(key);
+			if (field == null)
+			{
+				field = new DistanceField(this, plane, x, y);
+				fields.put(key, field);
+			}
+			return field;
+		}
+	}
+
+	/**
+	 * Determine the checkpoint tiles of a server-sided path between two points.
+	 *
+	 * @see WorldPoint#pathTo(Client, WorldPoint)
+	 */
+	@Nullable
+	public List<WorldPoint> pathTo(WorldPoint from, WorldPoint to)
+	{
+		if (from.getPlane() != to.getPlane())
+		{
+			return null;
+		}
+
+		DistanceField field = distancesFrom(from);
+		return field == null ? null : field.pathTo(to);
+	}
+
+	/**
+	 * Gets the path distance between two points.
+	 *
+	 * @return the path distance, or {@link Integer#MAX_VALUE} if the server would not path to {@code to}
+	 * @see WorldPoint#distanceToPath(Client, WorldPoint)
+	 */
+	public int distanceToPath(WorldPoint from, WorldPoint to)
+	{
+		if (from.getPlane() != to.getPlane())
+		{
+			return Integer.MAX_VALUE;
+		}
+
+		DistanceField field = distancesFrom(from);
+		return field == null ? Integer.MAX_VALUE : field.distanceToPath(to);
+	}
+
+	/**
+	 * Gets the path distance from one point to each of the targets, searching the
+	 * scene at most once.
+	 *
+	 * @return the path distance to each target, or {@link Integer#MAX_VALUE} for
+	 * the targets which the server would not path to
+	 * @see #distanceToPath(WorldPoint, WorldPoint)
+	 */
+	public int[] distancesToPath(WorldPoint from, List<WorldPoint> targets)
+	{
+		int[] distances = new int[targets.size()];
+		DistanceField field = distancesFrom(from);
+		for (int i = 0; i < distances.length; ++i)
+		{
+			WorldPoint target = targets.get(i);
+			distances[i] = field == null || target.getPlane() != from.getPlane()
+				? Integer.MAX_VALUE
+				: field.distanceToPath(target);
+		}
+		return distances;
+	}
+
+	static boolean inScene(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < SCENE_SIZE && y < SCENE_SIZE;
+	}
+}
@@ -45,6 +45,19 @@ public class DecorativeObjectQuery extends TileObjectQuery<DecorativeObject, Dec
 			.collect(Collectors.toList()));
 	}
 
+	/**
+	 * Executes the query against an index of the objects in the scene, instead
+	 * of checking every tile of the scene.
+	 *
+	 * @param client the game client
+	 * @param index the index of the objects in the scene
+	 * @return the matching objects
+	 */
+	public LocatableQueryResults<DecorativeObject> result(Client client, TileObjectIndex index)
+	{
+		return result(client, index, DecorativeObject.class);
+	}
+
 	private Collection<DecorativeObject> getDecorativeObjects(Client client)
 	{
 		Collection<DecorativeObject> objects = new ArrayList<>();
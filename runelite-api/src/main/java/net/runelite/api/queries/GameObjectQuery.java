@@ -46,6 +46,19 @@ public class GameObjectQuery extends TileObjectQuery<GameObject, GameObjectQuery
 			.collect(Collectors.toList()));
 	}
 
+	/**
+	 * Executes the query against an index of the objects in the scene, instead
+	 * of checking every tile of the scene.
+	 *
+	 * @param client the game client
+	 * @param index the index of the objects in the scene
+	 * @return the matching objects
+	 */
+	public LocatableQueryResults<GameObject> result(Client client, TileObjectIndex index)
+	{
+		return result(client, index, GameObject.class);
+	}
+
 	private Collection<GameObject> getGameObjects(Client client)
 	{
 		Collection<GameObject> objects = new ArrayList<>();
@@ -45,6 +45,19 @@ public class GroundObjectQuery extends TileObjectQuery<GroundObject, GroundObjec
 			.collect(Collectors.toList()));
 	}
 
+	/**
+	 * Executes the query against an index of the objects in the scene, instead
+	 * of checking every tile of the scene.
+	 *
+	 * @param client the game client
+	 * @param index the index of the objects in the scene
+	 * @return the matching objects
+	 */
+	public LocatableQueryResults<GroundObject> result(Client client, TileObjectIndex index)
+	{
+		return result(client, index, GroundObject.class);
+	}
+
 	private Collection<GroundObject> getGroundObjects(Client client)
 	{
 		Collection<GroundObject> objects = new ArrayList<>();
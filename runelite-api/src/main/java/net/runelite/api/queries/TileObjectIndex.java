@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.queries;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.runelite.api.Constants;
+import net.runelite.api.Point;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+
+/**
+ * An index of the objects in the scene by id, name and tile, which is kept up to
+ * date as objects spawn and despawn instead of walking every tile of the scene.
+ * <p>
+ * Objects are indexed on the tile they spawned on, which for a {@link net.runelite.api.GameObject}
+ * larger than one tile is its south west tile. The index is not thread safe and
+ * should only be used from the client thread.
+ */
+public class TileObjectIndex
+{
+	private final Map<Integer, List<TileObject>> objectsById = new HashMap<>();
+	private final Map<Integer, List<TileObject>> objectsByTile = new HashMap<>();
+	private final Map<String, Set<Integer>> idsByName = new HashMap<>();
+	private final Map<Integer, String> names = new HashMap<>();
+	private int size;
+
+	private static int tileKey(int plane, int sceneX, int sceneY)
+	{
+		return (plane * Constants.SCENE_SIZE + sceneX) * Constants.SCENE_SIZE + sceneY;
+	}
+
+	private static int tileKey(Tile tile)
+	{
+		Point p = tile.getSceneLocation();
+		return tileKey(tile.getPlane(), p.getX(), p.getY());
+	}
+
+	private static int idKey(int plane, int id)
+	{
+		return id * Constants.MAX_Z + plane;
+	}
+
+	/**
+	 * Adds an object which has spawned on a tile.
+	 *
+	 * @param tile the tile the object spawned on
+	 * @param object the object
+	 */
+	public void add(Tile tile, TileObject object)
+	{
+		final int id = object.getId();
+		final int idKey = idKey(tile.getPlane(), id);
+		List<TileObject> objects = objectsById.get(idKey);
+		if (objects == null)
+		{
+			objects = new ArrayList<>(2);
+			objectsById.put(idKey, objects);
+
+			if (!names.containsKey(id))
+			{
+				// the name is from the base composition, so is the same for every object with the id
+				String name = object.getName();
+				names.put(id, name);
+				idsByName.computeIfAbsent(name, k -> new HashSet<>()).add(id);
+			}
+		}
+		objects.add(object);
+		objectsByTile.computeIfAbsent(tileKey(tile), k -> new ArrayList<>(2)).add(object);
+		++size;
+	}
+
+	/**
+	 * Removes an object which has despawned from a tile.
+	 *
+	 * @param tile the tile the object despawned from
+	 * @param object the object
+	 * @return if the object was in the index
+	 */
+	public boolean remove(Tile tile, TileObject object)
+	{
+		if (!remove(objectsByTile, tileKey(tile), object))
+		{
+			return false;
+		}
+
+		final int id = object.getId();
+		final int idKey = idKey(tile.getPlane(), id);
+		remove(objectsById, idKey, object);
+
+		if (!hasId(id))
+		{
+			String name = names.remove(id);
+			Set<Integer> ids = idsByName.get(name);
+			ids.remove(id);
+			if (ids.isEmpty())
+			{
+				idsByName.remove(name);
+			}
+		}
+
+		--size;
+		return true;
+	}
+
+	private static boolean remove(Map<Integer, List<TileObject>> map, int key, TileObject object)
+	{
+		List<TileObject> objects = map.get(key);
+		if (objects == null)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < objects.size(); ++i)
+		{
+			if (objects.get(i) == object)
+			{
+				objects.remove(i);
+				if (objects.isEmpty())
+				{
+					map.remove(key);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasId(int id)
+	{
+		for (int plane = 0; plane < Constants.MAX_Z; ++plane)
+		{
+			if (objectsById.containsKey(idKey(plane, id)))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all objects, such as when the scene is being reloaded.
+	 */
+	public void clear()
+	{
+		objectsById.clear();
+		objectsByTile.clear();
+		idsByName.clear();
+		names.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return the number of objects in the index
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the objects with any of the given ids.
+	 *
+	 * @param plane the plane of the tiles the objects are on
+	 * @param ids the object ids
+	 * @return the objects, which the caller may modify
+	 */
+	public List<TileObject> getObjectsById(int plane, int... ids)
+	{
+		List<TileObject> result = new ArrayList<>();
+		for (int id : ids)
+		{
+			List<TileObject> objects = objectsById.get(idKey(plane, id));
+			if (objects != null)
+			{
+				result.addAll(objects);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the objects with any of the given ids.
+	 *
+	 * @param plane the plane of the tiles the objects are on
+	 * @param ids the object ids
+	 * @return the objects, which the caller may modify
+	 */
+	public List<TileObject> getObjectsById(int plane, Collection<Integer> ids)
+	{
+		List<TileObject> result = new ArrayList<>();
+		for (int id : ids)
+		{
+			List<TileObject> objects = objectsById.get(idKey(plane, id));
+			if (objects != null)
+			{
+				result.addAll(objects);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the objects with any of the given names. The names are those of
+	 * the objects' base compositions, as returned by {@link TileObject#getName()}.
+	 *
+	 * @param plane the plane of the tiles the objects are on
+	 * @param names the object names
+	 * @return the objects, which the caller may modify
+	 */
+	public List<TileObject> getObjectsByName(int plane, String... names)
+	{
+		List<TileObject> result = new ArrayList<>();
+		for (String name : names)
+		{
+			Set<Integer> ids = idsByName.get(name);
+			if (ids != null)
+			{
+				result.addAll(getObjectsById(plane, ids));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the objects which spawned on a tile.
+	 *
+	 * @param plane the plane of the tile
+	 * @param sceneX the scene x coordinate of the tile
+	 * @param sceneY the scene y coordinate of the tile
+	 * @return the objects
+	 */
+	public List<TileObject> getObjectsAt(int plane, int sceneX, int sceneY)
+	{
+		List<TileObject> objects = objectsByTile.get(tileKey(plane, sceneX, sceneY));
+		return objects == null ? Collections.emptyList() : Collections.unmodifiableList(objects);
+	}
+
+	/**
+	 * Gets all of the objects on a plane.
+	 *
+	 * @param plane the plane of the tiles the objects are on
+	 * @return the objects, which the caller may modify
+	 */
+	public List<TileObject> getObjects(int plane)
+	{
+		List<TileObject> result = new ArrayList<>();
+		for (Map.Entry<Integer, List<TileObject>> entry : objectsById.entrySet())
+		{
+			if (entry.getKey() % Constants.MAX_Z == plane)
+			{
+				result.addAll(entry.getValue());
+			}
+		}
+		return result;
+	}
+}
@@ -27,15 +27,21 @@ package net.runelite.api.queries;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import net.runelite.api.Client;
 import net.runelite.api.Constants;
+import net.runelite.api.LocatableQueryResults;
 import net.runelite.api.Scene;
 import net.runelite.api.Tile;
 import net.runelite.api.TileObject;
 
 public abstract class TileObjectQuery<EntityType extends TileObject, QueryType> extends LocatableQuery<EntityType, QueryType>
 {
+	// looks up the candidates for the first id or name filter, when ran against an index
+	private BiFunction<TileObjectIndex, Integer, List<TileObject>> indexLookup;
+
 	protected List<Tile> getTiles(Client client)
 	{
 		List<Tile> tilesList = new ArrayList<>();
@@ -57,9 +63,40 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 		return tilesList;
 	}
 
+	/**
+	 * Executes the query against an index of the objects in the scene. If the query
+	 * filters by id or name, only the objects with those ids or names are visited.
+	 *
+	 * @param client the game client
+	 * @param index the index of the objects in the scene
+	 * @param type the type of objects to return
+	 * @return the matching objects
+	 */
+	protected LocatableQueryResults<EntityType> result(Client client, TileObjectIndex index, Class<EntityType> type)
+	{
+		final int plane = client.getPlane();
+		List<TileObject> objects = indexLookup != null ? indexLookup.apply(index, plane) : index.getObjects(plane);
+		return new LocatableQueryResults<>(objects.stream()
+			.filter(type::isInstance)
+			.map(type::cast)
+			.filter(predicate)
+			.distinct()
+			.collect(Collectors.toList()));
+	}
+
+	private void indexLookup(BiFunction<TileObjectIndex, Integer, List<TileObject>> lookup)
+	{
+		// later filters only narrow the results, so the first is enough
+		if (indexLookup == null)
+		{
+			indexLookup = lookup;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public QueryType idEquals(int... ids)
 	{
+		indexLookup((index, plane) -> index.getObjectsById(plane, ids));
 		predicate = and(object ->
 		{
 			for (int id : ids)
@@ -76,6 +113,7 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 
 	public QueryType nameEquals(String... names)
 	{
+		indexLookup((index, plane) -> index.getObjectsByName(plane, names));
 		predicate = and(object ->
 		{
 			for (String name : names)
@@ -114,6 +152,7 @@ public abstract class TileObjectQuery<EntityType extends TileObject, QueryType>
 	@SuppressWarnings("unchecked")
 	public QueryType idEquals(Collection<Integer> ids)
 	{
+		indexLookup((index, plane) -> index.getObjectsById(plane, ids));
 		predicate = and((object) -> ids.contains(object.getId()));
 		return (QueryType) this;
 	}
@@ -45,6 +45,19 @@ public class WallObjectQuery extends TileObjectQuery<WallObject, WallObjectQuery
 			.collect(Collectors.toList()));
 	}
 
+	/**
+	 * Executes the query against an index of the objects in the scene, instead
+	 * of checking every tile of the scene.
+	 *
+	 * @param client the game client
+	 * @param index the index of the objects in the scene
+	 * @return the matching objects
+	 */
+	public LocatableQueryResults<WallObject> result(Client client, TileObjectIndex index)
+	{
+		return result(client, index, WallObject.class);
+	}
+
 	private Collection<WallObject> getWallObjects(Client client)
 	{
 		Collection<WallObject> objects = new ArrayList<>();
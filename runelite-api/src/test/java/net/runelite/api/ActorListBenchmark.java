@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Ignore;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times iterating the NPCs several times per frame, copying them into a new list
+ * each time as {@link Client#getNpcs()} does and reusing an {@link NpcList}
+ * snapshot, along with the bytes allocated for them.
+ */
+public class ActorListBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(ActorListBenchmark.class);
+
+	private static final int NPCS = 250;
+	private static final int CALLS_PER_FRAME = 10;
+	private static final int WARMUP = 20_000;
+	private static final int FRAMES = 100_000;
+
+	private final NPC[] cachedNpcs = new NPC[32768];
+	private final int[] npcIndices = new int[32768];
+	private NpcList snapshot;
+	private long visited;
+
+	@Test
+	@Ignore
+	public void benchmarkNpcs()
+	{
+		NPC npc = mock(NPC.class);
+		for (int i = 0; i < NPCS; i++)
+		{
+			npcIndices[i] = i * 100;
+			cachedNpcs[i * 100] = npc;
+		}
+
+		run(false, WARMUP);
+		run(true, WARMUP);
+
+		for (boolean useSnapshot : new boolean[]{false, true})
+		{
+			long allocated = allocatedBytes();
+			long start = System.nanoTime();
+			run(useSnapshot, FRAMES);
+			long elapsed = System.nanoTime() - start;
+			allocated = allocatedBytes() - allocated;
+
+			logger.info("{}: {} ns/call, {} bytes/call", useSnapshot ? "snapshot" : "copy",
+				elapsed / ((long) FRAMES * CALLS_PER_FRAME), allocated / ((long) FRAMES * CALLS_PER_FRAME));
+		}
+		logger.debug("visited {}", visited);
+	}
+
+	private void run(boolean useSnapshot, int frames)
+	{
+		for (int frame = 0; frame < frames; frame++)
+		{
+			// the npcs are updated once per tick, which is 30 frames at 50 fps
+			if (frame % 30 == 0)
+			{
+				snapshot = null;
+			}
+
+			for (int call = 0; call < CALLS_PER_FRAME; call++)
+			{
+				List<NPC> npcs = useSnapshot ? getNpcList() : getNpcs();
+				for (NPC npc : npcs)
+				{
+					if (npc != null)
+					{
+						++visited;
+					}
+				}
+			}
+		}
+	}
+
+	private List<NPC> getNpcs()
+	{
+		List<NPC> npcs = new ArrayList<>(NPCS);
+		for (int i = 0; i < NPCS; ++i)
+		{
+			npcs.add(cachedNpcs[npcIndices[i]]);
+		}
+		return npcs;
+	}
+
+	private NpcList getNpcList()
+	{
+		if (snapshot == null)
+		{
+			NPC[] npcs = new NPC[NPCS];
+			for (int i = 0; i < NPCS; ++i)
+			{
+				npcs[i] = cachedNpcs[npcIndices[i]];
+			}
+			snapshot = new NpcList(npcs);
+		}
+		return snapshot;
+	}
+
+	private static long allocatedBytes()
+	{
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ActorListTest
+{
+	private static NPC npc(int id, String name)
+	{
+		NPC npc = mock(NPC.class);
+		when(npc.getId()).thenReturn(id);
+		when(npc.getName()).thenReturn(name);
+		return npc;
+	}
+
+	private final NPC goblin = npc(3029, "Goblin");
+	private final NPC otherGoblin = npc(3029, "Goblin");
+	private final NPC guard = npc(3010, "Guard");
+	private final NPC unnamed = npc(1, null);
+	private final NpcList npcs = new NpcList(new NPC[]{goblin, guard, unnamed, otherGoblin});
+
+	@Test
+	public void testList()
+	{
+		assertEquals(Arrays.asList(goblin, guard, unnamed, otherGoblin), npcs);
+
+		List<NPC> visited = new ArrayList<>();
+		npcs.forEach(visited::add);
+		assertEquals(npcs, visited);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadOnly()
+	{
+		npcs.add(goblin);
+	}
+
+	@Test
+	public void testFilters()
+	{
+		assertSame(goblin, npcs.firstWithId(3029));
+		assertNull(npcs.firstWithId(0));
+		assertEquals(2, npcs.countWithId(3029));
+
+		List<NPC> visited = new ArrayList<>();
+		npcs.forEachWithId(3029, visited::add);
+		assertEquals(Arrays.asList(goblin, otherGoblin), visited);
+
+		assertSame(guard, npcs.firstNamed("Guard"));
+		assertSame(unnamed, npcs.firstNamed(null));
+		assertNull(npcs.firstNamed("Man"));
+
+		assertSame(guard, npcs.first(npc -> npc.getId() < 3029 && npc.getId() > 1));
+		assertEquals(3, npcs.count(npc -> npc.getName() != null));
+
+		visited.clear();
+		npcs.forEach(npc -> npc.getName() == null, visited::add);
+		assertEquals(Arrays.asList(unnamed), visited);
+	}
+}
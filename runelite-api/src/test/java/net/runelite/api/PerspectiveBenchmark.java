@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api;
+
+import java.awt.Shape;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times calculating the clickboxes of a screen of objects each frame, one at a time
+ * and as a batch, along with the bytes allocated for them.
+ */
+public class PerspectiveBenchmark
+{
+	private static final Logger logger = LoggerFactory.getLogger(PerspectiveBenchmark.class);
+
+	private static final int MODELS = 60;
+	private static final int WARMUP = 50;
+	private static final int FRAMES = 200;
+
+	private final Client client = fake(Client.class, (name) ->
+	{
+		switch (name)
+		{
+			case "getCameraPitch":
+				return 256;
+			case "getCameraY":
+				return -1500;
+			case "getCameraZ":
+				return -1000;
+			case "getViewportWidth":
+				return 765;
+			case "getViewportHeight":
+				return 503;
+			case "getScale":
+				return 512;
+			case "isGpu":
+				return false;
+			default:
+				return 0;
+		}
+	});
+
+	private final Model[] models = new Model[MODELS];
+	private final int[] orientations = new int[MODELS];
+	private final int[] x = new int[MODELS];
+	private final int[] y = new int[MODELS];
+	private final int[] z = new int[MODELS];
+	private final Shape[] clickboxes = new Shape[MODELS];
+
+	@Test
+	@Ignore
+	public void benchmarkClickbox()
+	{
+		Random random = new Random(42);
+		for (int i = 0; i < MODELS; i++)
+		{
+			// something between a small item and a tree
+			models[i] = model(random, 8 + random.nextInt(24), 8 + random.nextInt(24), 40 + random.nextInt(200));
+			orientations[i] = random.nextInt(2048);
+			x[i] = (i % 10 - 5) * Perspective.LOCAL_TILE_SIZE;
+			y[i] = (i / 10) * Perspective.LOCAL_TILE_SIZE;
+		}
+
+		run(false, WARMUP);
+		run(true, WARMUP);
+
+		for (boolean batch : new boolean[]{false, true})
+		{
+			long allocated = allocatedBytes();
+			long start = System.nanoTime();
+			run(batch, FRAMES);
+			long elapsed = System.nanoTime() - start;
+			allocated = allocatedBytes() - allocated;
+
+			logger.info("{}: {} ns/clickbox, {} bytes/clickbox", batch ? "batch" : "single",
+				elapsed / ((long) FRAMES * MODELS), allocated / ((long) FRAMES * MODELS));
+		}
+	}
+
+	private void run(boolean batch, int frames)
+	{
+		for (int frame = 0; frame < frames; frame++)
+		{
+			if (batch)
+			{
+				Perspective.getClickboxes(client, MODELS, models, orientations, x, y, z, clickboxes);
+			}
+			else
+			{
+				for (int i = 0; i < MODELS; i++)
+				{
+					clickboxes[i] = Perspective.getClickbox(client, models[i], orientations[i], x[i], y[i], z[i]);
+				}
+			}
+		}
+	}
+
+	private static long allocatedBytes()
+	{
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * A cylinder shaped model with a ring of vertices for each layer, whose
+	 * faces join each ring to the next one
+	 */
+	private static Model model(Random random, int layers, int segments, int radius)
+	{
+		int vertices = layers * segments;
+		int faces = (layers - 1) * segments * 2;
+		int[] vx = new int[vertices], vy = new int[vertices], vz = new int[vertices];
+		int[] f1 = new int[faces], f2 = new int[faces], f3 = new int[faces];
+
+		for (int layer = 0, v = 0; layer < layers; layer++)
+		{
+			for (int segment = 0; segment < segments; segment++, v++)
+			{
+				int angle = segment * 2048 / segments;
+				int r = radius / 2 + random.nextInt(radius / 2);
+				vx[v] = r * Perspective.COSINE[angle] >> 16;
+				vz[v] = r * Perspective.SINE[angle] >> 16;
+				vy[v] = -layer * radius * 2 / layers;
+			}
+		}
+
+		for (int layer = 0, f = 0; layer < layers - 1; layer++)
+		{
+			for (int segment = 0; segment < segments; segment++)
+			{
+				int a = layer * segments + segment;
+				int b = layer * segments + (segment + 1) % segments;
+				f1[f] = a;
+				f2[f] = b;
+				f3[f++] = a + segments;
+				f1[f] = b;
+				f2[f] = b + segments;
+				f3[f++] = a + segments;
+			}
+		}
+
+		int[] colors = new int[faces];
+		return fake(Model.class, (name) ->
+		{
+			switch (name)
+			{
+				case "getVerticesCount":
+					return vertices;
+				case "getVerticesX":
+					return vx;
+				case "getVerticesY":
+					return vy;
+				case "getVerticesZ":
+					return vz;
+				case "getFaceCount":
+					return faces;
+				case "getFaceIndices1":
+					return f1;
+				case "getFaceIndices2":
+					return f2;
+				case "getFaceIndices3":
+					return f3;
+				case "getFaceColors3":
+					return colors;
+				case "getCenterY":
+					return -radius;
+				case "getExtremeX":
+				case "getExtremeY":
+				case "getExtremeZ":
+					return radius;
+				case "isClickable":
+					return false;
+				default:
+					return 0;
+			}
+		});
+	}
+
+	private interface Answer
+	{
+		Object answer(String method);
+	}
+
+	/**
+	 * A stub which answers by method name. The tests in this module use Mockito, but a
+	 * Mockito stub takes several microseconds and allocates on every call, which would be
+	 * most of what is measured here.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T fake(Class<T> clazz, Answer answer)
+	{
+		return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, (proxy, method, args) ->
+		{
+			Class<?> type = method.getReturnType();
+			return type == void.class ? null : answer.answer(method.getName());
+		});
+	}
+}
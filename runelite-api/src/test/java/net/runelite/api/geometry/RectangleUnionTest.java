@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class RectangleUnionTest
+{
+	@Test
+	public void testEmpty()
+	{
+		assertNull(RectangleUnion.union(new ArrayList<>()));
+		assertNull(RectangleUnion.union(new int[0], 0, new long[0]));
+	}
+
+	@Test
+	public void testUnion()
+	{
+		Random random = new Random(42);
+		for (int round = 0; round < 50; round++)
+		{
+			int count = 1 + random.nextInt(20);
+			List<RectangleUnion.Rectangle> list = new ArrayList<>();
+			// the buffers are bigger than needed, like when they are reused
+			int[] rects = new int[count * 4 + 8];
+			for (int i = 0; i < count; i++)
+			{
+				// the rectangles all overlap the origin, so the union has no holes
+				int x1 = -1 - random.nextInt(20), y1 = -1 - random.nextInt(20);
+				int x2 = 1 + random.nextInt(20), y2 = 1 + random.nextInt(20);
+				list.add(new RectangleUnion.Rectangle(x1, y1, x2, y2));
+				rects[i * 4] = x1;
+				rects[i * 4 + 1] = y1;
+				rects[i * 4 + 2] = x2;
+				rects[i * 4 + 3] = y2;
+			}
+
+			Shapes<SimplePolygon> union = RectangleUnion.union(rects, count, new long[count * 6 + 4]);
+			for (int x = -25; x < 35; x++)
+			{
+				for (int y = -25; y < 35; y++)
+				{
+					double px = x + 0.5, py = y + 0.5;
+					boolean expected = list.stream()
+						.anyMatch(r -> r.getX1() < px && px < r.getX2() && r.getY1() < py && py < r.getY2());
+					Assert.assertEquals(px + ", " + py, expected, union.contains(px, py));
+				}
+			}
+
+			Shapes<SimplePolygon> fromList = RectangleUnion.union(list);
+			assertEquals(union.getShapes().size(), fromList.getShapes().size());
+			for (int i = 0; i < union.getShapes().size(); i++)
+			{
+				assertEquals(union.getShapes().get(i).toRuneLitePointList(), fromList.getShapes().get(i).toRuneLitePointList());
+			}
+		}
+	}
+}
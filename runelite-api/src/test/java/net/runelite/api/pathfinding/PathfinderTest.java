@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.pathfinding;
+
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import static net.runelite.api.Constants.SCENE_SIZE;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PathfinderTest
+{
+	private static final int BASE_X = 3200;
+	private static final int BASE_Y = 3200;
+
+	private final int[][] flags = new int[SCENE_SIZE][SCENE_SIZE];
+	private Client client;
+
+	@Before
+	public void before()
+	{
+		for (int i = 0; i < SCENE_SIZE; i++)
+		{
+			flags[0][i] = flags[SCENE_SIZE - 1][i] = flags[i][0] = flags[i][SCENE_SIZE - 1] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		}
+
+		// a wall along x = 20, with a gap at y = 30
+		for (int y = 10; y < 50; y++)
+		{
+			if (y != 30)
+			{
+				flags[20][y] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+			}
+		}
+
+		CollisionData collisionData = () -> flags;
+		client = mock(Client.class);
+		when(client.getBaseX()).thenReturn(BASE_X);
+		when(client.getBaseY()).thenReturn(BASE_Y);
+		when(client.getCollisionMaps()).thenReturn(new CollisionData[]{collisionData});
+	}
+
+	private static WorldPoint point(int sceneX, int sceneY)
+	{
+		return new WorldPoint(BASE_X + sceneX, BASE_Y + sceneY, 0);
+	}
+
+	@Test
+	public void testDistanceToPath()
+	{
+		WorldPoint from = point(15, 20);
+		Pathfinder pathfinder = Pathfinder.get(client);
+
+		assertEquals(0, pathfinder.distanceToPath(from, from));
+		assertEquals(4, pathfinder.distanceToPath(from, point(19, 24)));
+		// through the gap in the wall, which can't be cut diagonally
+		assertEquals(22, pathfinder.distanceToPath(from, point(25, 20)));
+		assertEquals(Integer.MAX_VALUE, pathfinder.distanceToPath(from, point(20, 20)));
+		assertEquals(Integer.MAX_VALUE, pathfinder.distanceToPath(from, new WorldPoint(BASE_X + 25, BASE_Y + 20, 1)));
+
+		assertArrayEquals(new int[]{4, 22, Integer.MAX_VALUE},
+			pathfinder.distancesToPath(from, Arrays.asList(point(19, 24), point(25, 20), point(20, 20))));
+	}
+
+	@Test
+	public void testPathTo()
+	{
+		Pathfinder pathfinder = Pathfinder.get(client);
+
+		List<WorldPoint> path = pathfinder.pathTo(point(15, 20), point(25, 20));
+		assertEquals(Arrays.asList(point(15, 26), point(19, 30), point(21, 30), point(21, 24), point(25, 20)), path);
+
+		// the wall can't be reached, so the path goes to the closest tile next to it
+		path = pathfinder.pathTo(point(15, 20), point(20, 20));
+		assertEquals(point(19, 20), path.get(path.size() - 1));
+
+		assertNull(pathfinder.pathTo(point(15, 20), point(SCENE_SIZE, 20)));
+	}
+
+	@Test
+	public void testSnapshot()
+	{
+		Pathfinder pathfinder = Pathfinder.get(client);
+		assertSame(pathfinder, Pathfinder.get(client));
+		assertSame(pathfinder.distancesFrom(point(15, 20)), pathfinder.distancesFrom(point(15, 20)));
+
+		// the copy is not changed by later changes to the flags
+		flags[20][30] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+		assertEquals(22, pathfinder.distanceToPath(point(15, 20), point(25, 20)));
+		assertEquals(22, point(15, 20).distanceToPath(client, point(25, 20)));
+
+		// around the end of the wall instead
+		when(client.getTickCount()).thenReturn(1);
+		Pathfinder next = Pathfinder.get(client);
+		assertNotSame(pathfinder, next);
+		assertEquals(24, next.distanceToPath(point(15, 20), point(25, 20)));
+		assertEquals(24, point(15, 20).distanceToPath(client, point(25, 20)));
+	}
+}
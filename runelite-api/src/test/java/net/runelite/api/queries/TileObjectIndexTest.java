@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.api.queries;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.Point;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WallObject;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TileObjectIndexTest
+{
+	private final TileObjectIndex index = new TileObjectIndex();
+	private Tile tile;
+	private Tile otherTile;
+	private Tile upperTile;
+	private GameObject tree;
+	private GameObject otherTree;
+	private GameObject upperTree;
+	private WallObject door;
+
+	@Before
+	public void before()
+	{
+		tile = tile(0, 10, 10);
+		otherTile = tile(0, 20, 20);
+		upperTile = tile(1, 10, 10);
+		tree = object(GameObject.class, 1276, "Tree");
+		otherTree = object(GameObject.class, 1278, "Tree");
+		upperTree = object(GameObject.class, 1276, "Tree");
+		door = object(WallObject.class, 1530, "Door");
+
+		index.add(tile, tree);
+		index.add(tile, door);
+		index.add(otherTile, otherTree);
+		index.add(upperTile, upperTree);
+	}
+
+	private static Tile tile(int plane, int x, int y)
+	{
+		Tile tile = mock(Tile.class);
+		when(tile.getPlane()).thenReturn(plane);
+		when(tile.getSceneLocation()).thenReturn(new Point(x, y));
+		return tile;
+	}
+
+	private static <T extends TileObject> T object(Class<T> type, int id, String name)
+	{
+		T object = mock(type);
+		when(object.getId()).thenReturn(id);
+		when(object.getName()).thenReturn(name);
+		return object;
+	}
+
+	private static Client client(int plane)
+	{
+		Client client = mock(Client.class);
+		when(client.getPlane()).thenReturn(plane);
+		return client;
+	}
+
+	@Test
+	public void testLookup()
+	{
+		assertEquals(4, index.size());
+		assertEquals(Collections.singletonList(tree), index.getObjectsById(0, 1276));
+		assertEquals(Collections.singletonList(upperTree), index.getObjectsById(1, 1276));
+		assertEquals(Arrays.asList(tree, otherTree), index.getObjectsById(0, Arrays.asList(1276, 1278, 1)));
+		assertEquals(2, index.getObjectsByName(0, "Tree").size());
+		assertEquals(Collections.singletonList(door), index.getObjectsByName(0, "Door"));
+		assertEquals(Arrays.asList(tree, door), index.getObjectsAt(0, 10, 10));
+		assertEquals(Collections.emptyList(), index.getObjectsAt(2, 10, 10));
+		assertEquals(3, index.getObjects(0).size());
+	}
+
+	@Test
+	public void testRemove()
+	{
+		assertTrue(index.remove(tile, tree));
+		assertFalse(index.remove(tile, tree));
+		// the object is only removed from the tile it was added to
+		assertFalse(index.remove(otherTile, door));
+
+		assertEquals(Collections.emptyList(), index.getObjectsById(0, 1276));
+		assertEquals(Collections.singletonList(door), index.getObjectsAt(0, 10, 10));
+		assertEquals(Collections.singletonList(otherTree), index.getObjectsByName(0, "Tree"));
+
+		assertTrue(index.remove(otherTile, otherTree));
+		assertTrue(index.remove(upperTile, upperTree));
+		assertEquals(Collections.emptyList(), index.getObjectsByName(0, "Tree"));
+		assertEquals(1, index.size());
+
+		index.clear();
+		assertEquals(0, index.size());
+		assertEquals(Collections.emptyList(), index.getObjects(0));
+	}
+
+	@Test
+	public void testQuery()
+	{
+		List<GameObject> trees = new GameObjectQuery()
+			.nameEquals("Tree")
+			.idEquals(1278)
+			.result(client(0), index)
+			.list;
+		assertEquals(Collections.singletonList(otherTree), trees);
+
+		assertEquals(Collections.singletonList(upperTree), new GameObjectQuery().idEquals(1276).result(client(1), index).list);
+		assertEquals(new HashSet<>(Arrays.asList(tree, otherTree)), new HashSet<>(new GameObjectQuery().result(client(0), index).list));
+		assertEquals(Collections.singletonList(door), new WallObjectQuery().result(client(0), index).list);
+		assertEquals(Collections.emptyList(), new WallObjectQuery().idEquals(1276).result(client(0), index).list);
+	}
+}
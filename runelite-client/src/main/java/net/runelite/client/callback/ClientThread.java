@@ -27,31 +27,99 @@ package net.runelite.client.callback;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import javax.inject.Singleton;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.client.eventbus.EventBus;
 import org.jetbrains.annotations.NotNull;
 
 @Singleton
 @Slf4j
 public class ClientThread implements Executor
 {
-	private final ConcurrentLinkedQueue<BooleanSupplier> invokes = new ConcurrentLinkedQueue<>();
+	private static class Waiting
+	{
+		private final List<BooleanSupplier> tasks = new ArrayList<>();
+		private boolean running;
+	}
+
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final long DEFAULT_BUDGET = TimeUnit.MILLISECONDS.toNanos(8);
+
+	// Runnables and BooleanSuppliers queued from any thread
+	private final TaskQueue invokes = new TaskQueue(QUEUE_CAPACITY);
+	// tasks which returned false, re-ran each client tick
+	private final Waiting waiting = new Waiting();
+	// tasks which returned false, re-ran when an event of the class is posted
+	private final Map<Class<?>, Waiting> eventWaiting = new HashMap<>();
 
 	private final Client client;
+	private final EventBus eventBus;
+
+	/**
+	 * Time in nanoseconds the queued tasks may run for each client tick before the
+	 * remaining tasks are left for the next tick. At least one task is always ran.
+	 */
+	@Setter(AccessLevel.PACKAGE)
+	private long budget = DEFAULT_BUDGET;
+
+	/**
+	 * @return number of queued tasks which have ran
+	 */
+	@Getter
+	private volatile long invocationCount;
+
+	/**
+	 * @return total time between tasks being queued and being ran, in nanoseconds
+	 */
+	@Getter
+	private volatile long invocationLatency;
+
+	/**
+	 * @return the longest time between a task being queued and being ran, in nanoseconds
+	 */
+	@Getter
+	private volatile long maxInvocationLatency;
+
+	/**
+	 * @return number of client ticks which ran out of budget before running all queued tasks
+	 */
+	@Getter
+	private volatile long overBudgetCount;
+
+	/**
+	 * @return number of tasks waiting to be ran again, either next tick or on an event
+	 */
+	@Getter
+	private volatile int waitingCount;
 
 	@Inject
-	private ClientThread(Client client)
+	private ClientThread(Client client, EventBus eventBus)
 	{
 		this.client = client;
+		this.eventBus = eventBus;
 		
 		RxJavaPlugins.setSingleSchedulerHandler(old -> Schedulers.from(this));
 	}
 
+	/**
+	 * @return an estimate of the number of queued tasks which have not ran yet
+	 */
+	public int getQueueSize()
+	{
+		return invokes.size();
+	}
+
 	@Override
 	public void execute(@NotNull Runnable r)
 	{
@@ -60,11 +128,13 @@ public class ClientThread implements Executor
 
 	public void invoke(Runnable r)
 	{
-		invoke(() ->
+		if (client.isClientThread())
 		{
 			r.run();
-			return true;
-		});
+			return;
+		}
+
+		invokeLater(r);
 	}
 
 	/**
@@ -77,7 +147,8 @@ public class ClientThread implements Executor
 		{
 			if (!r.getAsBoolean())
 			{
-				invokes.add(r);
+				waiting.tasks.add(r);
+				waitingCount++;
 			}
 			return;
 		}
@@ -91,46 +162,202 @@ public class ClientThread implements Executor
 	 */
 	public void invokeLater(Runnable r)
 	{
-		invokeLater(() ->
+		if (r instanceof BooleanSupplier)
 		{
-			r.run();
-			return true;
-		});
+			// queued tasks are told apart by type
+			invokes.offer((BooleanSupplier) () ->
+			{
+				r.run();
+				return true;
+			});
+			return;
+		}
+
+		invokes.offer(r);
 	}
 
 	public void invokeLater(BooleanSupplier r)
 	{
-		invokes.add(r);
+		invokes.offer(r);
+	}
+
+	/**
+	 * Will run r on the game thread, at a unspecified point in the future.
+	 * If r returns false, r will be ran again after each event of the given
+	 * class is posted, until it returns true. This avoids checking the
+	 * condition every client tick when it can only change on that event.
+	 */
+	public void invokeOn(Class<?> eventClass, BooleanSupplier r)
+	{
+		if (!client.isClientThread())
+		{
+			invokeLater(() -> invokeOn(eventClass, r));
+			return;
+		}
+
+		if (!r.getAsBoolean())
+		{
+			eventWaiting.computeIfAbsent(eventClass, this::subscribe).tasks.add(r);
+			waitingCount++;
+		}
+	}
+
+	private Waiting subscribe(Class<?> eventClass)
+	{
+		final Waiting subscribed = new Waiting();
+		// after all other subscribers, so the tasks see the state the event has updated
+		eventBus.register(eventClass, e ->
+		{
+			if (subscribed.tasks.isEmpty())
+			{
+				return;
+			}
+
+			if (client.isClientThread())
+			{
+				runWaiting(subscribed);
+			}
+			else
+			{
+				invokeLater(() -> runWaiting(subscribed));
+			}
+		}, Float.NEGATIVE_INFINITY);
+		return subscribed;
 	}
 
 	void invoke()
 	{
 		assert client.isClientThread();
-		Iterator<BooleanSupplier> ir = invokes.iterator();
-		while (ir.hasNext())
+
+		// waiting tasks have already had their turn, so run them before new tasks
+		runWaiting(waiting);
+
+		final long start = System.nanoTime();
+		long latency = 0, maxLatency = maxInvocationLatency;
+		int count = 0;
+		for (;;)
 		{
-			BooleanSupplier r = ir.next();
-			boolean remove = true;
-			try
+			if (count > 0 && System.nanoTime() - start > budget)
 			{
-				remove = r.getAsBoolean();
+				if (!invokes.isEmpty())
+				{
+					overBudgetCount++;
+				}
+				break;
 			}
-			catch (ThreadDeath d)
+
+			final Object task = invokes.poll();
+			if (task == null)
 			{
-				throw d;
+				break;
 			}
-			catch (Throwable e)
+
+			final long taskLatency = System.nanoTime() - invokes.getPolledTime();
+			latency += taskLatency;
+			maxLatency = Math.max(maxLatency, taskLatency);
+			++count;
+
+			if (task instanceof BooleanSupplier)
 			{
-				log.error("Exception in invoke", e);
+				BooleanSupplier r = (BooleanSupplier) task;
+				if (!run(r))
+				{
+					log.trace("Deferring task {}", r);
+					waiting.tasks.add(r);
+					waitingCount++;
+				}
 			}
-			if (remove)
+			else
 			{
-				ir.remove();
+				run((Runnable) task);
 			}
-			else
+		}
+
+		if (count > 0)
+		{
+			invocationCount += count;
+			invocationLatency += latency;
+			maxInvocationLatency = maxLatency;
+		}
+	}
+
+	/**
+	 * Runs each of the tasks, and removes the ones which are done. Tasks
+	 * added while running are kept, and not ran.
+	 */
+	private void runWaiting(Waiting waiting)
+	{
+		// a task can post the event it is waiting on
+		if (waiting.running || waiting.tasks.isEmpty())
+		{
+			return;
+		}
+
+		waiting.running = true;
+		try
+		{
+			runWaiting(waiting.tasks);
+		}
+		finally
+		{
+			waiting.running = false;
+		}
+	}
+
+	private void runWaiting(List<BooleanSupplier> tasks)
+	{
+		final int size = tasks.size();
+		int kept = 0;
+		for (int i = 0; i < size; ++i)
+		{
+			BooleanSupplier r = tasks.get(i);
+			if (!run(r))
 			{
 				log.trace("Deferring task {}", r);
+				tasks.set(kept++, r);
 			}
 		}
+
+		// move tasks added while running down, then drop the rest
+		final int added = tasks.size() - size;
+		for (int i = 0; i < added; ++i)
+		{
+			tasks.set(kept + i, tasks.get(size + i));
+		}
+		tasks.subList(kept + added, tasks.size()).clear();
+		waitingCount -= size - kept;
+	}
+
+	private static boolean run(BooleanSupplier r)
+	{
+		try
+		{
+			return r.getAsBoolean();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.error("Exception in invoke", e);
+			return true;
+		}
+	}
+
+	private static void run(Runnable r)
+	{
+		try
+		{
+			r.run();
+		}
+		catch (ThreadDeath d)
+		{
+			throw d;
+		}
+		catch (Throwable e)
+		{
+			log.error("Exception in invoke", e);
+		}
 	}
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A multi producer, single consumer queue of client thread tasks. Tasks are stored in a fixed
+ * size ring buffer so that queueing a task does not allocate. If the ring buffer is full, tasks
+ * spill into an unbounded overflow queue, which is used until the consumer has drained it so
+ * that tasks queued by one thread are always run in order.
+ */
+class TaskQueue
+{
+	private final int mask;
+	private final Object[] tasks;
+	private final long[] times;
+	// the position each slot is expecting next: pos when free for the producer at pos,
+	// pos + 1 when it contains the task at pos
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private long head;
+
+	private final ConcurrentLinkedQueue<Overflow> overflow = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The time the task last returned by {@link #poll()} was queued at, from {@link System#nanoTime()}
+	 */
+	private long polledTime;
+
+	private static class Overflow
+	{
+		private final Object task;
+		private final long time;
+
+		private Overflow(Object task, long time)
+		{
+			this.task = task;
+			this.time = time;
+		}
+	}
+
+	TaskQueue(int capacity)
+	{
+		if (Integer.bitCount(capacity) != 1)
+		{
+			throw new IllegalArgumentException("capacity must be a power of two");
+		}
+
+		mask = capacity - 1;
+		tasks = new Object[capacity];
+		times = new long[capacity];
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; ++i)
+		{
+			sequences.set(i, i);
+		}
+	}
+
+	void offer(Object task)
+	{
+		final long now = System.nanoTime();
+		if (!overflow.isEmpty() || !offerRing(task, now))
+		{
+			overflow.add(new Overflow(task, now));
+		}
+	}
+
+	private boolean offerRing(Object task, long now)
+	{
+		final long pos = claim();
+		if (pos == -1L)
+		{
+			return false;
+		}
+
+		publish(pos, task, now);
+		return true;
+	}
+
+	/**
+	 * Claims the slot at the tail of the ring buffer
+	 *
+	 * @return the position of the claimed slot, or -1 if the ring buffer is full
+	 */
+	@VisibleForTesting
+	long claim()
+	{
+		for (;;)
+		{
+			final long pos = tail.get();
+			final long seq = sequences.get((int) pos & mask);
+			if (seq == pos)
+			{
+				if (tail.compareAndSet(pos, pos + 1))
+				{
+					return pos;
+				}
+			}
+			else if (seq < pos)
+			{
+				// the consumer has not freed this slot yet
+				return -1L;
+			}
+		}
+	}
+
+	/**
+	 * Stores a task in a slot claimed with {@link #claim()}, making it visible to the consumer
+	 */
+	@VisibleForTesting
+	void publish(long pos, Object task, long now)
+	{
+		final int slot = (int) pos & mask;
+		tasks[slot] = task;
+		times[slot] = now;
+		sequences.set(slot, pos + 1);
+	}
+
+	/**
+	 * Must only be called from the consumer thread
+	 */
+	Object poll()
+	{
+		final int slot = (int) head & mask;
+		if (sequences.get(slot) == head + 1)
+		{
+			final Object task = tasks[slot];
+			polledTime = times[slot];
+			tasks[slot] = null;
+			sequences.lazySet(slot, head + mask + 1);
+			++head;
+			return task;
+		}
+
+		if (tail.get() != head)
+		{
+			// a producer has claimed the head slot but not published it yet. The tasks after
+			// it, including those in the overflow queue, have to wait for it to keep their order
+			return null;
+		}
+
+		final Overflow o = overflow.poll();
+		if (o != null)
+		{
+			polledTime = o.time;
+			return o.task;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Must only be called from the consumer thread
+	 */
+	long getPolledTime()
+	{
+		return polledTime;
+	}
+
+	/**
+	 * Must only be called from the consumer thread
+	 */
+	boolean isEmpty()
+	{
+		return tail.get() == head && overflow.isEmpty();
+	}
+
+	/**
+	 * @return an estimate of the number of queued tasks
+	 */
+	int size()
+	{
+		return (int) Math.max(0L, tail.get() - head) + overflow.size();
+	}
+}
@@ -24,24 +24,52 @@
  */
 package net.runelite.client.config;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
 
 @Slf4j
 class ConfigInvocationHandler implements InvocationHandler
 {
-	// Special object to represent null values in the cache
-	private static final Object NULL = new Object();
+	// Special object to represent values which are not cached
+	private static final Object UNSET = new Object();
 
 	private final ConfigManager manager;
-	private final Cache<Method, Object> cache = CacheBuilder.newBuilder()
-			.maximumSize(256)
-			.build();
+	// the value of each configuration getter, parsed to its return type
+	private final Map<Method, CachedValue> cache = new ConcurrentHashMap<>();
+	// the cached values of each whole configuration key
+	private final Map<String, Set<CachedValue>> cacheByKey = new ConcurrentHashMap<>();
+
+	private static class CachedValue
+	{
+		private volatile Object value = UNSET;
+		// bumped on each invalidation, so a value loaded from an older configuration is not stored
+		private int version;
+
+		synchronized int getVersion()
+		{
+			return version;
+		}
+
+		synchronized void set(int version, Object value)
+		{
+			if (this.version == version)
+			{
+				this.value = value;
+			}
+		}
+
+		synchronized void invalidate()
+		{
+			++version;
+			value = UNSET;
+		}
+	}
 
 	ConfigInvocationHandler(ConfigManager manager)
 	{
@@ -54,10 +82,14 @@ class ConfigInvocationHandler implements InvocationHandler
 		// Use cached configuration value if available
 		if (args == null)
 		{
-			Object cachedValue = cache.getIfPresent(method);
+			CachedValue cachedValue = cache.get(method);
 			if (cachedValue != null)
 			{
-				return cachedValue == NULL ? null : cachedValue;
+				Object value = cachedValue.value;
+				if (value != UNSET)
+				{
+					return value;
+				}
 			}
 		}
 
@@ -97,6 +129,16 @@ class ConfigInvocationHandler implements InvocationHandler
 		{
 			log.trace("cache miss (size: {}, group: {}, key: {})", cache.size(), group.value(), item.keyName());
 
+			CachedValue cachedValue = cache.computeIfAbsent(method, m ->
+			{
+				CachedValue c = new CachedValue();
+				cacheByKey.computeIfAbsent(ConfigManager.getWholeKey(group.value(), null, item.keyName()), k -> ConcurrentHashMap.newKeySet())
+					.add(c);
+				return c;
+			});
+			// read before the configuration, so a change made while loading discards the value
+			int version = cachedValue.getVersion();
+
 			// Getting configuration item
 			String value = manager.getConfiguration(group.value(), item.keyName());
 
@@ -105,11 +147,11 @@ class ConfigInvocationHandler implements InvocationHandler
 				if (method.isDefault())
 				{
 					Object defaultValue = callDefaultMethod(proxy, method, null);
-					cache.put(method, defaultValue == null ? NULL : defaultValue);
+					cachedValue.set(version, defaultValue);
 					return defaultValue;
 				}
 
-				cache.put(method, NULL);
+				cachedValue.set(version, null);
 				return null;
 			}
 
@@ -117,7 +159,7 @@ class ConfigInvocationHandler implements InvocationHandler
 			try
 			{
 				Object objectValue = manager.stringToObject(value, method.getGenericReturnType());
-				cache.put(method, objectValue == null ? NULL : objectValue);
+				cachedValue.set(version, objectValue);
 				return objectValue;
 			}
 			catch (Exception e)
@@ -187,6 +229,25 @@ class ConfigInvocationHandler implements InvocationHandler
 	void invalidate()
 	{
 		log.trace("cache invalidate");
-		cache.invalidateAll();
+		for (CachedValue cachedValue : cache.values())
+		{
+			cachedValue.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidate the cached values of a single configuration key
+	 */
+	void invalidate(String wholeKey)
+	{
+		Set<CachedValue> cachedValues = cacheByKey.get(wholeKey);
+		if (cachedValues != null)
+		{
+			log.trace("cache invalidate {}", wholeKey);
+			for (CachedValue cachedValue : cachedValues)
+			{
+				cachedValue.invalidate();
+			}
+		}
 	}
 }
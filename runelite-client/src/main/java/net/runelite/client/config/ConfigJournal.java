@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An append-only journal of configuration changes made since the settings file was last saved.
+ * <p>
+ * Changes are coalesced per key for {@link #DEBOUNCE_MILLIS} and then appended to the journal
+ * on the executor, so the thread changing the configuration never waits on the disk. Once the
+ * journal has grown large enough it is compacted by saving the whole configuration to the
+ * settings file. The journal starts with the checksum of the settings file it applies to, so
+ * a journal which was already compacted into the settings file is never replayed.
+ */
+@Slf4j
+class ConfigJournal
+{
+	static final long DEBOUNCE_MILLIS = 500;
+	private static final int COMPACT_RECORDS = 2000;
+	private static final String HEADER = "# base ";
+
+	interface Saver
+	{
+		/**
+		 * Save the properties to the settings file
+		 *
+		 * @return checksum of the saved file, from {@link #checksum(byte[])}
+		 */
+		long save(Properties properties) throws IOException;
+	}
+
+	private final File file;
+	private final ScheduledExecutorService executor;
+	private final Supplier<Properties> snapshot;
+	private final Saver saver;
+
+	// coalesced changes which are not in the journal yet, null is unset
+	private final Map<String, String> pending = new LinkedHashMap<>();
+	private boolean flushScheduled;
+
+	// the journal file state, guarded by this
+	private long base;
+	private boolean valid; // whether the journal file applies to base
+	private int records;
+
+	ConfigJournal(File file, ScheduledExecutorService executor, Supplier<Properties> snapshot, Saver saver)
+	{
+		this.file = file;
+		this.executor = executor;
+		this.snapshot = snapshot;
+		this.saver = saver;
+	}
+
+	static long checksum(byte[] data)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+
+	/**
+	 * Apply the changes in the journal to properties loaded from the settings file
+	 *
+	 * @param base checksum of the settings file
+	 * @return the number of changes applied
+	 */
+	synchronized int replay(Properties properties, long base)
+	{
+		this.base = base;
+		valid = false;
+		records = 0;
+
+		if (!file.exists())
+		{
+			return 0;
+		}
+
+		byte[] data;
+		try
+		{
+			data = Files.readAllBytes(file.toPath());
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to read configuration journal", ex);
+			return 0;
+		}
+
+		int pos = 0;
+		int end = indexOf(data, pos);
+		if (end == -1 || !new String(data, 0, end, StandardCharsets.UTF_8).equals(HEADER + Long.toHexString(base)))
+		{
+			log.debug("Configuration journal is for a different settings file, ignoring");
+			return 0;
+		}
+
+		pos = end + 1;
+		while ((end = indexOf(data, pos)) != -1)
+		{
+			if (!apply(properties, new String(data, pos, end - pos, StandardCharsets.UTF_8)))
+			{
+				log.warn("Malformed configuration journal record, dropping the rest of the journal");
+				break;
+			}
+
+			++records;
+			pos = end + 1;
+		}
+
+		if (pos < data.length)
+		{
+			// drop the torn record, so that new records are not appended after it
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE))
+			{
+				channel.truncate(pos);
+			}
+			catch (IOException ex)
+			{
+				log.warn("unable to truncate configuration journal", ex);
+				return records;
+			}
+		}
+
+		valid = true;
+		log.debug("Replayed {} configuration changes from the journal", records);
+		return records;
+	}
+
+	/**
+	 * Record a change to the configuration. The change must already be visible in the snapshot.
+	 *
+	 * @param value the new value, or null if the key was unset
+	 */
+	void record(String key, @Nullable String value)
+	{
+		synchronized (pending)
+		{
+			pending.put(key, value);
+
+			if (!flushScheduled)
+			{
+				try
+				{
+					executor.schedule(this::flush, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+					flushScheduled = true;
+				}
+				catch (RejectedExecutionException ex)
+				{
+					log.debug("unable to schedule configuration journal flush", ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Append the pending changes to the journal, and compact it if it has grown too large
+	 */
+	synchronized void flush()
+	{
+		// drained while holding the journal lock, so a concurrent compaction
+		// can not start a new journal with changes older than its snapshot
+		Map<String, String> changes;
+		synchronized (pending)
+		{
+			flushScheduled = false;
+			if (pending.isEmpty())
+			{
+				return;
+			}
+
+			changes = new LinkedHashMap<>(pending);
+			pending.clear();
+		}
+
+		try
+		{
+			append(changes);
+			if (records < COMPACT_RECORDS)
+			{
+				return;
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to write configuration journal", ex);
+		}
+
+		try
+		{
+			compact();
+		}
+		catch (IOException ex)
+		{
+			log.warn("unable to save configuration file", ex);
+		}
+	}
+
+	/**
+	 * Save the whole configuration to the settings file, and start a new journal
+	 */
+	synchronized void compact() throws IOException
+	{
+		Properties properties;
+		synchronized (pending)
+		{
+			// every pending change is in the snapshot, and changes recorded
+			// from here on are appended to the new journal
+			properties = snapshot.get();
+			pending.clear();
+		}
+
+		base = saver.save(properties);
+		valid = false;
+		records = 0;
+
+		// the old journal no longer matches the base, so would be ignored anyway
+		Files.deleteIfExists(file.toPath());
+	}
+
+	private void append(Map<String, String> changes) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (!valid)
+		{
+			writeLine(out, HEADER + Long.toHexString(base));
+		}
+
+		for (Map.Entry<String, String> entry : changes.entrySet())
+		{
+			String payload = entry.getValue() == null
+				? "-" + escape(entry.getKey())
+				: "+" + escape(entry.getKey()) + "=" + escape(entry.getValue());
+			byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+			writeLine(out, Long.toHexString(checksum(bytes)) + " " + payload);
+		}
+
+		File parent = file.getParentFile();
+		if (parent != null)
+		{
+			parent.mkdirs();
+		}
+
+		try (FileOutputStream fos = new FileOutputStream(file, valid))
+		{
+			fos.write(out.toByteArray());
+			fos.getChannel().force(false);
+		}
+
+		valid = true;
+		records += changes.size();
+	}
+
+	private static boolean apply(Properties properties, String line)
+	{
+		int space = line.indexOf(' ');
+		if (space == -1)
+		{
+			return false;
+		}
+
+		String payload = line.substring(space + 1);
+		try
+		{
+			if (Long.parseLong(line.substring(0, space), 16) != checksum(payload.getBytes(StandardCharsets.UTF_8)))
+			{
+				return false;
+			}
+		}
+		catch (NumberFormatException ex)
+		{
+			return false;
+		}
+
+		if (payload.startsWith("-"))
+		{
+			properties.remove(unescape(payload, 1, payload.length()));
+			return true;
+		}
+
+		if (!payload.startsWith("+"))
+		{
+			return false;
+		}
+
+		int eq = separator(payload);
+		if (eq == -1)
+		{
+			return false;
+		}
+
+		properties.setProperty(unescape(payload, 1, eq), unescape(payload, eq + 1, payload.length()));
+		return true;
+	}
+
+	private static void writeLine(ByteArrayOutputStream out, String line)
+	{
+		byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private static int indexOf(byte[] data, int from)
+	{
+		for (int i = from; i < data.length; ++i)
+		{
+			if (data[i] == '\n')
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String escape(String s)
+	{
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); ++i)
+		{
+			char c = s.charAt(i);
+			switch (c)
+			{
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '=':
+					sb.append("\\=");
+					break;
+				default:
+					sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	// the first unescaped =
+	private static int separator(String s)
+	{
+		for (int i = 1; i < s.length(); ++i)
+		{
+			char c = s.charAt(i);
+			if (c == '\\')
+			{
+				++i;
+			}
+			else if (c == '=')
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String unescape(String s, int start, int end)
+	{
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int i = start; i < end; ++i)
+		{
+			char c = s.charAt(i);
+			if (c == '\\' && i + 1 < end)
+			{
+				c = s.charAt(++i);
+				if (c == 'n')
+				{
+					c = '\n';
+				}
+				else if (c == 'r')
+				{
+					c = '\r';
+				}
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+}
@@ -34,9 +34,10 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -51,6 +52,7 @@ import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.StandardCopyOption;
 import java.security.SecureRandom;
 import java.text.DateFormat;
@@ -68,14 +70,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -128,8 +134,10 @@ public class ConfigManager
 	private final ConfigInvocationHandler handler = new ConfigInvocationHandler(this);
 	private final Map<String, String> pendingChanges = new HashMap<>();
 	private final Map<String, Consumer<? super Plugin>> consumers = new HashMap<>();
+	private final ConfigJournal journal;
 
-	private Properties properties = new Properties();
+	// sorted by whole key, so the keys of a group or profile are a contiguous range
+	private NavigableMap<String, String> properties = new ConcurrentSkipListMap<>();
 
 	// null => we need to make a new profile
 	@Nullable
@@ -140,13 +148,16 @@ public class ConfigManager
 		@Named("config") File config,
 		EventBus eventBus,
 		@Nullable Client client,
-		Gson gson)
+		Gson gson,
+		ScheduledExecutorService executor)
 	{
 		this.settingsFileInput = config;
 		this.eventBus = eventBus;
 		this.client = client;
 		this.propertiesFile = getPropertiesFile();
 		this.gson = gson;
+		this.journal = new ConfigJournal(new File(propertiesFile.getParentFile(), propertiesFile.getName() + ".journal"), executor,
+			() -> toProperties(properties), props -> saveToFile(propertiesFile, props));
 	}
 
 	public String getRSProfileKey()
@@ -169,11 +180,17 @@ public class ConfigManager
 		loadFromFile();
 	}
 
-	private void swapProperties(Properties newProperties, boolean saveToServer)
+	private void swapProperties(Properties loadedProperties, boolean saveToServer)
 	{
-		Set<Object> allKeys = new HashSet<>(newProperties.keySet());
+		NavigableMap<String, String> newProperties = new ConcurrentSkipListMap<>();
+		for (String key : loadedProperties.stringPropertyNames())
+		{
+			newProperties.put(key, loadedProperties.getProperty(key));
+		}
+
+		Set<String> allKeys = new HashSet<>(newProperties.keySet());
 
-		Properties oldProperties;
+		NavigableMap<String, String> oldProperties;
 		synchronized (this)
 		{
 			handler.invalidate();
@@ -185,9 +202,9 @@ public class ConfigManager
 
 		allKeys.addAll(oldProperties.keySet());
 
-		for (Object wholeKey : allKeys)
+		for (String wholeKey : allKeys)
 		{
-			String[] split = splitKey((String) wholeKey);
+			String[] split = splitKey(wholeKey);
 			if (split == null)
 			{
 				continue;
@@ -196,8 +213,8 @@ public class ConfigManager
 			String groupName = split[KEY_SPLITTER_GROUP];
 			String profile = split[KEY_SPLITTER_PROFILE];
 			String key = split[KEY_SPLITTER_KEY];
-			String oldValue = (String) oldProperties.get(wholeKey);
-			String newValue = (String) newProperties.get(wholeKey);
+			String oldValue = oldProperties.get(wholeKey);
+			String newValue = newProperties.get(wholeKey);
 
 			if (Objects.equals(oldValue, newValue))
 			{
@@ -218,8 +235,9 @@ public class ConfigManager
 			{
 				synchronized (pendingChanges)
 				{
-					pendingChanges.put((String) wholeKey, newValue);
+					pendingChanges.put(wholeKey, newValue);
 				}
+				journal.record(wholeKey, newValue);
 			}
 		}
 	}
@@ -246,11 +264,13 @@ public class ConfigManager
 		consumers.clear();
 
 		Properties newProperties = new Properties();
-		try (FileInputStream in = new FileInputStream(propertiesFile))
+		byte[] data = new byte[0];
+		try
 		{
-			newProperties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+			data = Files.readAllBytes(propertiesFile.toPath());
+			newProperties.load(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
 		}
-		catch (FileNotFoundException ex)
+		catch (NoSuchFileException ex)
 		{
 			log.debug("Unable to load settings - no such file");
 		}
@@ -259,11 +279,17 @@ public class ConfigManager
 			log.warn("Unable to load settings", ex);
 		}
 
+		// changes made since the settings file was last saved
+		journal.replay(newProperties, ConfigJournal.checksum(data));
+
 		log.debug("Loading in config from disk");
 		swapProperties(newProperties, false);
 	}
 
-	private void saveToFile(final File propertiesFile) throws IOException
+	/**
+	 * @return checksum of the saved file
+	 */
+	private static long saveToFile(final File propertiesFile, final Properties properties) throws IOException
 	{
 		File parent = propertiesFile.getParentFile();
 
@@ -271,12 +297,18 @@ public class ConfigManager
 
 		File tempFile = File.createTempFile("runelite", null, parent);
 
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStreamWriter writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8))
+		{
+			properties.store(writer, "RuneLite configuration");
+		}
+		byte[] data = bytes.toByteArray();
+
 		try (FileOutputStream out = new FileOutputStream(tempFile);
-			FileChannel channel = out.getChannel();
-			OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+			FileChannel channel = out.getChannel())
 		{
 			channel.lock();
-			properties.store(writer, "RuneLite configuration");
+			out.write(data);
 			channel.force(true);
 			// FileChannel.close() frees the lock
 		}
@@ -290,6 +322,15 @@ public class ConfigManager
 			log.debug("atomic move not supported", ex);
 			Files.move(tempFile.toPath(), propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		}
+
+		return ConfigJournal.checksum(data);
+	}
+
+	private static Properties toProperties(Map<String, String> map)
+	{
+		Properties properties = new Properties();
+		properties.putAll(map);
+		return properties;
 	}
 
 	public <T extends Config> T getConfig(Class<T> clazz)
@@ -307,11 +348,18 @@ public class ConfigManager
 		return t;
 	}
 
+	/**
+	 * @return the keys which start with prefix, in order. This visits only the matching keys.
+	 */
+	private Stream<String> keysWithPrefix(String prefix)
+	{
+		return properties.tailMap(prefix, true).keySet().stream()
+			.takeWhile(k -> k.startsWith(prefix));
+	}
+
 	public List<String> getConfigurationKeys(String prefix)
 	{
-		return properties.keySet().stream()
-			.map(String.class::cast)
-			.filter(k -> k.startsWith(prefix))
+		return keysWithPrefix(prefix)
 			.collect(Collectors.toList());
 	}
 
@@ -325,9 +373,7 @@ public class ConfigManager
 		assert profile.startsWith(RSPROFILE_GROUP);
 
 		String prefix = group + "." + profile + "." + keyPrefix;
-		return properties.keySet().stream()
-			.map(String.class::cast)
-			.filter(k -> k.startsWith(prefix))
+		return keysWithPrefix(prefix)
 			.map(k -> splitKey(k)[KEY_SPLITTER_KEY])
 			.collect(Collectors.toList());
 	}
@@ -362,7 +408,7 @@ public class ConfigManager
 
 	public String getConfiguration(String groupName, String profile, String key)
 	{
-		return properties.getProperty(getWholeKey(groupName, profile, key));
+		return properties.get(getWholeKey(groupName, profile, key));
 	}
 
 	public <T> T getConfiguration(String groupName, String key, Type clazz)
@@ -415,7 +461,7 @@ public class ConfigManager
 		String oldValue;
 		synchronized (this)
 		{
-			oldValue = (String) properties.setProperty(wholeKey, value);
+			oldValue = properties.put(wholeKey, value);
 		}
 
 		if (Objects.equals(oldValue, value))
@@ -424,12 +470,13 @@ public class ConfigManager
 		}
 
 		log.debug("Setting configuration value for {} to {}", wholeKey, value);
-		handler.invalidate();
+		handler.invalidate(wholeKey);
 
 		synchronized (pendingChanges)
 		{
 			pendingChanges.put(wholeKey, value);
 		}
+		journal.record(wholeKey, value);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -507,7 +554,7 @@ public class ConfigManager
 		String oldValue;
 		synchronized (this)
 		{
-			oldValue = (String) properties.remove(wholeKey);
+			oldValue = properties.remove(wholeKey);
 		}
 
 		if (oldValue == null)
@@ -516,12 +563,13 @@ public class ConfigManager
 		}
 
 		log.debug("Unsetting configuration value for {}", wholeKey);
-		handler.invalidate();
+		handler.invalidate(wholeKey);
 
 		synchronized (pendingChanges)
 		{
 			pendingChanges.put(wholeKey, null);
 		}
+		journal.record(wholeKey, null);
 
 		ConfigChanged configChanged = new ConfigChanged();
 		configChanged.setGroup(groupName);
@@ -1016,7 +1064,7 @@ public class ConfigManager
 
 		try
 		{
-			saveToFile(propertiesFile);
+			journal.compact();
 		}
 		catch (IOException ex)
 		{
@@ -1029,23 +1077,11 @@ public class ConfigManager
 	public List<RuneScapeProfile> getRSProfiles()
 	{
 		String prefix = RSPROFILE_GROUP + "." + RSPROFILE_GROUP + ".";
-		Set<String> profileKeys = new HashSet<>();
-		for (Object oKey : properties.keySet())
-		{
-			String key = (String) oKey;
-			if (!key.startsWith(prefix))
-			{
-				continue;
-			}
-
-			String[] split = splitKey(key);
-			if (split == null)
-			{
-				continue;
-			}
-
-			profileKeys.add(split[KEY_SPLITTER_PROFILE]);
-		}
+		Set<String> profileKeys = keysWithPrefix(prefix)
+			.map(ConfigManager::splitKey)
+			.filter(Objects::nonNull)
+			.map(split -> split[KEY_SPLITTER_PROFILE])
+			.collect(Collectors.toSet());
 
 		return profileKeys.stream()
 			.map(key ->
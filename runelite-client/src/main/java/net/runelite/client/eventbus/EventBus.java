@@ -26,8 +26,7 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,12 +34,24 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
@@ -53,6 +64,9 @@ import org.slf4j.MarkerFactory;
 public class EventBus
 {
 	private static final Marker DEDUPLICATE = MarkerFactory.getMarker("DEDUPLICATE");
+	private static final Subscriber[] EMPTY = new Subscriber[0];
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparingDouble(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
 
 	@Value
 	public static class Subscriber
@@ -63,6 +77,16 @@ public class EventBus
 		@EqualsAndHashCode.Exclude
 		private final Consumer<Object> lambda;
 
+		@Getter(AccessLevel.NONE)
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		private final LongAdder invocations = new LongAdder();
+
+		@Getter(AccessLevel.NONE)
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		private final LongAdder invocationNanos = new LongAdder();
+
 		void invoke(final Object arg) throws Exception
 		{
 			if (lambda != null)
@@ -74,12 +98,74 @@ public class EventBus
 				method.invoke(object, arg);
 			}
 		}
+
+		void invokeTimed(final Object arg) throws Exception
+		{
+			final long start = System.nanoTime();
+			try
+			{
+				invoke(arg);
+			}
+			finally
+			{
+				invocationNanos.add(System.nanoTime() - start);
+				invocations.increment();
+			}
+		}
+
+		/**
+		 * @return number of events delivered to this subscriber while timing was enabled
+		 */
+		public long getInvocationCount()
+		{
+			return invocations.sum();
+		}
+
+		/**
+		 * @return total time spent in this subscriber, in nanoseconds, while timing was enabled
+		 */
+		public long getInvocationTime()
+		{
+			return invocationNanos.sum();
+		}
+	}
+
+	/**
+	 * The subscribers of one event class, ordered for dispatch. The array is never modified,
+	 * registering and unregistering replaces it.
+	 */
+	private static final class Dispatch
+	{
+		private volatile Subscriber[] subscribers = EMPTY;
 	}
 
 	private final Consumer<Throwable> exceptionHandler;
 
-	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	/**
+	 * Dispatch table for every event class which has been posted or subscribed to. Lookups
+	 * from {@link #post(Object)} are cached on the event class, and entries are updated in
+	 * place so they never have to be invalidated.
+	 */
+	private final ClassValue<Dispatch> dispatch = new ClassValue<Dispatch>()
+	{
+		@Override
+		protected Dispatch computeValue(Class<?> type)
+		{
+			return new Dispatch();
+		}
+	};
+
+	/**
+	 * Event classes with at least one subscriber. Guarded by this.
+	 */
+	private final Map<Class<?>, Dispatch> subscribed = new HashMap<>();
+
+	/**
+	 * Whether to record the number of invocations of and time spent in each subscriber
+	 */
+	@Getter
+	@Setter
+	private volatile boolean timing;
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -98,10 +184,7 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Map<Class<?>, List<Subscriber>> added = new HashMap<>();
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -125,7 +208,7 @@ public class EventBus
 
 				for (Class<?> psc = parameterClazz.getSuperclass(); psc != null; psc = psc.getSuperclass())
 				{
-					if (subscribers.containsKey(psc))
+					if (subscribed.containsKey(psc))
 					{
 						throw new IllegalArgumentException("@Subscribed method \"" + method + "\" cannot subscribe to class which inherits from subscribed class \"" + psc + "\"");
 					}
@@ -156,25 +239,21 @@ public class EventBus
 				}
 
 				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
+				added.computeIfAbsent(parameterClazz, k -> new ArrayList<>()).add(subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
 
-		subscribers = builder.build();
+		for (Map.Entry<Class<?>, List<Subscriber>> entry : added.entrySet())
+		{
+			add(entry.getKey(), entry.getValue());
+		}
 	}
 
 	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
-
 		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
-
-		subscribers = builder.build();
+		add(clazz, List.of(sub));
 
 		return sub;
 	}
@@ -186,10 +265,7 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		remove(s -> s.getObject() == object);
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -199,10 +275,64 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		remove(s -> s == sub);
+	}
+
+	/**
+	 * @return all registered subscribers
+	 */
+	public synchronized List<Subscriber> getSubscribers()
+	{
+		final ImmutableList.Builder<Subscriber> builder = ImmutableList.builder();
+		for (Dispatch d : subscribed.values())
+		{
+			builder.add(d.subscribers);
+		}
+		return builder.build();
+	}
+
+	private void add(Class<?> clazz, List<Subscriber> subs)
+	{
+		final Dispatch d = dispatch.get(clazz);
+		final Subscriber[] current = d.subscribers;
+		final Subscriber[] updated = Arrays.copyOf(current, current.length + subs.size());
+		for (int i = 0; i < subs.size(); ++i)
+		{
+			updated[current.length + i] = subs.get(i);
+		}
+		// stable, so subscribers which compare equal stay in registration order
+		Arrays.sort(updated, SUBSCRIBER_ORDER);
+
+		d.subscribers = updated;
+		subscribed.put(clazz, d);
+	}
+
+	private void remove(Predicate<Subscriber> filter)
+	{
+		final Iterator<Dispatch> it = subscribed.values().iterator();
+		while (it.hasNext())
+		{
+			final Dispatch d = it.next();
+			final Subscriber[] current = d.subscribers;
+			final Subscriber[] updated = Arrays.stream(current)
+				.filter(filter.negate())
+				.toArray(Subscriber[]::new);
+
+			if (updated.length == current.length)
+			{
+				continue;
+			}
+
+			if (updated.length == 0)
+			{
+				d.subscribers = EMPTY;
+				it.remove();
+			}
+			else
+			{
+				d.subscribers = updated;
+			}
+		}
 	}
 
 	/**
@@ -213,11 +343,20 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Subscriber[] subscribers = dispatch.get(event.getClass()).subscribers;
+		final boolean timing = this.timing;
+		for (final Subscriber subscriber : subscribers)
 		{
 			try
 			{
-				subscriber.invoke(event);
+				if (timing)
+				{
+					subscriber.invokeTimed(event);
+				}
+				else
+				{
+					subscriber.invoke(event);
+				}
 			}
 			catch (Throwable e)
 			{
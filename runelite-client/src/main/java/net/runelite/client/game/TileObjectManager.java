@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.game;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.GraphicsObject;
+import net.runelite.api.Projectile;
+import net.runelite.api.Renderable;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.events.DecorativeObjectChanged;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectChanged;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectChanged;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.queries.TileObjectIndex;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Keeps a {@link TileObjectIndex} of the objects in the scene up to date from the object
+ * spawn and despawn events, so objects can be found by id or name without walking the scene.
+ * The events are handled before plugins see them.
+ */
+@Singleton
+public class TileObjectManager
+{
+	private final Client client;
+
+	/**
+	 * The index of the objects in the scene. It must only be used from the client thread.
+	 */
+	@Getter
+	private final TileObjectIndex index = new TileObjectIndex();
+
+	@Inject
+	private TileObjectManager(Client client, ClientThread clientThread, EventBus eventBus)
+	{
+		this.client = client;
+		eventBus.register(this);
+
+		// objects which spawned before this was created are only in the scene
+		clientThread.invokeLater(() ->
+		{
+			if (client.getGameState() == GameState.LOGGED_IN)
+			{
+				rebuild();
+			}
+		});
+	}
+
+	private void rebuild()
+	{
+		index.clear();
+
+		final Tile[][][] tiles = client.getScene().getTiles();
+		for (int z = 0; z < Constants.MAX_Z; ++z)
+		{
+			for (int x = 0; x < Constants.SCENE_SIZE; ++x)
+			{
+				for (int y = 0; y < Constants.SCENE_SIZE; ++y)
+				{
+					Tile tile = tiles[z][x][y];
+					if (tile == null)
+					{
+						continue;
+					}
+
+					add(tile, tile.getWallObject());
+					add(tile, tile.getDecorativeObject());
+					add(tile, tile.getGroundObject());
+					GameObject[] gameObjects = tile.getGameObjects();
+					if (gameObjects == null)
+					{
+						continue;
+					}
+
+					for (GameObject gameObject : gameObjects)
+					{
+						if (isSceneObject(tile, gameObject))
+						{
+							index.add(tile, gameObject);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void add(Tile tile, TileObject object)
+	{
+		if (object != null)
+		{
+			index.add(tile, object);
+		}
+	}
+
+	/**
+	 * Checks if a game object is an object in the scene, rather than an actor or projectile,
+	 * and is on the tile it spawned on.
+	 */
+	private static boolean isSceneObject(Tile tile, GameObject gameObject)
+	{
+		if (gameObject == null)
+		{
+			return false;
+		}
+
+		Renderable renderable = gameObject.getRenderable();
+		return !(renderable instanceof Actor || renderable instanceof Projectile || renderable instanceof GraphicsObject)
+			&& gameObject.getSceneMinLocation().equals(tile.getSceneLocation());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOADING)
+		{
+			// the scene is rebuilt, and the objects spawn again, without despawning first
+			index.clear();
+		}
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		index.add(event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		index.remove(event.getTile(), event.getGameObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGameObjectChanged(GameObjectChanged event)
+	{
+		index.remove(event.getTile(), event.getPrevious());
+		if (isSceneObject(event.getTile(), event.getGameObject()))
+		{
+			index.add(event.getTile(), event.getGameObject());
+		}
+	}
+
+	@Subscribe(priority = 1)
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		index.add(event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		index.remove(event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onWallObjectChanged(WallObjectChanged event)
+	{
+		index.remove(event.getTile(), event.getPrevious());
+		index.add(event.getTile(), event.getWallObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		index.add(event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		index.remove(event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onDecorativeObjectChanged(DecorativeObjectChanged event)
+	{
+		index.remove(event.getTile(), event.getPrevious());
+		index.add(event.getTile(), event.getDecorativeObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		index.add(event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		index.remove(event.getTile(), event.getGroundObject());
+	}
+
+	@Subscribe(priority = 1)
+	public void onGroundObjectChanged(GroundObjectChanged event)
+	{
+		index.remove(event.getTile(), event.getPrevious());
+		index.add(event.getTile(), event.getGroundObject());
+	}
+}
@@ -129,7 +129,7 @@ public class NpcOverlayService
 			highlightedNpcs.clear();
 
 			outer:
-			for (NPC npc : client.getNpcs())
+			for (NPC npc : client.getNpcList())
 			{
 				for (Function<NPC, HighlightedNpc> f : highlightFunctions)
 				{
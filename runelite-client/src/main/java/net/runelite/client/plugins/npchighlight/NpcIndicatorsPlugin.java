@@ -521,7 +521,7 @@ public class NpcIndicatorsPlugin extends Plugin
 			return;
 		}
 
-		for (NPC npc : client.getNpcs())
+		for (NPC npc : client.getNpcList())
 		{
 			final String npcName = npc.getName();
 
@@ -43,6 +43,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Constants;
 import net.runelite.api.DecorativeObject;
 import net.runelite.api.GameObject;
 import net.runelite.api.GameState;
@@ -66,8 +67,11 @@ import net.runelite.api.events.GroundObjectSpawned;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.WallObjectDespawned;
 import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.queries.TileObjectIndex;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.game.TileObjectManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
@@ -92,6 +96,12 @@ public class ObjectIndicatorsPlugin extends Plugin
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
+	@Inject
+	private TileObjectManager tileObjectManager;
+
 	@Inject
 	private ConfigManager configManager;
 
@@ -117,6 +127,14 @@ public class ObjectIndicatorsPlugin extends Plugin
 	protected void startUp()
 	{
 		overlayManager.add(overlay);
+		clientThread.invokeLater(() ->
+		{
+			if (client.getGameState() == GameState.LOGGED_IN)
+			{
+				loadPoints();
+				checkSceneObjects();
+			}
+		});
 	}
 
 	@Override
@@ -182,22 +200,50 @@ public class ObjectIndicatorsPlugin extends Plugin
 		if (gameState == GameState.LOADING)
 		{
 			// Reload points with new map regions
+			loadPoints();
+		}
 
-			points.clear();
-			for (int regionId : client.getMapRegions())
+		if (gameStateChanged.getGameState() != GameState.LOGGED_IN && gameStateChanged.getGameState() != GameState.CONNECTION_LOST)
+		{
+			objects.clear();
+		}
+	}
+
+	private void loadPoints()
+	{
+		points.clear();
+		for (int regionId : client.getMapRegions())
+		{
+			// load points for region
+			final Set<ObjectPoint> regionPoints = loadPoints(regionId);
+			if (regionPoints != null)
 			{
-				// load points for region
-				final Set<ObjectPoint> regionPoints = loadPoints(regionId);
-				if (regionPoints != null)
-				{
-					points.put(regionId, regionPoints);
-				}
+				points.put(regionId, regionPoints);
 			}
 		}
+	}
 
-		if (gameStateChanged.getGameState() != GameState.LOGGED_IN && gameStateChanged.getGameState() != GameState.CONNECTION_LOST)
+	/**
+	 * Marks the objects already in the scene, which spawned before the plugin started
+	 */
+	private void checkSceneObjects()
+	{
+		final Set<Integer> ids = points.values().stream()
+			.flatMap(Set::stream)
+			.map(ObjectPoint::getId)
+			.collect(Collectors.toSet());
+		if (ids.isEmpty())
 		{
-			objects.clear();
+			return;
+		}
+
+		final TileObjectIndex index = tileObjectManager.getIndex();
+		for (int plane = 0; plane < Constants.MAX_Z; ++plane)
+		{
+			for (TileObject object : index.getObjectsById(plane, ids))
+			{
+				checkObjectPoints(object);
+			}
 		}
 	}
 
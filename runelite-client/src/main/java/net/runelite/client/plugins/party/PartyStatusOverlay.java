@@ -100,7 +100,7 @@ class PartyStatusOverlay extends Overlay
 			return null;
 		}
 
-		for (Player player : client.getPlayers())
+		for (Player player : client.getPlayerList())
 		{
 			if (!renderSelf && player == client.getLocalPlayer())
 			{
@@ -298,14 +298,7 @@ public class PlayerIndicatorsPlugin extends Plugin
 
 	private Player findPlayer(String name)
 	{
-		for (Player player : client.getPlayers())
-		{
-			if (player.getName().equals(name))
-			{
-				return player;
-			}
-		}
-		return null;
+		return client.getPlayerList().firstNamed(name);
 	}
 
 	@Value
@@ -67,7 +67,7 @@ public class PlayerIndicatorsService
 
 		final Player localPlayer = client.getLocalPlayer();
 
-		for (Player player : client.getPlayers())
+		for (Player player : client.getPlayerList())
 		{
 			if (player == null || player.getName() == null)
 			{
@@ -25,14 +25,16 @@
 package net.runelite.client.task;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-@RequiredArgsConstructor
 @ToString
 @Getter
 public class ScheduledMethod
@@ -44,4 +46,100 @@ public class ScheduledMethod
 	private final Runnable lambda;
 	@Setter
 	private Instant last = Instant.now();
+
+	/**
+	 * The period of the schedule, in nanoseconds
+	 */
+	@ToString.Exclude
+	private final long period;
+
+	/**
+	 * When the method is next due, from {@link System#nanoTime()}. Guarded by the {@link Scheduler}.
+	 */
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	long deadline;
+
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	private final LongAdder runs = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	private final LongAdder runNanos = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0L);
+
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	private final LongAdder lateNanos = new LongAdder();
+
+	@Getter(AccessLevel.NONE)
+	@ToString.Exclude
+	private final LongAccumulator maxLateNanos = new LongAccumulator(Math::max, 0L);
+
+	public ScheduledMethod(Schedule schedule, Method method, Object object, Runnable lambda)
+	{
+		this.schedule = schedule;
+		this.method = method;
+		this.object = object;
+		this.lambda = lambda;
+		this.period = Duration.of(schedule.period(), schedule.unit()).toNanos();
+		this.deadline = System.nanoTime() + period;
+	}
+
+	void ran(long nanos)
+	{
+		runs.increment();
+		runNanos.add(nanos);
+		maxRunNanos.accumulate(nanos);
+	}
+
+	void late(long nanos)
+	{
+		lateNanos.add(nanos);
+		maxLateNanos.accumulate(nanos);
+	}
+
+	/**
+	 * @return number of times the method has ran
+	 */
+	public long getRunCount()
+	{
+		return runs.sum();
+	}
+
+	/**
+	 * @return total time spent running the method, in nanoseconds
+	 */
+	public long getRunTime()
+	{
+		return runNanos.sum();
+	}
+
+	/**
+	 * @return the longest single run of the method, in nanoseconds
+	 */
+	public long getMaxRunTime()
+	{
+		return maxRunNanos.get();
+	}
+
+	/**
+	 * @return total time the method was triggered after it was due, in nanoseconds
+	 */
+	public long getLateness()
+	{
+		return lateNanos.sum();
+	}
+
+	/**
+	 * @return the longest time the method was triggered after it was due, in nanoseconds
+	 */
+	public long getMaxLateness()
+	{
+		return maxLateNanos.get();
+	}
 }
@@ -26,12 +26,13 @@ package net.runelite.client.task;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -40,18 +41,30 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class Scheduler
 {
+	private static final long SLOW_TASK = TimeUnit.MILLISECONDS.toNanos(10);
+
 	private final List<ScheduledMethod> scheduledMethods = new CopyOnWriteArrayList<>();
+	// scheduled methods ordered by deadline, so a tick only looks at the due ones
+	private final PriorityQueue<ScheduledMethod> queue = new PriorityQueue<>((a, b) -> Long.compare(a.deadline - b.deadline, 0L));
 
 	@Inject
 	ScheduledExecutorService executor;
 
 	public void addScheduledMethod(ScheduledMethod method)
 	{
+		synchronized (queue)
+		{
+			queue.add(method);
+		}
 		scheduledMethods.add(method);
 	}
 
 	public void removeScheduledMethod(ScheduledMethod method)
 	{
+		synchronized (queue)
+		{
+			queue.remove(method);
+		}
 		scheduledMethods.remove(method);
 	}
 
@@ -62,37 +75,52 @@ public class Scheduler
 
 	public void tick()
 	{
-		Instant now = Instant.now();
+		final long now = System.nanoTime();
 
-		for (ScheduledMethod scheduledMethod : scheduledMethods)
+		ScheduledMethod scheduledMethod;
+		while ((scheduledMethod = poll(now)) != null)
 		{
-			Instant last = scheduledMethod.getLast();
-
-			Duration difference = Duration.between(last, now);
+			log.trace("Scheduled task triggered: {}", scheduledMethod);
 
-			Schedule schedule = scheduledMethod.getSchedule();
-			Duration timeSinceRun = Duration.of(schedule.period(), schedule.unit());
+			scheduledMethod.setLast(Instant.now());
 
-			if (difference.compareTo(timeSinceRun) > 0)
+			if (scheduledMethod.getSchedule().asynchronous())
 			{
-				log.trace("Scheduled task triggered: {}", scheduledMethod);
-
-				scheduledMethod.setLast(now);
+				final ScheduledMethod m = scheduledMethod;
+				executor.submit(() -> run(m));
+			}
+			else
+			{
+				run(scheduledMethod);
+			}
+		}
+	}
 
-				if (schedule.asynchronous())
-				{
-					executor.submit(() -> run(scheduledMethod));
-				}
-				else
-				{
-					run(scheduledMethod);
-				}
+	/**
+	 * Take the next method which is due, and schedule its next run
+	 */
+	private ScheduledMethod poll(long now)
+	{
+		synchronized (queue)
+		{
+			final ScheduledMethod scheduledMethod = queue.peek();
+			if (scheduledMethod == null || now - scheduledMethod.deadline <= 0)
+			{
+				return null;
 			}
+
+			queue.poll();
+			scheduledMethod.late(now - scheduledMethod.deadline);
+			// the period starts again from when it was triggered
+			scheduledMethod.deadline = now + scheduledMethod.getPeriod();
+			queue.add(scheduledMethod);
+			return scheduledMethod;
 		}
 	}
 
 	private void run(ScheduledMethod scheduledMethod)
 	{
+		final long start = System.nanoTime();
 		try
 		{
 			Runnable lambda = scheduledMethod.getLambda();
@@ -114,5 +142,15 @@ public class Scheduler
 		{
 			log.warn("error during scheduled task", ex);
 		}
+		finally
+		{
+			final long nanos = System.nanoTime() - start;
+			scheduledMethod.ran(nanos);
+
+			if (nanos > SLOW_TASK && !scheduledMethod.getSchedule().asynchronous())
+			{
+				log.debug("Scheduled task {} took {}ms", scheduledMethod, TimeUnit.NANOSECONDS.toMillis(nanos));
+			}
+		}
 	}
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.testing.fieldbinder.Bind;
+import com.google.inject.testing.fieldbinder.BoundFieldModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import net.runelite.api.Client;
+import net.runelite.client.eventbus.EventBus;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientThreadTest
+{
+	private static class TestEvent
+	{
+	}
+
+	@Inject
+	private ClientThread clientThread;
+
+	@Mock
+	@Bind
+	private Client client;
+
+	@Bind
+	private EventBus eventBus = new EventBus();
+
+	@Before
+	public void before()
+	{
+		Guice.createInjector(BoundFieldModule.of(this)).injectMembers(this);
+	}
+
+	@Test
+	public void testOrder()
+	{
+		List<Integer> calls = new ArrayList<>();
+
+		// more tasks than fit in the ring buffer
+		for (int i = 0; i < 3000; ++i)
+		{
+			final int n = i;
+			if (i % 2 == 0)
+			{
+				clientThread.invoke(() -> calls.add(n));
+			}
+			else
+			{
+				clientThread.invokeLater(() ->
+				{
+					calls.add(n);
+					return true;
+				});
+			}
+		}
+
+		clientThread.setBudget(Long.MAX_VALUE);
+		when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+
+		assertEquals(3000, calls.size());
+		for (int i = 0; i < 3000; ++i)
+		{
+			assertEquals(i, (int) calls.get(i));
+		}
+		assertEquals(3000, clientThread.getInvocationCount());
+	}
+
+	@Test
+	public void testDeferred()
+	{
+		int[] calls = new int[1];
+		BooleanSupplier r = () -> ++calls[0] == 3;
+
+		clientThread.invokeLater(r);
+
+		when(client.isClientThread()).thenReturn(true);
+		clientThread.invoke();
+		assertEquals(1, calls[0]);
+		assertEquals(1, clientThread.getWaitingCount());
+
+		clientThread.invoke();
+		clientThread.invoke();
+		assertEquals(3, calls[0]);
+		assertEquals(0, clientThread.getWaitingCount());
+
+		clientThread.invoke();
+		assertEquals(3, calls[0]);
+	}
+
+	@Test
+	public void testBudget()
+	{
+		int[] calls = new int[1];
+		for (int i = 0; i < 3; ++i)
+		{
+			clientThread.invokeLater(() -> ++calls[0]);
+		}
+
+		clientThread.setBudget(0);
+		when(client.isClientThread()).thenReturn(true);
+
+		clientThread.invoke();
+		assertEquals(1, calls[0]);
+		clientThread.invoke();
+		assertEquals(2, calls[0]);
+		clientThread.invoke();
+		assertEquals(3, calls[0]);
+		assertEquals(2, clientThread.getOverBudgetCount());
+		assertEquals(3, clientThread.getInvocationCount());
+	}
+
+	@Test
+	public void testInvokeOn()
+	{
+		int[] calls = new int[1];
+		when(client.isClientThread()).thenReturn(true);
+
+		clientThread.invokeOn(TestEvent.class, () -> ++calls[0] == 2);
+		assertEquals(1, calls[0]);
+		assertEquals(1, clientThread.getWaitingCount());
+
+		// only re-ran on the event
+		clientThread.invoke();
+		assertEquals(1, calls[0]);
+
+		eventBus.post(new TestEvent());
+		assertEquals(2, calls[0]);
+		assertEquals(0, clientThread.getWaitingCount());
+
+		eventBus.post(new TestEvent());
+		assertEquals(2, calls[0]);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigJournalTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Mock
+	private ScheduledExecutorService executor;
+
+	private File file;
+	private Properties properties;
+	private Properties saved;
+	private ConfigJournal journal;
+
+	@Before
+	public void before() throws IOException
+	{
+		file = new File(folder.getRoot(), "settings.properties.journal");
+		properties = new Properties();
+		journal = create();
+		journal.replay(new Properties(), 0);
+	}
+
+	private ConfigJournal create()
+	{
+		return new ConfigJournal(file, executor, () -> (Properties) properties.clone(), props ->
+		{
+			saved = props;
+			return 42;
+		});
+	}
+
+	private void set(String key, String value)
+	{
+		if (value == null)
+		{
+			properties.remove(key);
+		}
+		else
+		{
+			properties.setProperty(key, value);
+		}
+		journal.record(key, value);
+	}
+
+	@Test
+	public void testReplay()
+	{
+		set("test.key", "value");
+		set("test.other", "first");
+		set("test.other", "second");
+		set("test.weird\\=key", "line\nbreak = \\value\r");
+		set("test.removed", "value");
+		journal.flush();
+		set("test.removed", null);
+		journal.flush();
+
+		// coalesced into one flush
+		verify(executor, times(2)).schedule(any(Runnable.class), eq(ConfigJournal.DEBOUNCE_MILLIS), eq(TimeUnit.MILLISECONDS));
+
+		Properties replayed = new Properties();
+		replayed.setProperty("test.removed", "old");
+		assertEquals(5, create().replay(replayed, 0));
+		assertEquals(properties, replayed);
+	}
+
+	@Test
+	public void testDifferentBase()
+	{
+		set("test.key", "value");
+		journal.flush();
+
+		Properties replayed = new Properties();
+		assertEquals(0, create().replay(replayed, 1));
+		assertNull(replayed.getProperty("test.key"));
+	}
+
+	@Test
+	public void testCompact() throws IOException
+	{
+		set("test.key", "value");
+		journal.flush();
+		set("test.other", "value");
+
+		journal.compact();
+
+		assertEquals(properties, saved);
+		assertFalse(file.exists());
+
+		// the next journal applies to the compacted settings
+		set("test.key", "new");
+		journal.flush();
+
+		Properties replayed = (Properties) saved.clone();
+		assertEquals(1, create().replay(replayed, 42));
+		assertEquals(properties, replayed);
+		assertEquals(0, create().replay(new Properties(), 0));
+	}
+
+	@Test
+	public void testTornRecord() throws IOException
+	{
+		set("test.key", "value");
+		journal.flush();
+
+		try (FileOutputStream out = new FileOutputStream(file, true))
+		{
+			out.write("1234 +test.torn=va".getBytes(StandardCharsets.UTF_8));
+		}
+
+		ConfigJournal journal = create();
+		Properties replayed = new Properties();
+		assertEquals(1, journal.replay(replayed, 0));
+		assertNull(replayed.getProperty("test.torn"));
+
+		// appends after the torn record was dropped are replayed
+		properties.setProperty("test.other", "value");
+		journal.record("test.other", "value");
+		journal.flush();
+
+		replayed = new Properties();
+		assertEquals(2, create().replay(replayed, 0));
+		assertEquals(properties, replayed);
+	}
+}
@@ -29,6 +29,8 @@ import com.google.inject.testing.fieldbinder.Bind;
 import com.google.inject.testing.fieldbinder.BoundFieldModule;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -124,6 +126,48 @@ public class ConfigManagerTest
 		Assert.assertNull(conf.nullDefaultKey());
 	}
 
+	@Test
+	public void testCachedValueInvalidated()
+	{
+		TestConfig conf = manager.getConfig(TestConfig.class);
+		Assert.assertEquals("default", conf.key());
+		Assert.assertNull(conf.nullDefaultKey());
+
+		manager.setConfiguration("test", "key", "moo");
+		Assert.assertEquals("moo", conf.key());
+
+		// other keys and profiles leave the cached value alone
+		manager.setConfiguration("test", "nullDefaultKey", "value");
+		manager.setConfiguration("test", "rsprofile.123", "key", "profile");
+		Assert.assertEquals("moo", conf.key());
+		Assert.assertEquals("value", conf.nullDefaultKey());
+
+		manager.unsetConfiguration("test", "key");
+		Assert.assertEquals("default", conf.key());
+	}
+
+	@Test
+	public void testConfigurationKeysWithPrefix()
+	{
+		manager.setConfiguration("loot", "rsprofile.123", "drops_b", "2");
+		manager.setConfiguration("loot", "rsprofile.123", "drops_a", "1");
+		manager.setConfiguration("loot", "rsprofile.123", "other", "3");
+		manager.setConfiguration("loot", "rsprofile.1234", "drops_c", "4");
+		manager.setConfiguration("loot", "drops_d", "5");
+		manager.setConfiguration("lootx", "drops_e", "6");
+
+		Assert.assertEquals(Arrays.asList("drops_a", "drops_b"),
+			manager.getRSProfileConfigurationKeys("loot", "rsprofile.123", "drops_"));
+		Assert.assertEquals(Collections.emptyList(),
+			manager.getRSProfileConfigurationKeys("loot", "rsprofile.12", "drops_"));
+		Assert.assertEquals(Arrays.asList("loot.drops_d", "loot.rsprofile.123.drops_a", "loot.rsprofile.123.drops_b",
+			"loot.rsprofile.123.other", "loot.rsprofile.1234.drops_c"), manager.getConfigurationKeys("loot."));
+
+		manager.unsetConfiguration("loot", "rsprofile.123", "drops_a");
+		Assert.assertEquals(Collections.singletonList("drops_b"),
+			manager.getRSProfileConfigurationKeys("loot", "rsprofile.123", "drops_"));
+	}
+
 	@Test
 	public void testKeySplitter()
 	{
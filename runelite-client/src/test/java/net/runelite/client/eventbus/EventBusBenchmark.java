@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Measures the event bus overhead of a client frame with a plugin-like number of registered
+ * subscribers. Like in the client, most events posted each frame have few or no subscribers.
+ */
+@Slf4j
+public class EventBusBenchmark
+{
+	private static final int PLUGINS = 120;
+	private static final int MENU_ENTRIES = 20;
+	private static final int WARMUP = 200_000;
+	private static final int FRAMES = 2_000_000;
+
+	public static class ClientTick
+	{
+	}
+
+	public static class BeforeRender
+	{
+	}
+
+	public static class MenuEntryAdded
+	{
+	}
+
+	public static class ScriptCallbackEvent
+	{
+	}
+
+	public static class GameTick
+	{
+	}
+
+	public static class Plugin
+	{
+		long count;
+
+		@Subscribe
+		public void onGameTick(GameTick event)
+		{
+			++count;
+		}
+	}
+
+	public static class TickPlugin extends Plugin
+	{
+		@Subscribe
+		public void onClientTick(ClientTick event)
+		{
+			++count;
+		}
+	}
+
+	public static class RenderPlugin extends Plugin
+	{
+		@Subscribe
+		public void onBeforeRender(BeforeRender event)
+		{
+			++count;
+		}
+	}
+
+	public static class MenuPlugin extends Plugin
+	{
+		@Subscribe(priority = -1)
+		public void onMenuEntryAdded(MenuEntryAdded event)
+		{
+			++count;
+		}
+	}
+
+	@Test
+	@Ignore
+	public void benchmarkPost()
+	{
+		EventBus eventBus = new EventBus();
+		for (int i = 0; i < PLUGINS; ++i)
+		{
+			Plugin plugin;
+			if (i % 10 == 0)
+			{
+				plugin = new TickPlugin();
+			}
+			else if (i % 30 == 1)
+			{
+				plugin = new RenderPlugin();
+			}
+			else if (i % 60 == 2)
+			{
+				plugin = new MenuPlugin();
+			}
+			else
+			{
+				plugin = new Plugin();
+			}
+			eventBus.register(plugin);
+		}
+
+		run(eventBus, WARMUP);
+
+		long start = System.nanoTime();
+		run(eventBus, FRAMES);
+		long elapsed = System.nanoTime() - start;
+
+		log.info("Posted {} frames of events to {} plugins in {}ms ({} ns/frame)", FRAMES, PLUGINS,
+			elapsed / 1_000_000L, (double) elapsed / FRAMES);
+
+		start = System.nanoTime();
+		for (int i = 0; i < PLUGINS; ++i)
+		{
+			Plugin plugin = new TickPlugin();
+			eventBus.register(plugin);
+			eventBus.unregister(plugin);
+		}
+		log.info("Toggled {} plugins in {}us", PLUGINS, (System.nanoTime() - start) / 1_000L);
+	}
+
+	private static void run(EventBus eventBus, int frames)
+	{
+		ClientTick clientTick = new ClientTick();
+		BeforeRender beforeRender = new BeforeRender();
+		MenuEntryAdded menuEntryAdded = new MenuEntryAdded();
+		ScriptCallbackEvent scriptCallbackEvent = new ScriptCallbackEvent();
+
+		for (int i = 0; i < frames; ++i)
+		{
+			eventBus.post(clientTick);
+			for (int j = 0; j < MENU_ENTRIES; ++j)
+			{
+				eventBus.post(menuEntryAdded);
+				eventBus.post(scriptCallbackEvent);
+			}
+			eventBus.post(beforeRender);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	public static class TestEvent
+	{
+	}
+
+	public static class SubTestEvent extends TestEvent
+	{
+	}
+
+	public static class OtherEvent
+	{
+	}
+
+	public static class Subscriber
+	{
+		private final List<String> calls;
+		private final String name;
+
+		Subscriber(List<String> calls, String name)
+		{
+			this.calls = calls;
+			this.name = name;
+		}
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add(name);
+		}
+
+		@Subscribe(priority = 1)
+		public void onOtherEvent(OtherEvent event)
+		{
+			calls.add(name + " other");
+		}
+	}
+
+	public static class SubSubscriber
+	{
+		@Subscribe
+		public void onSubTestEvent(SubTestEvent event)
+		{
+		}
+	}
+
+	@Test
+	public void testPriority()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Subscriber(calls, "a"));
+		eventBus.register(OtherEvent.class, e -> calls.add("lambda"), 0);
+		eventBus.register(OtherEvent.class, e -> calls.add("high"), 2);
+
+		eventBus.post(new OtherEvent());
+		assertEquals(List.of("high", "a other", "lambda"), calls);
+	}
+
+	@Test
+	public void testUnregister()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		Subscriber a = new Subscriber(calls, "a");
+		Subscriber b = new Subscriber(calls, "b");
+
+		// dispatch is cached for the event class before anything subscribes to it
+		eventBus.post(new TestEvent());
+
+		eventBus.register(a);
+		eventBus.register(b);
+		eventBus.post(new TestEvent());
+		assertEquals(List.of("a", "b"), calls);
+
+		calls.clear();
+		eventBus.unregister(a);
+		eventBus.post(new TestEvent());
+		eventBus.post(new OtherEvent());
+		assertEquals(List.of("b", "b other"), calls);
+
+		calls.clear();
+		EventBus.Subscriber sub = eventBus.register(TestEvent.class, e -> calls.add("lambda"), 0);
+		eventBus.unregister(b);
+		eventBus.post(new TestEvent());
+		eventBus.unregister(sub);
+		eventBus.post(new TestEvent());
+		assertEquals(List.of("lambda"), calls);
+		assertTrue(eventBus.getSubscribers().isEmpty());
+	}
+
+	@Test
+	public void testSubclassDispatch()
+	{
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Subscriber(calls, "a"));
+
+		// subscribers receive only events of exactly their parameter class
+		eventBus.post(new SubTestEvent());
+		assertTrue(calls.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscribeToSubclass()
+	{
+		EventBus eventBus = new EventBus();
+		eventBus.register(new Subscriber(new ArrayList<>(), "a"));
+		eventBus.register(new SubSubscriber());
+	}
+
+	@Test
+	public void testExceptionHandler()
+	{
+		List<Throwable> exceptions = new ArrayList<>();
+		List<String> calls = new ArrayList<>();
+		EventBus eventBus = new EventBus(exceptions::add);
+		eventBus.register(TestEvent.class, e ->
+		{
+			throw new IllegalStateException();
+		}, 1);
+		eventBus.register(TestEvent.class, e -> calls.add("after"), 0);
+
+		eventBus.post(new TestEvent());
+		assertEquals(1, exceptions.size());
+		assertEquals(List.of("after"), calls);
+	}
+
+	@Test
+	public void testTiming()
+	{
+		EventBus eventBus = new EventBus();
+		EventBus.Subscriber sub = eventBus.register(TestEvent.class, e ->
+		{
+		}, 0);
+
+		eventBus.post(new TestEvent());
+		assertEquals(0, sub.getInvocationCount());
+
+		eventBus.setTiming(true);
+		eventBus.post(new TestEvent());
+		eventBus.post(new TestEvent());
+		assertEquals(2, sub.getInvocationCount());
+		assertTrue(sub.getInvocationTime() >= 0);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022, https://openosrs.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.task;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ScheduledExecutorService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchedulerTest
+{
+	@Mock
+	private ScheduledExecutorService executor;
+
+	private Scheduler scheduler;
+
+	@Before
+	public void before()
+	{
+		scheduler = new Scheduler();
+		scheduler.executor = executor;
+	}
+
+	@Schedule(period = 0, unit = ChronoUnit.MILLIS)
+	public void always()
+	{
+	}
+
+	@Schedule(period = 1, unit = ChronoUnit.HOURS)
+	public void hourly()
+	{
+	}
+
+	@Schedule(period = 0, unit = ChronoUnit.MILLIS, asynchronous = true)
+	public void async()
+	{
+	}
+
+	private ScheduledMethod schedule(String name, Runnable runnable) throws NoSuchMethodException
+	{
+		Schedule schedule = SchedulerTest.class.getMethod(name).getAnnotation(Schedule.class);
+		ScheduledMethod method = new ScheduledMethod(schedule, null, this, runnable);
+		scheduler.addScheduledMethod(method);
+		return method;
+	}
+
+	@Test
+	public void testTick() throws Exception
+	{
+		int[] calls = new int[2];
+		ScheduledMethod always = schedule("always", () -> ++calls[0]);
+		ScheduledMethod hourly = schedule("hourly", () -> ++calls[1]);
+
+		Thread.sleep(1);
+		scheduler.tick();
+		Thread.sleep(1);
+		scheduler.tick();
+
+		assertEquals(2, calls[0]);
+		assertEquals(0, calls[1]);
+		assertEquals(2, always.getRunCount());
+		assertTrue(always.getLateness() > 0);
+		assertEquals(0, hourly.getRunCount());
+
+		scheduler.removeScheduledMethod(always);
+		Thread.sleep(1);
+		scheduler.tick();
+
+		assertEquals(2, calls[0]);
+		assertEquals(1, scheduler.getScheduledMethods().size());
+	}
+
+	@Test
+	public void testAsynchronous() throws Exception
+	{
+		int[] calls = new int[1];
+		schedule("async", () -> ++calls[0]);
+
+		Thread.sleep(1);
+		scheduler.tick();
+
+		assertEquals(0, calls[0]);
+		verify(executor).submit(any(Runnable.class));
+	}
+}
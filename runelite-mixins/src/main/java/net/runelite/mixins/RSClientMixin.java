@@ -41,6 +41,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.runelite.api.Actor;
+import net.runelite.api.ActorList;
 import net.runelite.api.Animation;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Deque;
@@ -74,6 +75,7 @@ import net.runelite.api.NPC;
 import net.runelite.api.NPCComposition;
 import net.runelite.api.NameableContainer;
 import net.runelite.api.NodeCache;
+import net.runelite.api.NpcList;
 import net.runelite.api.ObjectComposition;
 import net.runelite.api.Perspective;
 import static net.runelite.api.Perspective.LOCAL_TILE_SIZE;
@@ -321,6 +323,24 @@ public abstract class RSClientMixin implements RSClient
 	@Inject
 	private static final Map<Integer, byte[]> customClientScripts = new HashMap<>();
 
+	@Inject
+	private static int playersVersion;
+
+	@Inject
+	private static int playerListVersion;
+
+	@Inject
+	private static ActorList<Player> playerList;
+
+	@Inject
+	private static int npcsVersion;
+
+	@Inject
+	private static int npcListVersion;
+
+	@Inject
+	private static NpcList npcList;
+
 	@Inject
 	@Override
 	public void setPrintMenuActions(boolean yes)
@@ -566,6 +586,56 @@ public abstract class RSClientMixin implements RSClient
 		return npcs;
 	}
 
+	@Inject
+	@Override
+	public ActorList<Player> getPlayerList()
+	{
+		// the version is bumped by the field hooks whenever the players change
+		int version = playersVersion;
+		if (playerList == null || playerListVersion != version)
+		{
+			int validPlayerIndexes = getPlayerIndexesCount();
+			int[] playerIndexes = getPlayerIndices();
+			Player[] cachedPlayers = getCachedPlayers();
+			Player[] players = new Player[validPlayerIndexes];
+
+			for (int i = 0; i < validPlayerIndexes; ++i)
+			{
+				players[i] = cachedPlayers[playerIndexes[i]];
+			}
+
+			playerList = new ActorList<Player>(players);
+			playerListVersion = version;
+		}
+
+		return playerList;
+	}
+
+	@Inject
+	@Override
+	public NpcList getNpcList()
+	{
+		// the version is bumped by the field hooks whenever the npcs change
+		int version = npcsVersion;
+		if (npcList == null || npcListVersion != version)
+		{
+			int validNpcIndexes = getNpcIndexesCount();
+			int[] npcIndexes = getNpcIndices();
+			NPC[] cachedNpcs = getCachedNPCs();
+			NPC[] npcs = new NPC[validNpcIndexes];
+
+			for (int i = 0; i < validNpcIndexes; ++i)
+			{
+				npcs[i] = cachedNpcs[npcIndexes[i]];
+			}
+
+			npcList = new NpcList(npcs);
+			npcListVersion = version;
+		}
+
+		return npcList;
+	}
+
 	@Inject
 	@Override
 	public int getBoostedSkillLevel(Skill skill)
@@ -1508,10 +1578,28 @@ public abstract class RSClientMixin implements RSClient
 	}
 
 
+	@FieldHook("npcCount")
+	@Inject
+	public static void npcCountChanged(int idx)
+	{
+		// npcIndices is only written along with npcCount
+		++npcsVersion;
+	}
+
+	@FieldHook("Players_count")
+	@Inject
+	public static void playerCountChanged(int idx)
+	{
+		// Players_indices is only written along with Players_count
+		++playersVersion;
+	}
+
 	@FieldHook("npcs")
 	@Inject
 	public static void cachedNPCsChanged(int idx)
 	{
+		++npcsVersion;
+
 		RSNPC[] cachedNPCs = client.getCachedNPCs();
 		if (idx < 0 || idx >= cachedNPCs.length)
 		{
@@ -1531,6 +1619,8 @@ public abstract class RSClientMixin implements RSClient
 	@Inject
 	public static void cachedPlayersChanged(int idx)
 	{
+		++playersVersion;
+
 		RSPlayer[] cachedPlayers = client.getCachedPlayers();
 		if (idx < 0 || idx >= cachedPlayers.length)
 		{